@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.otus"
@@ -23,11 +24,18 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-security")
     implementation("org.springframework.boot:spring-boot-starter-validation")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     implementation("org.flywaydb:flyway-core")
     implementation("org.flywaydb:flyway-database-postgresql")
-    runtimeOnly("org.postgresql:postgresql")
+    implementation("org.postgresql:postgresql")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("org.springframework.security:spring-security-test")
+    testImplementation("org.springframework.boot:spring-boot-testcontainers")
+    testImplementation("org.testcontainers:junit-jupiter")
+    testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     compileOnly("org.projectlombok:lombok")
@@ -37,9 +45,105 @@ dependencies {
 
     implementation("org.springframework.kafka:spring-kafka")
 
+    implementation("com.github.ben-manes.caffeine:caffeine")
+
+    implementation("net.ttddyy:datasource-proxy:1.10.1")
+
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.7.0")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+tasks.test {
+    useJUnitPlatform { excludeTags("heap") }
+}
+
+// ./gradlew heapTest — tests tagged "heap" (Testcontainers Postgres) in a 96 MB JVM: the streamed
+// paths must not hold the rows they scan
+val heapTest = tasks.register<Test>("heapTest") {
+    description = "Runs the streaming tests in a small heap"
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform { includeTags("heap") }
+    maxHeapSize = "96m"
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(heapTest)
+}
+
+// ./gradlew generateData -PgeneratorArgs="--generator.teams=2000 --generator.seasons=5 --generator.replace=true"
+// bulk-loads synthetic league data into spring.datasource (override with --spring.datasource.url=...)
+tasks.register<JavaExec>("generateData") {
+    group = "application"
+    description = "Generates a synthetic league with COPY"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.otus.finalProject.service.generator.LeagueDataGeneratorCli"
+    args = findProperty("generatorArgs")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+
+// ./gradlew jmh — benchmarks in src/jmh: throughput and average time, allocation per operation
+// via the GC profiler, results as JSON named after the commit so runs can be compared.
+// Dataset size: -PjmhTeams=20,100 -PjmhSeasons=1,5 -PjmhGoalsPerMatch=2.7 -PjmhMatches=10000; subset: -PjmhIncludes=StatsAggregation
+// The repository benchmarks REPLACE the league tables of -PbenchDbUrl (default .../demo_bench).
+val gitRevision = providers.exec {
+    commandLine("git", "rev-parse", "--short", "HEAD")
+    isIgnoreExitValue = true
+}.standardOutput.asText.map { it.trim().ifEmpty { "local" } }
+
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file(gitRevision.map { "reports/jmh/results-$it.json" })
+    findProperty("jmhIncludes")?.let { includes = listOf(it.toString()) }
+    mapOf("teams" to "jmhTeams", "seasons" to "jmhSeasons", "goalsPerMatch" to "jmhGoalsPerMatch", "matches" to "jmhMatches").forEach { (param, property) ->
+        findProperty(property)?.let { benchmarkParameters.put(param, objects.listProperty<String>().value(it.toString().split(","))) }
+    }
+    jvmArgsAppend = listOfNotNull(
+        "-Xmx2g",
+        findProperty("benchDbUrl")?.let { "-Dbench.db.url=$it" },
+        findProperty("benchDbUsername")?.let { "-Dbench.db.username=$it" },
+        findProperty("benchDbPassword")?.let { "-Dbench.db.password=$it" }
+    )
+}
+
+// ./gradlew perfTest — HTTP load test in src/perfTest against a seeded league in -PperfDbUrl
+// (default .../demo_perf, its league tables are REPLACED), Kafka replaced by the in-memory publisher.
+// Knobs: -PperfClients=16 -PperfWarmup=15 -PperfDuration=60 -PperfTeams=40 -PperfSeasons=2
+// -PperfMix=stats.team:5,goals.write:1 -PperfBudgets=path/to/budgets.properties
+// Report: build/reports/perf/perf-<commit>.{json,md}; fails when an endpoint exceeds its budget.
+val perfTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[perfTest.implementationConfigurationName].extendsFrom(configurations.testImplementation.get())
+configurations[perfTest.runtimeOnlyConfigurationName].extendsFrom(configurations.testRuntimeOnly.get())
+
+tasks.register<Test>("perfTest") {
+    description = "Runs the HTTP load test against latency budgets"
+    group = "verification"
+    testClassesDirs = perfTest.output.classesDirs
+    classpath = perfTest.runtimeClasspath
+    shouldRunAfter(tasks.test)
+    outputs.upToDateWhen { false }
+    maxHeapSize = "2g"
+    testLogging { showStandardStreams = true }
+    mapOf(
+        "perfDbUrl" to "perf.db.url", "perfDbUsername" to "perf.db.username", "perfDbPassword" to "perf.db.password",
+        "perfClients" to "perf.clients", "perfWarmup" to "perf.warmup", "perfDuration" to "perf.duration",
+        "perfTeams" to "perf.teams", "perfSeasons" to "perf.seasons", "perfSeed" to "perf.seed",
+        "perfMix" to "perf.mix", "perfBudgets" to "perf.budgets"
+    ).forEach { (property, name) ->
+        findProperty(property)?.let { systemProperty(name, it.toString()) }
+    }
+    systemProperty("perf.report.dir", layout.buildDirectory.dir("reports/perf").get().asFile.absolutePath)
+    doFirst { systemProperty("perf.revision", gitRevision.get()) }
+}
@@ -0,0 +1,137 @@
+package org.otus.finalProject.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.otus.finalProject.service.aggregation.LongIntSlotMap;
+import org.otus.finalProject.service.aggregation.TopK;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed maps plus a full sort against the primitive slot map plus bounded top-K, for the
+ * standings (top teams) and top-scorers aggregations. Compare gc.alloc.rate.norm (bytes/op)
+ * between the pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AggregationKernelBenchmark {
+    @Param({"20", "500"})
+    int teams;
+
+    @Param({"10000"})
+    int matches;
+
+    @Param({"10"})
+    int limit;
+
+    long[] team1;
+    long[] team2;
+    int[] score1;
+    int[] score2;
+    long[] goalPlayer;
+    long[] goalTeam;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        team1 = new long[matches];
+        team2 = new long[matches];
+        score1 = new int[matches];
+        score2 = new int[matches];
+        for (int i = 0; i < matches; i++) {
+            team1[i] = 1 + random.nextInt(teams);
+            team2[i] = 1 + (team1[i] + random.nextInt(teams - 1)) % teams;
+            score1[i] = random.nextInt(5);
+            score2[i] = random.nextInt(5);
+        }
+        int goals = matches * 3;
+        goalPlayer = new long[goals];
+        goalTeam = new long[goals];
+        for (int i = 0; i < goals; i++) {
+            goalTeam[i] = 1 + random.nextInt(teams);
+            goalPlayer[i] = goalTeam[i] * 100 + random.nextInt(25);
+        }
+    }
+
+    @Benchmark
+    public List<long[]> topTeamsBoxed() {
+        Map<Long, int[]> totals = new HashMap<>();
+        for (int i = 0; i < matches; i++) {
+            totals.putIfAbsent(team1[i], new int[4]);
+            totals.putIfAbsent(team2[i], new int[4]);
+            count(totals.get(team1[i]), 0, score1[i], score2[i]);
+            count(totals.get(team2[i]), 0, score2[i], score1[i]);
+        }
+        return totals.entrySet().stream()
+                .sorted((a, b) -> compareTeams(a.getValue(), 0, a.getKey(), b.getValue(), 0, b.getKey()))
+                .limit(limit)
+                .map(e -> new long[]{e.getKey(), e.getValue()[1]})
+                .toList();
+    }
+
+    @Benchmark
+    public int[] topTeamsPrimitive() {
+        LongIntSlotMap slots = new LongIntSlotMap(1, teams);
+        int[] totals = new int[teams * 4];
+        for (int i = 0; i < matches; i++) {
+            int s1 = slots.slot(team1[i]);
+            int s2 = slots.slot(team2[i]);
+            totals = LongIntSlotMap.ensureLength(totals, slots.size() * 4);
+            count(totals, s1 * 4, score1[i], score2[i]);
+            count(totals, s2 * 4, score2[i], score1[i]);
+        }
+        int[] t = totals;
+        return TopK.select(slots.size(), limit,
+                (a, b) -> compareTeams(t, a * 4, slots.key(a, 0), t, b * 4, slots.key(b, 0)));
+    }
+
+    @Benchmark
+    public List<long[]> topScorersBoxed() {
+        Map<List<Long>, int[]> goals = new HashMap<>();
+        for (int i = 0; i < goalPlayer.length; i++) {
+            goals.computeIfAbsent(List.of(goalPlayer[i], goalTeam[i]), k -> new int[1])[0]++;
+        }
+        return goals.entrySet().stream()
+                .sorted((a, b) -> a.getValue()[0] != b.getValue()[0]
+                        ? Integer.compare(b.getValue()[0], a.getValue()[0])
+                        : Long.compare(a.getKey().get(0), b.getKey().get(0)))
+                .limit(limit)
+                .map(e -> new long[]{e.getKey().get(0), e.getValue()[0]})
+                .toList();
+    }
+
+    @Benchmark
+    public int[] topScorersPrimitive() {
+        LongIntSlotMap slots = new LongIntSlotMap(2, teams * 25);
+        int[] goals = new int[teams * 25];
+        for (int i = 0; i < goalPlayer.length; i++) {
+            int s = slots.slot(goalPlayer[i], goalTeam[i]);
+            goals = LongIntSlotMap.ensureLength(goals, s + 1);
+            goals[s]++;
+        }
+        int[] g = goals;
+        return TopK.select(slots.size(), limit,
+                (a, b) -> g[a] != g[b] ? Integer.compare(g[b], g[a]) : Long.compare(slots.key(a, 0), slots.key(b, 0)));
+    }
+
+    private static void count(int[] totals, int t, int goalsFor, int goalsAgainst) {
+        totals[t]++;
+        if (goalsFor > goalsAgainst) {
+            totals[t + 1]++;
+        } else if (goalsFor == goalsAgainst) {
+            totals[t + 2]++;
+        } else {
+            totals[t + 3]++;
+        }
+    }
+
+    private static int compareTeams(int[] x, int i, long xId, int[] y, int j, long yId) {
+        int cmp = Integer.compare(y[j + 1], x[i + 1]);
+        if (cmp == 0) cmp = Integer.compare(y[j + 2], x[i + 2]);
+        if (cmp == 0) cmp = Integer.compare(x[i + 3], y[j + 3]);
+        if (cmp == 0) cmp = Integer.compare(y[j], x[i]);
+        if (cmp == 0) cmp = Long.compare(xId, yId);
+        return cmp;
+    }
+}
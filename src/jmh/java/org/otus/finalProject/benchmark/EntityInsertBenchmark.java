@@ -0,0 +1,168 @@
+package org.otus.finalProject.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.otus.finalProject.Application;
+import org.otus.finalProject.benchmark.IdentityBaseline.IdentityGoal;
+import org.otus.finalProject.benchmark.IdentityBaseline.IdentityMatch;
+import org.otus.finalProject.persistence.model.Goal;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.repository.GoalRepository;
+import org.otus.finalProject.persistence.repository.MatchRepository;
+import org.otus.finalProject.persistence.repository.PlayerRepository;
+import org.otus.finalProject.persistence.repository.TeamRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match and goal inserts, {@code rows} entities per transaction, against a local Postgres
+ * ({@code -Dbench.db.url}, league tables REPLACED as in {@link StatsRepositoryBenchmark}).
+ * {@code ids = identity} persists the {@link IdentityBaseline} entities, mapped as before V7: an
+ * {@code INSERT ... RETURNING} round trip per row, no JDBC batching. {@code ids = sequence} saves
+ * Match and Goal through the repositories: one sequence call per 50 rows and the inserts sent as
+ * rewritten JDBC batches. Inserted rows are kept until the next trial replaces the tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntityInsertBenchmark {
+    // far after the synthetic seasons; one second apart keeps (team1, team2, match_date) unique
+    private static final Instant FIRST_DATE = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Param({"identity", "sequence"})
+    String ids;
+
+    @Param({"100"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MatchRepository matchRepository;
+    GoalRepository goalRepository;
+    TeamRepository teamRepository;
+    PlayerRepository playerRepository;
+    EntityManager entityManager;
+    TransactionTemplate tx;
+    long team1Id;
+    long team2Id;
+    long goalMatchId;
+    long identityGoalMatchId;
+    long scorerId;
+    long matchesInserted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/demo_bench"),
+                        "spring.datasource.username=" + System.getProperty("bench.db.username", "demo"),
+                        "spring.datasource.password=" + System.getProperty("bench.db.password", "demo"),
+                        "stats.season-store.enabled=false",
+                        "sql.accounting.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework=WARN")
+                .run();
+
+        SyntheticDataset data = new SyntheticDataset(20, 1, 25, 2.7);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        data.writeTo(jdbc);
+        IdentityBaseline.createTables(jdbc);
+        Match first = data.matches.get(0);
+        team1Id = first.getTeam1().getId();
+        team2Id = first.getTeam2().getId();
+        goalMatchId = first.getId();
+        scorerId = data.playerId(team1Id, 0);
+        matchesInserted = 0;
+
+        matchRepository = context.getBean(MatchRepository.class);
+        goalRepository = context.getBean(GoalRepository.class);
+        teamRepository = context.getBean(TeamRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        identityGoalMatchId = tx.execute(status -> {
+            IdentityMatch match = identityMatch(FIRST_DATE.minusSeconds(1));
+            entityManager.persist(match);
+            return match.id;
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertMatches() {
+        if (ids.equals("identity")) {
+            return tx.execute(status -> {
+                for (int i = 0; i < rows; i++) {
+                    entityManager.persist(identityMatch(FIRST_DATE.plusSeconds(matchesInserted++)));
+                }
+                return rows;
+            });
+        }
+        return tx.execute(status -> {
+            List<Match> matches = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Match match = new Match();
+                match.setTeam1(teamRepository.getReferenceById(team1Id));
+                match.setTeam2(teamRepository.getReferenceById(team2Id));
+                match.setTeam1Score(0);
+                match.setTeam2Score(0);
+                match.setMatchDate(FIRST_DATE.plusSeconds(matchesInserted++));
+                matches.add(match);
+            }
+            return matchRepository.saveAll(matches).size();
+        });
+    }
+
+    @Benchmark
+    public int insertGoals() {
+        if (ids.equals("identity")) {
+            return tx.execute(status -> {
+                for (int i = 0; i < rows; i++) {
+                    IdentityGoal goal = new IdentityGoal();
+                    goal.match = entityManager.getReference(IdentityMatch.class, identityGoalMatchId);
+                    goal.player = playerRepository.getReferenceById(scorerId);
+                    goal.goalTime = i % 91;
+                    entityManager.persist(goal);
+                }
+                return rows;
+            });
+        }
+        return tx.execute(status -> {
+            List<Goal> goals = new ArrayList<>(rows);
+            for (int i = 0; i < rows; i++) {
+                Goal goal = new Goal();
+                goal.setMatch(matchRepository.getReferenceById(goalMatchId));
+                goal.setPlayer(playerRepository.getReferenceById(scorerId));
+                goal.setGoalTime(i % 91);
+                goals.add(goal);
+            }
+            return goalRepository.saveAll(goals).size();
+        });
+    }
+
+    private IdentityMatch identityMatch(Instant matchDate) {
+        IdentityMatch match = new IdentityMatch();
+        match.team1 = teamRepository.getReferenceById(team1Id);
+        match.team2 = teamRepository.getReferenceById(team2Id);
+        match.team1Score = 0;
+        match.team2Score = 0;
+        match.matchDate = matchDate;
+        return match;
+    }
+}
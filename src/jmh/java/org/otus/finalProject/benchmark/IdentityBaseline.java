@@ -0,0 +1,78 @@
+package org.otus.finalProject.benchmark;
+
+import jakarta.persistence.*;
+import org.otus.finalProject.persistence.model.BaseEntity;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+
+/**
+ * The id mapping before V7 for {@link EntityInsertBenchmark}: copies of the match and goals
+ * tables (columns, indexes, foreign keys) with an IDENTITY id, and entities mapped to them with
+ * {@link GenerationType#IDENTITY}. Hibernate needs the generated id of every row back, so each
+ * insert is an {@code INSERT ... RETURNING} of its own and JDBC batching does not apply.
+ */
+final class IdentityBaseline {
+    private IdentityBaseline() {
+    }
+
+    static void createTables(JdbcTemplate jdbc) {
+        jdbc.execute("drop table if exists bench_identity_goals, bench_identity_match");
+        jdbc.execute("create table bench_identity_match (like match including all)");
+        jdbc.execute("alter table bench_identity_match alter column id add generated by default as identity");
+        jdbc.execute("alter table bench_identity_match"
+                + " add foreign key (team1_id) references team(id),"
+                + " add foreign key (team2_id) references team(id)");
+        jdbc.execute("create table bench_identity_goals (like goals including all)");
+        jdbc.execute("alter table bench_identity_goals alter column id add generated by default as identity");
+        jdbc.execute("alter table bench_identity_goals"
+                + " add foreign key (match_id) references bench_identity_match(id),"
+                + " add foreign key (player_id) references player(id)");
+    }
+
+    @Entity
+    @Table(name = "bench_identity_match")
+    static class IdentityMatch extends BaseEntity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY, optional = false)
+        @JoinColumn(name = "team1_id", nullable = false)
+        Team team1;
+
+        @ManyToOne(fetch = FetchType.LAZY, optional = false)
+        @JoinColumn(name = "team2_id", nullable = false)
+        Team team2;
+
+        @Column(name = "team1_score", nullable = false)
+        Integer team1Score;
+
+        @Column(name = "team2_score", nullable = false)
+        Integer team2Score;
+
+        @Column(name = "match_date", nullable = false)
+        Instant matchDate;
+    }
+
+    @Entity
+    @Table(name = "bench_identity_goals")
+    static class IdentityGoal extends BaseEntity {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+
+        @ManyToOne(fetch = FetchType.LAZY, optional = false)
+        @JoinColumn(name = "match_id", nullable = false)
+        IdentityMatch match;
+
+        @ManyToOne(fetch = FetchType.LAZY, optional = false)
+        @JoinColumn(name = "player_id", nullable = false)
+        Player player;
+
+        @Column(name = "goal_time", nullable = false)
+        Integer goalTime;
+    }
+}
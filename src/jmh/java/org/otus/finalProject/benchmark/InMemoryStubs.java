@@ -0,0 +1,98 @@
+package org.otus.finalProject.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.base.StatsPublisher;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Dependency stand-ins for the pure aggregation benchmarks: repositories backed by a
+ * {@link SyntheticDataset} that fail loudly on anything but the calls wired here, so a
+ * benchmark that silently falls back to the database path is caught.
+ */
+final class InMemoryStubs {
+    private InMemoryStubs() {
+    }
+
+    static SeasonColumnStore loadedStore(SyntheticDataset data) {
+        MatchRepository matches = repository(MatchRepository.class, Map.of(
+                "streamByMatchDateBetween", args -> data.matches.stream()));
+        MatchPlayerRepository appearances = repository(MatchPlayerRepository.class, Map.of(
+                "streamByMatch_MatchDateBetween", args -> data.appearances.stream()));
+        GoalRepository goals = repository(GoalRepository.class, Map.of(
+                "streamByMatch_MatchDateBetween", args -> data.goals.stream()));
+        PlayerRepository players = repository(PlayerRepository.class, Map.of(
+                "findAll", args -> List.<Player>copyOf(data.players)));
+        TeamRepository teams = repository(TeamRepository.class, Map.of(
+                "findAllIds", args -> data.teamList.stream().map(Team::getId).toList()));
+
+        SeasonColumnStore store = new SeasonColumnStore(matches, goals, appearances, players, teams,
+                repository(EntityManager.class, Map.of("clear", args -> null)), TRANSACTIONS, true);
+        store.load();
+        return store;
+    }
+
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler != null) return handler.apply(args);
+            if (method.getName().equals("toString")) return type.getSimpleName() + " stub";
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        }));
+    }
+
+    static final PlatformTransactionManager TRANSACTIONS = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    static final StatsPublisher NO_OP_PUBLISHER = new StatsPublisher() {
+        @Override
+        public void sendTeamStats(TeamStatResponse payload) {
+        }
+
+        @Override
+        public void sendPlayerStats(PlayerStatResponse payload) {
+        }
+
+        @Override
+        public void sendTeamStatsBatch(List<TeamStatResponse> payload, Integer year) {
+        }
+
+        @Override
+        public void sendPlayerStatsBatch(List<PlayerStatResponse> payload, Integer year) {
+        }
+
+        @Override
+        public void sendTopTeams(List<TeamStatResponse> payload, Integer year, Integer limit) {
+        }
+
+        @Override
+        public void sendTopScorers(List<TopScorersStatResponse> payload, Long teamId, Integer year, Integer limit) {
+        }
+    };
+}
@@ -0,0 +1,91 @@
+package org.otus.finalProject.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.StandingsRow;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.StatsServiceImpl;
+import org.otus.finalProject.service.aggregation.StandingsAccumulator;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StatsServiceImpl} answering the current season from the in-memory columnar store, with
+ * every repository stubbed to fail, plus the Java standings fold used by the consistency check.
+ * No database or broker is needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatsAggregationBenchmark {
+    @Param({"20", "100"})
+    int teams;
+
+    @Param({"1", "5"})
+    int seasons;
+
+    @Param({"2.7"})
+    double goalsPerMatch;
+
+    @Param({"25"})
+    int playersPerTeam;
+
+    SyntheticDataset data;
+    StatsServiceImpl statsService;
+    List<MatchOutcome> outcomes;
+    int year;
+    long teamId;
+    long playerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        data = new SyntheticDataset(teams, seasons, playersPerTeam, goalsPerMatch);
+        year = data.currentYear;
+        teamId = teams / 2;
+        playerId = data.playerId(teamId, 3);
+        outcomes = data.matches.stream().map(MatchOutcome::of).toList();
+
+        statsService = new StatsServiceImpl(
+                InMemoryStubs.repository(MatchRepository.class, Map.of()),
+                InMemoryStubs.repository(TeamRepository.class, Map.of()),
+                InMemoryStubs.repository(PlayerRepository.class, Map.of()),
+                InMemoryStubs.repository(GoalRepository.class, Map.of()),
+                InMemoryStubs.repository(TeamSeasonStatsRepository.class, Map.of()),
+                InMemoryStubs.loadedStore(data),
+                InMemoryStubs.NO_OP_PUBLISHER);
+    }
+
+    @Benchmark
+    public TeamStatResponse teamStats() {
+        return statsService.teamStats(teamId, year);
+    }
+
+    @Benchmark
+    public PlayerStatResponse playerStats() {
+        return statsService.playerStats(playerId, year);
+    }
+
+    @Benchmark
+    public List<TeamStatResponse> topTeams() {
+        return statsService.topTeams(year, 10);
+    }
+
+    @Benchmark
+    public List<TopScorersStatResponse> topScorers() {
+        return statsService.topScorers(null, year, 10);
+    }
+
+    @Benchmark
+    public List<StandingsRow> standingsFold() {
+        StandingsAccumulator accumulator = new StandingsAccumulator();
+        for (MatchOutcome outcome : outcomes) {
+            accumulator.add(outcome);
+        }
+        return accumulator.rows();
+    }
+}
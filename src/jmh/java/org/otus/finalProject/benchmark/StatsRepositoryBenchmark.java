@@ -0,0 +1,113 @@
+package org.otus.finalProject.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.otus.finalProject.Application;
+import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.service.StatsServiceImpl;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link StatsServiceImpl} database paths (SQL aggregates or the team_season_stats read model)
+ * against a local Postgres. The database at {@code -Dbench.db.url} (default
+ * {@code jdbc:postgresql://localhost:5432/demo_bench}) is migrated and its league tables are
+ * REPLACED with the synthetic dataset; never point it at a database you care about.
+ * The service is the context's bean, configured through {@code stats.standings.read-model}; each
+ * call runs in a read-only transaction like the service method. Kafka is replaced by the in-memory
+ * publisher and the season store is off, so every call reaches the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatsRepositoryBenchmark {
+    @Param({"20"})
+    int teams;
+
+    @Param({"5"})
+    int seasons;
+
+    @Param({"2.7"})
+    double goalsPerMatch;
+
+    @Param({"25"})
+    int playersPerTeam;
+
+    @Param({"true", "false"})
+    boolean readModel;
+
+    ConfigurableApplicationContext context;
+    StatsServiceImpl statsService;
+    TransactionTemplate readTx;
+    int year;
+    long teamId;
+    long playerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/demo_bench"),
+                        "spring.datasource.username=" + System.getProperty("bench.db.username", "demo"),
+                        "spring.datasource.password=" + System.getProperty("bench.db.password", "demo"),
+                        "stats.season-store.enabled=false",
+                        "stats.standings.read-model=" + readModel,
+                        "stats.publisher=in-memory",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework=WARN")
+                .run();
+
+        SyntheticDataset data = new SyntheticDataset(teams, seasons, playersPerTeam, goalsPerMatch);
+        data.writeTo(context.getBean(JdbcTemplate.class));
+        context.getBean(TeamSeasonStatsService.class).rebuild();
+        year = data.currentYear;
+        teamId = teams / 2;
+        playerId = data.playerId(teamId, 3);
+
+        statsService = context.getBean(StatsServiceImpl.class);
+
+        readTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TeamStatResponse teamStats() {
+        return inReadTx(() -> statsService.teamStats(teamId, year));
+    }
+
+    @Benchmark
+    public PlayerStatResponse playerStats() {
+        return inReadTx(() -> statsService.playerStats(playerId, year));
+    }
+
+    @Benchmark
+    public List<TeamStatResponse> topTeams() {
+        return inReadTx(() -> statsService.topTeams(year, 10));
+    }
+
+    @Benchmark
+    public List<TopScorersStatResponse> topScorers() {
+        return inReadTx(() -> statsService.topScorers(null, year, 10));
+    }
+
+    private <T> T inReadTx(Supplier<T> call) {
+        return readTx.execute(status -> call.get());
+    }
+}
@@ -0,0 +1,158 @@
+package org.otus.finalProject.benchmark;
+
+import org.otus.finalProject.persistence.model.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic league data for the benchmarks: {@code teams} teams with {@code playersPerTeam}
+ * players each, a double round robin per season for {@code seasons} seasons ending with the
+ * current year, 11 starters per side and on average {@code goalsPerMatch} goals per match.
+ * Entities carry their ids, so they can feed in-memory stubs or be written with explicit ids.
+ */
+final class SyntheticDataset {
+    static final int LINEUP = 11;
+
+    final int teams;
+    final int seasons;
+    final int playersPerTeam;
+    final int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+
+    final List<Team> teamList = new ArrayList<>();
+    final List<Player> players = new ArrayList<>();
+    final List<Match> matches = new ArrayList<>();
+    final List<MatchPlayer> appearances = new ArrayList<>();
+    final List<Goal> goals = new ArrayList<>();
+
+    SyntheticDataset(int teams, int seasons, int playersPerTeam, double goalsPerMatch) {
+        this.teams = teams;
+        this.seasons = seasons;
+        this.playersPerTeam = playersPerTeam;
+        Random random = new Random(42);
+
+        for (long t = 1; t <= teams; t++) {
+            Team team = new Team();
+            team.setId(t);
+            team.setName("Team " + t);
+            teamList.add(team);
+            for (int p = 0; p < playersPerTeam; p++) {
+                Player player = new Player();
+                player.setId(playerId(t, p));
+                player.setFirstName("First" + p);
+                player.setLastName("Last" + t + "_" + p);
+                player.setTeam(team);
+                players.add(player);
+            }
+        }
+
+        long matchId = 0;
+        long goalId = 0;
+        for (int year = currentYear - seasons + 1; year <= currentYear; year++) {
+            LocalDate start = LocalDate.of(year, 1, 10);
+            int round = 0;
+            for (int home = 0; home < teams; home++) {
+                for (int away = 0; away < teams; away++) {
+                    if (home == away) continue;
+                    Match match = new Match();
+                    match.setId(++matchId);
+                    match.setTeam1(teamList.get(home));
+                    match.setTeam2(teamList.get(away));
+                    match.setMatchDate(start.plusDays(round++ % 330).atTime(18, 0).plusMinutes(matchId % 60)
+                            .toInstant(ZoneOffset.UTC));
+
+                    List<Player> side1 = lineup(match, match.getTeam1(), random);
+                    List<Player> side2 = lineup(match, match.getTeam2(), random);
+                    int score1 = 0;
+                    int score2 = 0;
+                    int goalsInMatch = (int) Math.round(random.nextDouble() * 2 * goalsPerMatch);
+                    for (int g = 0; g < goalsInMatch; g++) {
+                        boolean first = random.nextBoolean();
+                        Goal goal = new Goal();
+                        goal.setId(++goalId);
+                        goal.setMatch(match);
+                        goal.setPlayer((first ? side1 : side2).get(random.nextInt(LINEUP)));
+                        goal.setGoalTime(random.nextInt(91));
+                        goals.add(goal);
+                        if (first) score1++;
+                        else score2++;
+                    }
+                    match.setTeam1Score(score1);
+                    match.setTeam2Score(score2);
+                    matches.add(match);
+                }
+            }
+        }
+    }
+
+    long playerId(long teamId, int index) {
+        return (teamId - 1) * playersPerTeam + index + 1;
+    }
+
+    /**
+     * Replaces the league tables of the (benchmark!) database with this dataset; the standings
+     * read model is left empty for the caller to rebuild.
+     */
+    void writeTo(JdbcTemplate jdbc) {
+        jdbc.execute("truncate table goals, match_player, match, player, team, team_season_stats restart identity cascade");
+        jdbc.batchUpdate("insert into team(id, name) values (?, ?)", teamList, 1000, (ps, t) -> {
+            ps.setLong(1, t.getId());
+            ps.setString(2, t.getName());
+        });
+        jdbc.batchUpdate("insert into player(id, first_name, last_name, team_id) values (?, ?, ?, ?)", players, 1000, (ps, p) -> {
+            ps.setLong(1, p.getId());
+            ps.setString(2, p.getFirstName());
+            ps.setString(3, p.getLastName());
+            ps.setLong(4, p.getTeam().getId());
+        });
+        jdbc.batchUpdate("insert into match(id, team1_id, team2_id, team1_score, team2_score, match_date) values (?, ?, ?, ?, ?, ?)",
+                matches, 1000, (ps, m) -> {
+                    ps.setLong(1, m.getId());
+                    ps.setLong(2, m.getTeam1().getId());
+                    ps.setLong(3, m.getTeam2().getId());
+                    ps.setInt(4, m.getTeam1Score());
+                    ps.setInt(5, m.getTeam2Score());
+                    ps.setObject(6, LocalDateTime.ofInstant(m.getMatchDate(), ZoneOffset.UTC));
+                });
+        jdbc.batchUpdate("insert into match_player(match_id, player_id, team_id, is_starting, minutes_played) values (?, ?, ?, true, ?)",
+                appearances, 1000, (ps, mp) -> {
+                    ps.setLong(1, mp.getId().getMatchId());
+                    ps.setLong(2, mp.getId().getPlayerId());
+                    ps.setLong(3, mp.getTeam().getId());
+                    ps.setInt(4, mp.getMinutesPlayed());
+                });
+        jdbc.batchUpdate("insert into goals(id, match_id, player_id, goal_time) values (?, ?, ?, ?)", goals, 1000, (ps, g) -> {
+            ps.setLong(1, g.getId());
+            ps.setLong(2, g.getMatch().getId());
+            ps.setLong(3, g.getPlayer().getId());
+            ps.setInt(4, g.getGoalTime());
+        });
+        for (String table : List.of("team", "player", "match", "goals")) {
+            jdbc.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), coalesce((select max(id) from " + table + "), 1))");
+        }
+        jdbc.execute("analyze");
+    }
+
+    private List<Player> lineup(Match match, Team team, Random random) {
+        List<Player> lineup = new ArrayList<>(LINEUP);
+        int offset = random.nextInt(playersPerTeam);
+        for (int i = 0; i < LINEUP; i++) {
+            int index = (offset + i) % playersPerTeam;
+            Player player = players.get((int) (playerId(team.getId(), index) - 1));
+            MatchPlayer mp = new MatchPlayer();
+            mp.setId(new MatchPlayerId(match.getId(), player.getId()));
+            mp.setMatch(match);
+            mp.setPlayer(player);
+            mp.setTeam(team);
+            mp.setMinutesPlayed(60 + random.nextInt(31));
+            appearances.add(mp);
+            lineup.add(player);
+        }
+        return lineup;
+    }
+}
@@ -0,0 +1,157 @@
+package org.otus.finalProject.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.otus.finalProject.Application;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.repository.MatchRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Top teams of the current season from {@code matches} matches against a local Postgres
+ * ({@code -Dbench.db.url}, league tables REPLACED as in {@link StatsRepositoryBenchmark}):
+ * {@link MatchRepository#findTopTeams} (GROUP BY + LIMIT in Postgres) against the former path
+ * that loaded every Match of the period and folded it into a HashMap in Java. Only teams and
+ * matches are written; lineups and goals play no part in either path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TopTeamsBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    int matches;
+
+    @Param({"20"})
+    int teams;
+
+    ConfigurableApplicationContext context;
+    MatchRepository matchRepository;
+    EntityManager entityManager;
+    TransactionTemplate readTx;
+    int year;
+    Instant from;
+    Instant to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/demo_bench"),
+                        "spring.datasource.username=" + System.getProperty("bench.db.username", "demo"),
+                        "spring.datasource.password=" + System.getProperty("bench.db.password", "demo"),
+                        "stats.season-store.enabled=false",
+                        "sql.accounting.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.springframework=WARN")
+                .run();
+
+        year = LocalDate.now(ZoneOffset.UTC).getYear();
+        from = LocalDate.of(year, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        to = LocalDate.of(year + 1, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        writeMatches(context.getBean(JdbcTemplate.class));
+
+        matchRepository = context.getBean(MatchRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readTx.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TeamStatResponse> groupByInDatabase() {
+        return readTx.execute(status -> matchRepository.findTopTeams(from, to, 10).stream()
+                .map(row -> new TeamStatResponse(
+                        row.getTeamId(), year, row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses()))
+                .toList());
+    }
+
+    @Benchmark
+    public List<TeamStatResponse> aggregateInMemory() {
+        return readTx.execute(status -> {
+            List<Match> loaded = entityManager
+                    .createQuery("select m from Match m where m.matchDate >= :from and m.matchDate < :to", Match.class)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getResultList();
+            Map<Long, int[]> table = new HashMap<>(); // {played, wins, draws, losses}
+            for (Match m : loaded) {
+                int[] stats1 = table.computeIfAbsent(m.getTeam1().getId(), id -> new int[4]);
+                int[] stats2 = table.computeIfAbsent(m.getTeam2().getId(), id -> new int[4]);
+                stats1[0]++;
+                stats2[0]++;
+                if (m.getTeam1Score() > m.getTeam2Score()) {
+                    stats1[1]++;
+                    stats2[3]++;
+                } else if (m.getTeam1Score() < m.getTeam2Score()) {
+                    stats2[1]++;
+                    stats1[3]++;
+                } else {
+                    stats1[2]++;
+                    stats2[2]++;
+                }
+            }
+            return table.entrySet().stream()
+                    .map(e -> new TeamStatResponse(e.getKey(), year, e.getValue()[0], e.getValue()[1], e.getValue()[2], e.getValue()[3]))
+                    .sorted(Comparator
+                            .comparingInt(TeamStatResponse::wins).reversed()
+                            .thenComparing(TeamStatResponse::draws, Comparator.reverseOrder())
+                            .thenComparing(TeamStatResponse::losses)
+                            .thenComparing(TeamStatResponse::played, Comparator.reverseOrder())
+                            .thenComparing(TeamStatResponse::teamId))
+                    .limit(10)
+                    .toList();
+        });
+    }
+
+    /**
+     * Replaces the league tables with {@code teams} teams and {@code matches} matches spread evenly
+     * over the current UTC year; distinct kick-off seconds keep (team1, team2, match_date) unique.
+     */
+    private void writeMatches(JdbcTemplate jdbc) {
+        jdbc.execute("truncate table goals, match_player, match, player, team, team_season_stats restart identity cascade");
+        jdbc.batchUpdate("insert into team(id, name) values (?, ?)",
+                IntStream.rangeClosed(1, teams).boxed().toList(), 1000, (ps, t) -> {
+                    ps.setLong(1, t);
+                    ps.setString(2, "Team " + t);
+                });
+        Random random = new Random(42);
+        long step = Math.max(1, (to.getEpochSecond() - from.getEpochSecond() - 1) / matches);
+        jdbc.batchUpdate("insert into match(id, team1_id, team2_id, team1_score, team2_score, match_date) values (?, ?, ?, ?, ?, ?)",
+                IntStream.rangeClosed(1, matches).boxed().toList(), 1000, (ps, i) -> {
+                    int home = random.nextInt(teams);
+                    int away = (home + 1 + random.nextInt(teams - 1)) % teams;
+                    ps.setLong(1, i);
+                    ps.setLong(2, home + 1);
+                    ps.setLong(3, away + 1);
+                    ps.setInt(4, random.nextInt(4));
+                    ps.setInt(5, random.nextInt(4));
+                    ps.setObject(6, LocalDateTime.ofInstant(from.plusSeconds(i * step), ZoneOffset.UTC));
+                });
+        for (String table : List.of("team", "match")) {
+            jdbc.execute("select setval(pg_get_serial_sequence('" + table + "', 'id'), coalesce((select max(id) from " + table + "), 1))");
+        }
+        jdbc.execute("analyze");
+    }
+}
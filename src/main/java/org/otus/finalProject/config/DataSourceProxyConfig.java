@@ -0,0 +1,72 @@
+package org.otus.finalProject.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.otus.finalProject.persistence.sql.SlowQueryLogListener;
+import org.otus.finalProject.persistence.sql.SqlAccountingFilter;
+import org.otus.finalProject.persistence.sql.SqlAccountingListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the DataSource with datasource-proxy for per-request SQL accounting
+ * (see {@link SqlAccountingFilter}) and slow/sampled statement logging
+ * (see {@link SlowQueryLogListener}); left unwrapped when both are off.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxy(Environment environment) {
+        boolean accounting = environment.getProperty("sql.accounting.enabled", Boolean.class, true);
+        boolean countRows = environment.getProperty("sql.accounting.count-rows", Boolean.class, true);
+        boolean slowLog = environment.getProperty("sql.slow-log.enabled", Boolean.class, true);
+        Duration threshold = environment.getProperty("sql.slow-log.threshold", Duration.class, Duration.ofMillis(200));
+        double sampleRate = environment.getProperty("sql.slow-log.sample-rate", Double.class, 0.0);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource
+                        || !(accounting || slowLog)) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                if (slowLog) {
+                    builder.listener(new SlowQueryLogListener(threshold, sampleRate));
+                }
+                if (accounting) {
+                    SqlAccountingListener listener = new SqlAccountingListener();
+                    builder.listener(listener);
+                    if (countRows) {
+                        // result sets are proxied only to count fetched rows
+                        builder.proxyResultSet().methodListener(listener);
+                    }
+                }
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "sql.accounting.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+            @Value("${sql.accounting.headers:false}") boolean headers,
+            @Value("${sql.accounting.log.max-statements:50}") long maxStatements,
+            @Value("${sql.accounting.log.max-time:1s}") Duration maxTime) {
+        FilterRegistrationBean<SqlAccountingFilter> registration =
+                new FilterRegistrationBean<>(new SqlAccountingFilter(headers, maxStatements, maxTime));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
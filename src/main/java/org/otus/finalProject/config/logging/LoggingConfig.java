@@ -0,0 +1,20 @@
+package org.otus.finalProject.config.logging;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class LoggingConfig {
+
+    // per-request DEBUG via X-Debug-Log; off in the prod profile
+    @Bean
+    @ConditionalOnProperty(name = "logging.request-debug.enabled", havingValue = "true")
+    public FilterRegistrationBean<RequestDebugFilter> requestDebugFilter() {
+        FilterRegistrationBean<RequestDebugFilter> registration = new FilterRegistrationBean<>(new RequestDebugFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
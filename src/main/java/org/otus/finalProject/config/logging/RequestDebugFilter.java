@@ -0,0 +1,35 @@
+package org.otus.finalProject.config.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Marks a request sent with {@code X-Debug-Log: true} so that {@link RequestDebugTurboFilter}
+ * logs it at DEBUG (SQL, web, security) regardless of the configured levels.
+ */
+public class RequestDebugFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-Debug-Log";
+    static final String MDC_KEY = "debug";
+    static final String MDC_VALUE = "true";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!"true".equalsIgnoreCase(request.getHeader(HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        MDC.put(MDC_KEY, MDC_VALUE);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.otus.finalProject.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Enables DEBUG on every logger for the requests marked by {@link RequestDebugFilter};
+ * other events keep the configured logger levels. Registered in logback-spring.xml.
+ */
+public class RequestDebugTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.DEBUG) && RequestDebugFilter.MDC_VALUE.equals(MDC.get(RequestDebugFilter.MDC_KEY))) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -6,12 +6,11 @@ import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.championship.ChampionshipCreateRequest;
 import org.otus.finalProject.dto.championship.ChampionshipPatchRequest;
 import org.otus.finalProject.dto.championship.ChampionshipResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.service.base.ChampionshipService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Tag(name = "Championships", description = "CRUDs for championships")
 @RestController
 @RequestMapping("/api/championships")
@@ -25,9 +24,11 @@ public class ChampionshipController {
         return service.create(request);
     }
 
+    // GET /api/championships?cursor=&limit=
     @GetMapping
-    public List<ChampionshipResponse> getAll() {
-        return service.findAll();
+    public PageResponse<ChampionshipResponse> getAll(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit) {
+        return service.findAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
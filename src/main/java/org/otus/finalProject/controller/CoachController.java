@@ -6,12 +6,11 @@ import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.coach.CoachCreateRequest;
 import org.otus.finalProject.dto.coach.CoachPatchRequest;
 import org.otus.finalProject.dto.coach.CoachResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.service.base.CoachService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Tag(name = "Coaches", description = "CRUDs for coaches")
 @RestController
 @RequestMapping("/api/coaches")
@@ -25,9 +24,11 @@ public class CoachController {
         return service.create(request);
     }
 
+    // GET /api/coaches?cursor=&limit=
     @GetMapping
-    public List<CoachResponse> getAll() {
-        return service.findAll();
+    public PageResponse<CoachResponse> getAll(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        return service.findAll(cursor, limit);
     }
 
     @GetMapping("/{id}")
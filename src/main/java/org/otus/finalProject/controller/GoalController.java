@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.goal.GoalCreateRequest;
 import org.otus.finalProject.dto.goal.GoalPatchRequest;
 import org.otus.finalProject.dto.goal.GoalResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.service.base.GoalService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -25,9 +26,13 @@ public class GoalController {
         return service.create(request);
     }
 
+    // GET /api/goals?matchId=&playerId=&cursor=&limit=
     @GetMapping
-    public List<GoalResponse> findAll() {
-        return service.findAll();
+    public PageResponse<GoalResponse> findAll(@RequestParam(required = false) Long matchId,
+                                              @RequestParam(required = false) Long playerId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit) {
+        return service.findAll(matchId, playerId, cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,62 @@
+package org.otus.finalProject.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.jfr.JfrRecordingResponse;
+import org.otus.finalProject.service.jfr.JfrRecordingService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Tag(name = "JFR admin", description = "On-demand Java Flight Recorder recordings")
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true")
+public class JfrAdminController {
+    private final JfrRecordingService jfrRecordingService;
+
+    // GET /api/admin/jfr
+    @GetMapping
+    public JfrRecordingResponse status() {
+        return jfrRecordingService.status();
+    }
+
+    // POST /api/admin/jfr/start?settings=default|profile&maxAgeMinutes=&maxSizeMb=
+    @PostMapping("/start")
+    public JfrRecordingResponse start(@RequestParam(defaultValue = "default") String settings,
+                                      @RequestParam(required = false) Long maxAgeMinutes,
+                                      @RequestParam(required = false) Long maxSizeMb) {
+        return jfrRecordingService.start(settings, maxAgeMinutes, maxSizeMb);
+    }
+
+    // POST /api/admin/jfr/stop - the recording as a .jfr file, open it in JDK Mission Control
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop() throws Exception {
+        Path file = jfrRecordingService.stop();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,28 @@
+package org.otus.finalProject.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.dto.generator.GenerateResponse;
+import org.otus.finalProject.service.generator.LeagueDataGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "League data admin", description = "Synthetic league data for load and scale testing")
+@RestController
+@RequestMapping("/api/admin/generator")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "generator.enabled", havingValue = "true")
+public class LeagueDataAdminController {
+    private final LeagueDataGenerator generator;
+
+    // POST /api/admin/generator
+    @PostMapping
+    public GenerateResponse generate(@RequestBody @Valid GenerateRequest request) {
+        return generator.generate(request);
+    }
+}
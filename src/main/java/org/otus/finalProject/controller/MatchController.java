@@ -4,10 +4,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
+import org.otus.finalProject.dto.goal.GoalBatchItemResult;
+import org.otus.finalProject.dto.goal.GoalBatchRequest;
+import org.otus.finalProject.dto.match.MatchBatchRequest;
 import org.otus.finalProject.dto.match.MatchCreateRequest;
+import org.otus.finalProject.dto.match.MatchFilter;
 import org.otus.finalProject.dto.match.MatchPatchRequest;
 import org.otus.finalProject.dto.match.MatchResponse;
 import org.otus.finalProject.dto.match.MatchResultRequest;
+import org.otus.finalProject.dto.page.PageResponse;
+import org.otus.finalProject.service.base.GoalService;
 import org.otus.finalProject.service.base.MatchService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
@@ -16,41 +22,58 @@ import java.util.List;
 
 @Tag(name = "Matches", description = "CRUDs for matches")
 @RestController
-@RequestMapping("/api/matches")
+@RequestMapping("/api")
 @RequiredArgsConstructor
 public class MatchController {
     private final MatchService service;
+    private final GoalService goalService;
 
-    @PostMapping
+    @PostMapping("/matches")
     @ResponseStatus(HttpStatus.CREATED)
     public MatchResponse create(@RequestBody @Valid MatchCreateRequest request) throws BadRequestException {
         return service.create(request);
     }
 
-    @GetMapping
-    public List<MatchResponse> findAll() {
-        return service.findAll();
+    // POST /api/matches:batch {matches: [...]} - a whole matchday in one transaction, all or nothing
+    @PostMapping("/matches:batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<MatchResponse> createBatch(@RequestBody @Valid MatchBatchRequest request) {
+        return service.createBatch(request.matches());
+    }
+
+    // GET /api/matches?from=&to=&championshipId=&teamId=&cursor=&limit= - newest first
+    @GetMapping("/matches")
+    public PageResponse<MatchResponse> findAll(MatchFilter filter,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        return service.findAll(filter, cursor, limit);
     }
 
 
-    @GetMapping("/{id}")
+    @GetMapping("/matches/{id}")
     public MatchResponse findOne(@PathVariable Long id) {
         return service.findById(id);
     }
 
 
-    @PatchMapping("/{id}")
+    @PatchMapping("/matches/{id}")
     public MatchResponse patch(@PathVariable Long id, @RequestBody @Valid MatchPatchRequest request) throws BadRequestException {
         return service.patch(id, request);
     }
 
 
-    @PostMapping("/{id}/result")
+    @PostMapping("/matches/{id}/result")
     public MatchResponse setResult(@PathVariable Long id, @RequestBody @Valid MatchResultRequest request) {
         return service.setResult(id, request);
     }
 
-    @DeleteMapping("/{id}")
+    // POST /api/matches/{id}/goals:batch {goals: [{playerId, goalTime}]} - one transaction, a result per goal
+    @PostMapping("/matches/{id}/goals:batch")
+    public List<GoalBatchItemResult> createGoals(@PathVariable Long id, @RequestBody @Valid GoalBatchRequest request) {
+        return goalService.createBatch(id, request.goals());
+    }
+
+    @DeleteMapping("/matches/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) {
         service.delete(id);
@@ -3,6 +3,7 @@ package org.otus.finalProject.controller;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.player.PlayerCreateRequest;
 import org.otus.finalProject.dto.player.PlayerPatchRequest;
 import org.otus.finalProject.dto.player.PlayerResponse;
@@ -10,8 +11,6 @@ import org.otus.finalProject.service.base.PlayerService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Tag(name = "Players", description = "CRUDs for players")
 @RestController
 @RequestMapping("/api/players")
@@ -25,9 +24,12 @@ public class PlayerController {
         return service.create(request);
     }
 
+    // GET /api/players?teamId=&cursor=&limit=
     @GetMapping
-    public List<PlayerResponse> getAll() {
-        return service.findAll();
+    public PageResponse<PlayerResponse> getAll(@RequestParam(required = false) Long teamId,
+                                               @RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer limit) {
+        return service.findAll(teamId, cursor, limit);
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,30 @@
+package org.otus.finalProject.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.stats.SeasonStoreResponse;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Season store admin", description = "In-memory current season stats store")
+@RestController
+@RequestMapping("/api/admin/season-store")
+@RequiredArgsConstructor
+public class SeasonStoreAdminController {
+    private final SeasonColumnStore seasonColumnStore;
+
+    // GET /api/admin/season-store
+    @GetMapping
+    public SeasonStoreResponse stats() {
+        return seasonColumnStore.snapshot();
+    }
+
+    // POST /api/admin/season-store/reload
+    @PostMapping("/reload")
+    public SeasonStoreResponse reload() {
+        return seasonColumnStore.load();
+    }
+}
@@ -0,0 +1,28 @@
+package org.otus.finalProject.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.stats.StandingsCheckResponse;
+import org.otus.finalProject.dto.stats.StandingsRebuildResponse;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Standings admin", description = "Maintenance of the team_season_stats read model")
+@RestController
+@RequestMapping("/api/admin/standings")
+@RequiredArgsConstructor
+public class StandingsAdminController {
+    private final TeamSeasonStatsService service;
+
+    // POST /api/admin/standings/rebuild
+    @PostMapping("/rebuild")
+    public StandingsRebuildResponse rebuild() {
+        return service.rebuild();
+    }
+
+    // GET /api/admin/standings/check
+    @GetMapping("/check")
+    public StandingsCheckResponse check() {
+        return service.check();
+    }
+}
@@ -0,0 +1,23 @@
+package org.otus.finalProject.controller;
+
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.stats.StatsCacheResponse;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Stats cache admin", description = "Stats result cache metrics")
+@RestController
+@RequestMapping("/api/admin/stats-cache")
+@RequiredArgsConstructor
+public class StatsCacheAdminController {
+    private final StatsCache statsCache;
+
+    // GET /api/admin/stats-cache
+    @GetMapping
+    public StatsCacheResponse stats() {
+        return statsCache.snapshot();
+    }
+}
@@ -1,8 +1,10 @@
 package org.otus.finalProject.controller;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.StatsBatchRequest;
 import org.otus.finalProject.dto.stats.TeamStatResponse;
 import org.otus.finalProject.dto.stats.TopScorersStatResponse;
 import org.otus.finalProject.service.base.StatsService;
@@ -31,6 +33,18 @@ public class StatsController {
         return service.playerStats(id, year);
     }
 
+    // POST /api/stats/teams:batch {ids, year}
+    @PostMapping("/teams:batch")
+    public List<TeamStatResponse> teamStatsBatch(@RequestBody @Valid StatsBatchRequest request) {
+        return service.teamStatsBatch(request.ids(), request.year());
+    }
+
+    // POST /api/stats/players:batch {ids, year}
+    @PostMapping("/players:batch")
+    public List<PlayerStatResponse> playerStatsBatch(@RequestBody @Valid StatsBatchRequest request) {
+        return service.playerStatsBatch(request.ids(), request.year());
+    }
+
     // GET /api/stats/top-teams?year=&limit=
     @GetMapping("/top-teams")
     public List<TeamStatResponse> topTeams(@RequestParam(required = false) Integer year,
@@ -3,6 +3,7 @@ package org.otus.finalProject.controller;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.team.TeamCreateRequest;
 import org.otus.finalProject.dto.team.TeamPatchRequest;
 import org.otus.finalProject.dto.team.TeamResponse;
@@ -10,8 +11,6 @@ import org.otus.finalProject.service.base.TeamService;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Tag(name = "Teams", description = "CRUDs for teams")
 @RestController
 @RequestMapping("/api/teams")
@@ -25,9 +24,12 @@ public class TeamController {
         return service.create(request);
     }
 
+    // GET /api/teams?country=&cursor=&limit=
     @GetMapping
-    public List<TeamResponse> getAll() {
-        return service.findAll();
+    public PageResponse<TeamResponse> getAll(@RequestParam(required = false) String country,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer limit) {
+        return service.findAll(country, cursor, limit);
     }
 
     @GetMapping("/{id}")
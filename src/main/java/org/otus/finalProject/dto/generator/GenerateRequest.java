@@ -0,0 +1,43 @@
+package org.otus.finalProject.dto.generator;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+/**
+ * Size of a generated league; null components take the defaults below.
+ */
+public record GenerateRequest(
+        @Nullable @Min(2) @Max(20_000)
+        Integer teams, // default 20
+
+        @Nullable @Min(14) @Max(60)
+        Integer playersPerTeam, // default 25, at least 11 starters + 3 substitutes
+
+        @Nullable @Min(1) @Max(30)
+        Integer seasons, // default 1, the last one is the current year
+
+        @Nullable @Min(1) @Max(100)
+        Integer roundsPerSeason, // default 38, every team plays once per round
+
+        @Nullable @DecimalMin("0.0") @DecimalMax("10.0")
+        Double goalsPerMatch, // default 2.7
+
+        @Nullable
+        Long seed, // default 42, same seed and sizes = same data
+
+        @Nullable
+        Boolean replace // default false = append; true = truncate the league tables first
+) {
+    public GenerateRequest {
+        teams = teams == null ? 20 : teams;
+        playersPerTeam = playersPerTeam == null ? 25 : playersPerTeam;
+        seasons = seasons == null ? 1 : seasons;
+        roundsPerSeason = roundsPerSeason == null ? 38 : roundsPerSeason;
+        goalsPerMatch = goalsPerMatch == null ? 2.7 : goalsPerMatch;
+        seed = seed == null ? 42L : seed;
+        replace = replace != null && replace;
+    }
+}
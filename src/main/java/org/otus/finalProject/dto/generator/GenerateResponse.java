@@ -0,0 +1,12 @@
+package org.otus.finalProject.dto.generator;
+
+public record GenerateResponse(
+        long teams,
+        long players,
+        long championships,
+        long matches,
+        long appearances,
+        long goals,
+        long millis
+) {
+}
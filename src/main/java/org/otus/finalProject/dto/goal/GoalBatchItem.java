@@ -0,0 +1,15 @@
+package org.otus.finalProject.dto.goal;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * One goal of a batch; checked per item, so a bad item is reported in its result instead of failing the batch.
+ */
+public record GoalBatchItem(
+        @Nullable
+        Long playerId,
+
+        @Nullable
+        Integer goalTime // [0..120]
+) {
+}
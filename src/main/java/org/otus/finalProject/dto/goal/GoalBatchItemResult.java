@@ -0,0 +1,10 @@
+package org.otus.finalProject.dto.goal;
+
+public record GoalBatchItemResult(
+        int index,
+        Long playerId,
+        Integer goalTime,
+        Long goalId, // null when rejected
+        String error // null when created
+) {
+}
@@ -0,0 +1,14 @@
+package org.otus.finalProject.dto.goal;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record GoalBatchRequest(
+        @NotEmpty
+        @Size(max = 500)
+        List<@NotNull GoalBatchItem> goals
+) {
+}
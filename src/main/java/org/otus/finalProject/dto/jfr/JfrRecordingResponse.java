@@ -0,0 +1,13 @@
+package org.otus.finalProject.dto.jfr;
+
+import java.time.Instant;
+
+public record JfrRecordingResponse(
+        boolean running,
+        String settings, // null = not running
+        Instant startedAt, // null = not running
+        Long maxAgeMinutes, // null = unbounded
+        Long maxSizeMb, // null = unbounded
+        long sizeBytes // recorded so far
+) {
+}
@@ -0,0 +1,15 @@
+package org.otus.finalProject.dto.match;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MatchBatchRequest(
+        @NotEmpty
+        @Size(max = 200)
+        List<@NotNull @Valid MatchCreateRequest> matches
+) {
+}
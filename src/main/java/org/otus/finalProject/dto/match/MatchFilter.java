@@ -0,0 +1,11 @@
+package org.otus.finalProject.dto.match;
+
+import java.time.Instant;
+
+public record MatchFilter(
+        Instant from, // null = no lower bound; inclusive
+        Instant to, // null = no upper bound; exclusive
+        Long championshipId, // null = all championships
+        Long teamId // null = all teams; home or away
+) {
+}
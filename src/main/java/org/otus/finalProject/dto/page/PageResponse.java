@@ -0,0 +1,9 @@
+package org.otus.finalProject.dto.page;
+
+import java.util.List;
+
+public record PageResponse<T>(
+        List<T> items,
+        String nextCursor // null = last page; pass as ?cursor= for the next one
+) {
+}
@@ -5,6 +5,7 @@ public record PlayerStatResponse(
         Integer year, // null = all years
         int matchesPlayed,
         int goals,
-        double avgGoalsPerMatch
+        double avgGoalsPerMatch,
+        int minutesPlayed // null minutes in a lineup count as 0
 ) {
 }
@@ -0,0 +1,16 @@
+package org.otus.finalProject.dto.stats;
+
+public record SeasonStoreResponse(
+        boolean enabled,
+        boolean loaded,
+        Integer seasonYear, // null = not loaded
+        int matches,
+        int deadMatches, // tombstoned rows waiting for compaction
+        int goals,
+        int appearances,
+        int teams,
+        int players,
+        long footprintBytes, // estimated heap use
+        long loadMillis
+) {
+}
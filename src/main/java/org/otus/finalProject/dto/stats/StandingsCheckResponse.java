@@ -0,0 +1,11 @@
+package org.otus.finalProject.dto.stats;
+
+import java.util.List;
+
+public record StandingsCheckResponse(
+        long matchesScanned,
+        int rowsChecked,
+        boolean consistent,
+        List<StandingsMismatch> mismatches
+) {
+}
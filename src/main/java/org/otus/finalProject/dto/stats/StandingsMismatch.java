@@ -0,0 +1,7 @@
+package org.otus.finalProject.dto.stats;
+
+public record StandingsMismatch(
+        StandingsRow expected, // computed from matches, null = row should not exist
+        StandingsRow actual // stored in team_season_stats, null = row is missing
+) {
+}
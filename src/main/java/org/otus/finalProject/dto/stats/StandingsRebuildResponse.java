@@ -0,0 +1,6 @@
+package org.otus.finalProject.dto.stats;
+
+public record StandingsRebuildResponse(
+        int rows
+) {
+}
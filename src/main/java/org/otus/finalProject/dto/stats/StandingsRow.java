@@ -0,0 +1,14 @@
+package org.otus.finalProject.dto.stats;
+
+public record StandingsRow(
+        Long teamId,
+        int seasonYear,
+        Long championshipId, // null = matches without championship
+        int played,
+        int wins,
+        int draws,
+        int losses,
+        int goalsFor,
+        int goalsAgainst
+) {
+}
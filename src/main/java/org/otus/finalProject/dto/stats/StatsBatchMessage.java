@@ -0,0 +1,19 @@
+package org.otus.finalProject.dto.stats;
+
+import java.util.List;
+
+/**
+ * Payload of the {@code statistics.*.batch.out} topics: the stats of one batch request.
+ * {@code version} changes when the fields do, so consumers can tell the shapes apart.
+ */
+public record StatsBatchMessage<T>(
+        int version,
+        Integer year, // null = all years
+        List<T> items
+) {
+    public static final int VERSION = 1;
+
+    public static <T> StatsBatchMessage<T> of(Integer year, List<T> items) {
+        return new StatsBatchMessage<>(VERSION, year, items);
+    }
+}
@@ -0,0 +1,18 @@
+package org.otus.finalProject.dto.stats;
+
+import jakarta.annotation.Nullable;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record StatsBatchRequest(
+        @NotEmpty
+        @Size(max = 500)
+        List<@NotNull Long> ids,
+
+        @Nullable
+        Integer year // null = all years
+) {
+}
@@ -0,0 +1,13 @@
+package org.otus.finalProject.dto.stats;
+
+public record StatsCacheResponse(
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions, // by size or TTL
+        long invalidated, // by write services
+        long computations, // misses that ran StatsServiceImpl
+        long coalesced // misses that waited for an identical in-flight computation
+) {
+}
@@ -5,6 +5,7 @@ import org.otus.finalProject.dto.championship.ChampionshipCreateRequest;
 import org.otus.finalProject.dto.championship.ChampionshipPatchRequest;
 import org.otus.finalProject.dto.championship.ChampionshipResponse;
 import org.otus.finalProject.persistence.model.Championship;
+import org.otus.finalProject.persistence.projection.ChampionshipRow;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -33,6 +34,14 @@ public class ChampionshipMapper {
                 championship.getEndDate() == null ? null : championship.getEndDate().toString());
     }
 
+    public ChampionshipResponse toResponse(ChampionshipRow row) {
+        return new ChampionshipResponse(
+                row.id(),
+                row.name(),
+                row.startDate() == null ? null : row.startDate().toString(),
+                row.endDate() == null ? null : row.endDate().toString());
+    }
+
     public void applyPatch(Championship championship, ChampionshipPatchRequest dto) {
         if (dto.name() != null) championship.setName(dto.name());
         if (dto.startDate() != null) {
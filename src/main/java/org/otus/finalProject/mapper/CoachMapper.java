@@ -5,6 +5,7 @@ import org.otus.finalProject.dto.coach.CoachPatchRequest;
 import org.otus.finalProject.dto.coach.CoachResponse;
 import org.otus.finalProject.persistence.model.Coach;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.CoachRow;
 import org.springframework.stereotype.Component;
 
 import java.util.HashSet;
@@ -47,4 +48,11 @@ public class CoachMapper {
                 teamIds
         );
     }
+
+    /**
+     * @param teamIds the coach's teams, from one query for the whole page
+     */
+    public CoachResponse toResponse(CoachRow row, Set<Long> teamIds) {
+        return new CoachResponse(row.id(), row.firstName(), row.lastName(), teamIds);
+    }
 }
\ No newline at end of file
@@ -8,17 +8,47 @@ import org.otus.finalProject.persistence.model.MatchPlayer;
 import org.otus.finalProject.persistence.repository.MatchPlayerRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 public class MatchMapper {
+    // match ids per lineup query
+    private static final int LINEUP_BATCH = 1000;
 
     private final MatchPlayerRepository matchPlayerRepository;
 
     public MatchResponse toResponse(Match match) {
+        return toResponses(List.of(match)).get(0);
+    }
+
+    /**
+     * Maps matches with their lineups loaded in one query per {@value #LINEUP_BATCH} matches,
+     * players included; teams and championship are only read by id.
+     */
+    public List<MatchResponse> toResponses(List<Match> matches) {
+        Map<Long, List<MatchPlayer>> lineups = new HashMap<>(matches.size() * 2);
+        for (int from = 0; from < matches.size(); from += LINEUP_BATCH) {
+            List<Long> ids = matches.subList(from, Math.min(from + LINEUP_BATCH, matches.size())).stream()
+                    .map(Match::getId)
+                    .toList();
+            for (MatchPlayer mp : matchPlayerRepository.findLineupsByMatchIds(ids)) {
+                lineups.computeIfAbsent(mp.getId().getMatchId(), id -> new ArrayList<>()).add(mp);
+            }
+        }
+
+        List<MatchResponse> responses = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            responses.add(toResponse(match, lineups.getOrDefault(match.getId(), List.of())));
+        }
+        return responses;
+    }
+
+    private MatchResponse toResponse(Match match, List<MatchPlayer> participants) {
         Long championshipId = match.getChampionship() != null ? match.getChampionship().getId() : null;
-        List<MatchPlayer> participants = matchPlayerRepository.findByMatch_Id(match.getId());
         var team1Id = match.getTeam1().getId();
         var team2Id = match.getTeam2().getId();
 
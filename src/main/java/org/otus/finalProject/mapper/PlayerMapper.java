@@ -5,6 +5,7 @@ import org.otus.finalProject.dto.player.PlayerPatchRequest;
 import org.otus.finalProject.dto.player.PlayerResponse;
 import org.otus.finalProject.persistence.model.Player;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.PlayerRow;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -27,6 +28,10 @@ public class PlayerMapper {
                 team != null ? team.getId() : null);
     }
 
+    public PlayerResponse toResponse(PlayerRow row) {
+        return new PlayerResponse(row.id(), row.firstName(), row.lastName(), row.teamId());
+    }
+
     public void applyPatch(Player player, PlayerPatchRequest request, Team teamToAttach) {
         if (request.firstName() != null) {
             player.setFirstName(request.firstName());
@@ -8,9 +8,12 @@ import org.otus.finalProject.dto.team.TeamResponse;
 import org.otus.finalProject.persistence.model.Coach;
 import org.otus.finalProject.persistence.model.Player;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.PlayerRow;
+import org.otus.finalProject.persistence.projection.TeamRow;
 import org.otus.finalProject.persistence.repository.CoachRepository;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -46,6 +49,16 @@ public class TeamMapper {
         );
     }
 
+    /**
+     * @param roster the team's players, from one roster query for the whole page
+     */
+    public TeamResponse toResponse(TeamRow row, List<PlayerRow> roster) {
+        Set<PlayerShortResponse> players = roster.stream()
+                .map(p -> new PlayerShortResponse(p.id(), p.firstName(), p.lastName()))
+                .collect(Collectors.toSet());
+        return new TeamResponse(row.id(), row.name(), row.country(), row.coachId(), players);
+    }
+
     public void applyPatch(Team team, TeamPatchRequest patch) {
         if (patch.name() != null) team.setName(patch.name());
         if (patch.country() != null) team.setCountry(patch.country());
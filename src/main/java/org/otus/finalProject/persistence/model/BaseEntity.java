@@ -13,6 +13,13 @@ import java.time.Instant;
 @Setter
 @MappedSuperclass
 public abstract class BaseEntity {
+    /**
+     * Ids taken from a table sequence per round trip (pooled optimizer). The sequence increment
+     * set by V7 ({@code spring.flyway.placeholders.id_allocation_size}) wins over this value:
+     * {@code hibernate.id.sequence.increment_size_mismatch_strategy} is {@code fix}.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @CreationTimestamp
     @Column(name = "created_date_time", nullable = false, updatable = false)
     private Instant createdDateTime;
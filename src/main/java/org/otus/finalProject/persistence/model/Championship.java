@@ -18,7 +18,8 @@ import java.time.Instant;
         })
 public class Championship extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "championship_id_seq")
+    @SequenceGenerator(name = "championship_id_seq", sequenceName = "championship_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(length = 100, nullable = false)
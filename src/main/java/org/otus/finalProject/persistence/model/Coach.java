@@ -18,7 +18,8 @@ import java.util.Set;
         })
 public class Coach extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coach_id_seq")
+    @SequenceGenerator(name = "coach_id_seq", sequenceName = "coach_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "first_name", length = 60, nullable = false)
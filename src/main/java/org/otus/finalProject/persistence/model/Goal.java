@@ -13,11 +13,13 @@ import lombok.*;
 @Entity
 @Table(name = "goals",
         indexes = {
-                @Index(name = "idx_goals_match_player", columnList = "match_id,player_id")
+                @Index(name = "idx_goals_match_player", columnList = "match_id,player_id"),
+                @Index(name = "idx_goals_player_match", columnList = "player_id,match_id")
         })
 public class Goal extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "goals_id_seq")
+    @SequenceGenerator(name = "goals_id_seq", sequenceName = "goals_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
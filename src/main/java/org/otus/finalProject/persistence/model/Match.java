@@ -13,12 +13,16 @@ import java.time.Instant;
 @Entity
 @Table(name = "match",
         indexes = {
-                @Index(name = "idx_match_date", columnList = "match_date"),
+                @Index(name = "idx_match_date_id", columnList = "match_date,id"),
+                @Index(name = "idx_match_championship_date", columnList = "championship_id,match_date,id"),
+                @Index(name = "idx_match_team1_date", columnList = "team1_id,match_date"),
+                @Index(name = "idx_match_team2_date", columnList = "team2_id,match_date"),
                 @Index(name = "ux_match_teams_date", columnList = "team1_id,team2_id,match_date", unique = true)
         })
 public class Match extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "match_id_seq")
+    @SequenceGenerator(name = "match_id_seq", sequenceName = "match_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
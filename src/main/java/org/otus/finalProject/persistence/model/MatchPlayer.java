@@ -2,6 +2,7 @@ package org.otus.finalProject.persistence.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 @Getter @Setter
 @NoArgsConstructor
@@ -11,9 +12,10 @@ import lombok.*;
 @Entity
 @Table(name = "match_player",
         indexes = {
-                @Index(name = "pk_match_player", columnList = "match_id,player_id", unique = true)
+                @Index(name = "pk_match_player", columnList = "match_id,player_id", unique = true),
+                @Index(name = "idx_match_player_player", columnList = "player_id")
         })
-public class MatchPlayer extends BaseEntity {
+public class MatchPlayer extends BaseEntity implements Persistable<MatchPlayerId> {
     @EmbeddedId
     private MatchPlayerId id = new MatchPlayerId();
 
@@ -36,5 +38,21 @@ public class MatchPlayer extends BaseEntity {
 
     @Column(name = "minutes_played")
     private Integer minutesPlayed;
+
+    // the id is assigned, so without this save() would merge (a SELECT per row) instead of persisting
+    @Transient
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
 }
 
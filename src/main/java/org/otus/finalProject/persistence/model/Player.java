@@ -12,11 +12,13 @@ import lombok.*;
 @Entity
 @Table(name = "player",
         indexes = {
-                @Index(name = "idx_player_team_lastname", columnList = "team_id,last_name")
+                @Index(name = "idx_player_team_lastname", columnList = "team_id,last_name"),
+                @Index(name = "idx_player_team_id", columnList = "team_id,id")
         })
 public class Player extends BaseEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_id_seq")
+    @SequenceGenerator(name = "player_id_seq", sequenceName = "player_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
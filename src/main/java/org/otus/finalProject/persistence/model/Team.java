@@ -15,12 +15,14 @@ import java.util.Set;
 @Entity
 @Table(name = "team",
         indexes = {
-                @Index(name = "idx_team_name", columnList = "name", unique = true)
+                @Index(name = "idx_team_name", columnList = "name", unique = true),
+                @Index(name = "idx_team_coach", columnList = "coach_id")
         })
 public class Team extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_id_seq")
+    @SequenceGenerator(name = "team_id_seq", sequenceName = "team_id_seq", allocationSize = ID_ALLOCATION_SIZE)
     @EqualsAndHashCode.Include
     private Long id;
 
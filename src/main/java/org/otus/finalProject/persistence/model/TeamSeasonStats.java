@@ -0,0 +1,49 @@
+package org.otus.finalProject.persistence.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+@Entity
+@Table(name = "team_season_stats",
+        indexes = {
+                @Index(name = "idx_team_season_stats_year", columnList = "season_year"),
+                @Index(name = "ux_team_season_stats", columnList = "team_id,season_year,championship_id", unique = true)
+        })
+public class TeamSeasonStats extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "season_year", nullable = false)
+    private Integer seasonYear;
+
+    @Column(name = "championship_id")
+    private Long championshipId;
+
+    @Column(nullable = false)
+    private int played;
+
+    @Column(nullable = false)
+    private int wins;
+
+    @Column(nullable = false)
+    private int draws;
+
+    @Column(nullable = false)
+    private int losses;
+
+    @Column(name = "goals_for", nullable = false)
+    private int goalsFor;
+
+    @Column(name = "goals_against", nullable = false)
+    private int goalsAgainst;
+}
@@ -0,0 +1,14 @@
+package org.otus.finalProject.persistence.projection;
+
+import java.time.Instant;
+
+/**
+ * Championship columns as a Spring Data DTO projection, without a managed entity.
+ */
+public record ChampionshipRow(
+        Long id,
+        String name,
+        Instant startDate,
+        Instant endDate
+) {
+}
@@ -0,0 +1,11 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Coach columns as a Spring Data DTO projection, without a managed entity.
+ */
+public record CoachRow(
+        Long id,
+        String firstName,
+        String lastName
+) {
+}
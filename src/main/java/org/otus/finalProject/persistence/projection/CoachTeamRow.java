@@ -0,0 +1,10 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * One team of a coach, for loading the teams of a page of coaches in one query.
+ */
+public record CoachTeamRow(
+        Long coachId,
+        Long teamId
+) {
+}
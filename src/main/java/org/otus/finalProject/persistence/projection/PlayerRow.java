@@ -0,0 +1,12 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Player columns read by JPQL constructor expressions, without a managed entity.
+ */
+public record PlayerRow(
+        Long id,
+        String firstName,
+        String lastName,
+        Long teamId // null = free agent
+) {
+}
@@ -0,0 +1,14 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Appearances, minutes and goals of one player for a period, read in a single statement.
+ */
+public interface PlayerStatRow {
+    Long getPlayerId();
+
+    int getMatchesPlayed();
+
+    int getMinutesPlayed();
+
+    int getGoals();
+}
@@ -0,0 +1,13 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Team columns read by JPQL constructor expressions, without a managed entity; the roster is
+ * loaded separately as {@link PlayerRow}s for a whole page of teams.
+ */
+public record TeamRow(
+        Long id,
+        String name,
+        String country,
+        Long coachId // null = no coach
+) {
+}
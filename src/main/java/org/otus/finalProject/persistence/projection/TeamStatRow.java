@@ -0,0 +1,16 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Aggregated win/draw/loss row of one team, produced by native stats queries.
+ */
+public interface TeamStatRow {
+    Long getTeamId();
+
+    int getPlayed();
+
+    int getWins();
+
+    int getDraws();
+
+    int getLosses();
+}
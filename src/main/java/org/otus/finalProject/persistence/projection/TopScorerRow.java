@@ -0,0 +1,16 @@
+package org.otus.finalProject.persistence.projection;
+
+/**
+ * Goals of one player scored for one team (the team the player was registered for at the match).
+ */
+public interface TopScorerRow {
+    Long getPlayerId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Long getTeamId();
+
+    int getGoals();
+}
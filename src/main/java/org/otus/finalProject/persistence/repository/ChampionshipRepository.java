@@ -1,13 +1,18 @@
 package org.otus.finalProject.persistence.repository;
 
 import org.otus.finalProject.persistence.model.Championship;
+import org.otus.finalProject.persistence.projection.ChampionshipRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ChampionshipRepository extends JpaRepository<Championship, Long> {
     Optional<Championship> findByName(String name);
 
     boolean existsByNameIgnoreCase(String name);
+
+    List<ChampionshipRow> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable rows);
 }
 
@@ -1,7 +1,12 @@
 package org.otus.finalProject.persistence.repository;
 
 import org.otus.finalProject.persistence.model.Coach;
+import org.otus.finalProject.persistence.projection.CoachRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface CoachRepository extends JpaRepository<Coach, Long> {
+    List<CoachRow> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable rows);
 }
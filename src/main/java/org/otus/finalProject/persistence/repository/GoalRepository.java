@@ -1,23 +1,86 @@
 package org.otus.finalProject.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.jpa.HibernateHints;
 import org.otus.finalProject.persistence.model.Goal;
 import org.otus.finalProject.persistence.model.Match;
 import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.projection.TopScorerRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface GoalRepository extends JpaRepository<Goal, Long> {
+public interface GoalRepository extends JpaRepository<Goal, Long>, JpaSpecificationExecutor<Goal> {
     List<Goal> findByMatchAndPlayer(Match match, Player player);
 
     void deleteByMatchId(Long id);
 
-    List<Goal> findAllByOrderByIdAsc();
+    /**
+     * Keyset page of goals in id order after {@code afterId}; null filters match everything.
+     * Only the given filters become predicates (idx_goals_match_player for a match).
+     */
+    default List<Goal> findPage(long afterId, Long matchId, Long playerId, Pageable rows) {
+        Specification<Goal> page = (g, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.greaterThan(g.get("id"), afterId));
+            if (matchId != null) where.add(cb.equal(g.get("match").get("id"), matchId));
+            if (playerId != null) where.add(cb.equal(g.get("player").get("id"), playerId));
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+        return findBy(page, q -> q.sortBy(Sort.by("id")).limit(rows.getPageSize()).all());
+    }
 
     List<Goal> findByPlayer_IdOrderByIdAsc(Long playerId);
 
-    int countByPlayer_IdAndMatch_MatchDateBetween(Long playerId, Instant from, Instant to);
+    List<Goal> findByMatch_IdIn(Collection<Long> matchIds);
 
-    List<Goal> findByMatch_MatchDateBetween(Instant from, Instant to);
+    /**
+     * Goals of the period as a lazily fetched stream of read-only entities; must be consumed
+     * inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + MatchRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Goal> streamByMatch_MatchDateBetween(Instant from, Instant to);
+
+    /**
+     * Top scorers of the period in one statement: goals are attributed to the team the player
+     * had in match_player for that match; goals without a lineup row are ignored.
+     * teamId = null means all teams. Names compare in the "C" collation (code point order, like
+     * String.compareTo in the season store), ties fall back to the player and then the team id.
+     */
+    @Query(value = """
+        select p.id as playerId,
+               p.first_name as firstName,
+               p.last_name as lastName,
+               mp.team_id as teamId,
+               count(*) as goals
+        from goals g
+        join match m on m.id = g.match_id
+        join match_player mp on mp.match_id = g.match_id and mp.player_id = g.player_id
+        join player p on p.id = g.player_id
+        where m.match_date >= :from and m.match_date < :to
+          and (cast(:teamId as bigint) is null or mp.team_id = cast(:teamId as bigint))
+        group by p.id, p.first_name, p.last_name, mp.team_id
+        order by goals desc, p.last_name collate "C" asc, p.first_name collate "C" asc, p.id, mp.team_id
+        limit :limit
+    """, nativeQuery = true)
+    List<TopScorerRow> findTopScorers(@Param("teamId") Long teamId,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to,
+                                      @Param("limit") int limit);
 }
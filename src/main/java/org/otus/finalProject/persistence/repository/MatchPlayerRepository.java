@@ -1,23 +1,26 @@
 package org.otus.finalProject.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.otus.finalProject.persistence.model.Match;
 import org.otus.finalProject.persistence.model.MatchPlayer;
 import org.otus.finalProject.persistence.model.MatchPlayerId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface MatchPlayerRepository extends JpaRepository<MatchPlayer, MatchPlayerId> {
     List<MatchPlayer> findByMatch(Match match);
 
     void deleteByMatchId(Long id);
 
-    int countByPlayer_IdAndMatch_MatchDateBetween(Long playerId, Instant from, Instant to);
-
     @Modifying
     @Query("delete from MatchPlayer mp where mp.match.id = :matchId and mp.team.id = :teamId")
     void deleteByMatchIdAndTeamId(@Param("matchId") Long matchId, @Param("teamId") Long teamId);
@@ -25,5 +28,30 @@ public interface MatchPlayerRepository extends JpaRepository<MatchPlayer, MatchP
     boolean existsById(MatchPlayerId id);
 
     List<MatchPlayer> findByMatch_Id(Long id);
+
+    List<MatchPlayer> findByMatch_IdIn(Collection<Long> matchIds);
+
+    List<MatchPlayer> findByMatch_IdAndTeam_Id(Long matchId, Long teamId);
+
+    /**
+     * Lineups of all given matches with their players fetched in the same query, for mapping a
+     * page of matches without a query per match or per player.
+     */
+    @Query("select mp from MatchPlayer mp join fetch mp.player where mp.match.id in :matchIds")
+    List<MatchPlayer> findLineupsByMatchIds(@Param("matchIds") Collection<Long> matchIds);
+
+    @Query("select mp.id.playerId from MatchPlayer mp where mp.match.id = :matchId")
+    List<Long> findPlayerIdsByMatchId(@Param("matchId") Long matchId);
+
+    /**
+     * Appearances in matches of the period as a lazily fetched stream of read-only entities;
+     * must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + MatchRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<MatchPlayer> streamByMatch_MatchDateBetween(Instant from, Instant to);
 }
 
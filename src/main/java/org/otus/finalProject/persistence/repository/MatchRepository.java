@@ -1,21 +1,157 @@
 package org.otus.finalProject.persistence.repository;
 
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.jpa.HibernateHints;
 import org.otus.finalProject.persistence.model.Match;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.TeamStatRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface MatchRepository extends JpaRepository<Match, Long>, JpaSpecificationExecutor<Match> {
+    int STREAM_FETCH_SIZE = 1000;
 
-public interface MatchRepository extends JpaRepository<Match, Long> {
     Optional<Match> findByTeam1AndTeam2AndMatchDate(Team team1, Team team2, Instant matchDate);
 
     boolean existsByTeam1AndTeam2AndMatchDate(Team t1, Team t2, @NotNull Instant instant);
 
-    List<Match> findAllByOrderByMatchDateDesc();
+    /**
+     * Keyset page of matches, newest first: the matches before ({@code beforeDate}, {@code beforeId})
+     * in (match_date, id) order; null filters match everything. Only the given filters become
+     * predicates, so each combination is its own statement and plan, read along idx_match_date_id,
+     * idx_match_championship_date or the team/date indexes instead of an "is null or" generic plan.
+     */
+    default List<Match> findPage(Instant beforeDate, long beforeId,
+                                 Instant from, Instant to, Long championshipId, Long teamId,
+                                 Pageable rows) {
+        Specification<Match> page = (m, query, cb) -> {
+            List<Predicate> where = new ArrayList<>();
+            where.add(cb.lessThanOrEqualTo(m.get("matchDate"), beforeDate));
+            where.add(cb.or(cb.lessThan(m.get("matchDate"), beforeDate), cb.lessThan(m.get("id"), beforeId)));
+            if (from != null) where.add(cb.greaterThanOrEqualTo(m.get("matchDate"), from));
+            if (to != null) where.add(cb.lessThan(m.get("matchDate"), to));
+            if (championshipId != null) where.add(cb.equal(m.get("championship").get("id"), championshipId));
+            if (teamId != null) {
+                where.add(cb.or(cb.equal(m.get("team1").get("id"), teamId), cb.equal(m.get("team2").get("id"), teamId)));
+            }
+            return cb.and(where.toArray(Predicate[]::new));
+        };
+        return findBy(page, q -> q.sortBy(Sort.by(Sort.Order.desc("matchDate"), Sort.Order.desc("id")))
+                .limit(rows.getPageSize())
+                .all());
+    }
+
+    /**
+     * Matches of any of the teams in [{@code from}, {@code to}), for checking new matches against
+     * the stored ones in memory; served by idx_match_team1_date and idx_match_team2_date.
+     */
+    @Query("""
+        select m from Match m
+        where (m.team1.id in :teamIds or m.team2.id in :teamIds)
+          and m.matchDate >= :from and m.matchDate < :to
+    """)
+    List<Match> findByTeamsBetween(@Param("teamIds") Collection<Long> teamIds,
+                                   @Param("from") Instant from,
+                                   @Param("to") Instant to);
+
+    /**
+     * Matches of the period as a lazily fetched stream (read-only entities, JDBC fetch size
+     * {@value #STREAM_FETCH_SIZE}); must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Match> streamByMatchDateBetween(Instant from, Instant to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Match> streamAllBy();
+
+    /**
+     * Standings of the period computed in the database: every match is counted once from the team1
+     * and once from the team2 perspective, grouped by team, ordered like the stats table and limited.
+     */
+    @Query(value = """
+        select s.team_id as teamId,
+               count(*) as played,
+               sum(case when s.goals_for > s.goals_against then 1 else 0 end) as wins,
+               sum(case when s.goals_for = s.goals_against then 1 else 0 end) as draws,
+               sum(case when s.goals_for < s.goals_against then 1 else 0 end) as losses
+        from (
+            select m.team1_id as team_id, m.team1_score as goals_for, m.team2_score as goals_against
+            from match m
+            where m.match_date >= :from and m.match_date < :to
+            union all
+            select m.team2_id as team_id, m.team2_score as goals_for, m.team1_score as goals_against
+            from match m
+            where m.match_date >= :from and m.match_date < :to
+        ) s
+        group by s.team_id
+        order by wins desc, draws desc, losses asc, played desc, s.team_id asc
+        limit :limit
+    """, nativeQuery = true)
+    List<TeamStatRow> findTopTeams(@Param("from") Instant from, @Param("to") Instant to, @Param("limit") int limit);
+
+    /**
+     * Stats of one team for the period; only that team's matches are read
+     * (idx_match_team1_date / idx_match_team2_date).
+     */
+    @Query(value = """
+        select cast(:teamId as bigint) as teamId,
+               count(*) as played,
+               coalesce(sum(case when (m.team1_id = :teamId and m.team1_score > m.team2_score)
+                                   or (m.team2_id = :teamId and m.team2_score > m.team1_score) then 1 else 0 end), 0) as wins,
+               coalesce(sum(case when m.team1_score = m.team2_score then 1 else 0 end), 0) as draws,
+               coalesce(sum(case when (m.team1_id = :teamId and m.team1_score < m.team2_score)
+                                   or (m.team2_id = :teamId and m.team2_score < m.team1_score) then 1 else 0 end), 0) as losses
+        from match m
+        where (m.team1_id = :teamId or m.team2_id = :teamId)
+          and m.match_date >= :from and m.match_date < :to
+    """, nativeQuery = true)
+    TeamStatRow findTeamStats(@Param("teamId") Long teamId, @Param("from") Instant from, @Param("to") Instant to);
 
-    List<Match> findByMatchDateBetween(Instant from, Instant to);
+    /**
+     * Batch variant of {@link #findTeamStats}: one row per team that played in the period.
+     */
+    @Query(value = """
+        select s.team_id as teamId,
+               count(*) as played,
+               sum(case when s.goals_for > s.goals_against then 1 else 0 end) as wins,
+               sum(case when s.goals_for = s.goals_against then 1 else 0 end) as draws,
+               sum(case when s.goals_for < s.goals_against then 1 else 0 end) as losses
+        from (
+            select m.team1_id as team_id, m.team1_score as goals_for, m.team2_score as goals_against
+            from match m
+            where m.team1_id in (:teamIds) and m.match_date >= :from and m.match_date < :to
+            union all
+            select m.team2_id as team_id, m.team2_score as goals_for, m.team1_score as goals_against
+            from match m
+            where m.team2_id in (:teamIds) and m.match_date >= :from and m.match_date < :to
+        ) s
+        group by s.team_id
+    """, nativeQuery = true)
+    List<TeamStatRow> findTeamStatsByIds(@Param("teamIds") Collection<Long> teamIds,
+                                         @Param("from") Instant from,
+                                         @Param("to") Instant to);
 }
 
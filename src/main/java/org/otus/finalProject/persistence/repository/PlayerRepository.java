@@ -2,14 +2,112 @@ package org.otus.finalProject.persistence.repository;
 
 import org.otus.finalProject.persistence.model.Player;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.PlayerRow;
+import org.otus.finalProject.persistence.projection.PlayerStatRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findByTeamOrderByLastNameAsc(Team team);
     List<Player> findAllByIdIn(Set<Long> ids);
     List<Player> findAllByTeam_Id(Long teamId);
-}
 
+    /**
+     * Keyset page of players in id order after {@code afterId}, as rows; teamId = null means all teams.
+     * One statement per case rather than an "is null or" predicate, so the team page keeps idx_player_team_id.
+     */
+    default List<PlayerRow> findPage(long afterId, Long teamId, Pageable rows) {
+        return teamId == null ? findPageOfAll(afterId, rows) : findPageByTeam(afterId, teamId, rows);
+    }
+
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.PlayerRow(p.id, p.firstName, p.lastName, t.id)
+        from Player p
+        left join p.team t
+        where p.id > :afterId
+        order by p.id
+    """)
+    List<PlayerRow> findPageOfAll(@Param("afterId") long afterId, Pageable rows);
+
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.PlayerRow(p.id, p.firstName, p.lastName, p.team.id)
+        from Player p
+        where p.team.id = :teamId
+          and p.id > :afterId
+        order by p.id
+    """)
+    List<PlayerRow> findPageByTeam(@Param("afterId") long afterId, @Param("teamId") Long teamId, Pageable rows);
+
+    /**
+     * Rosters of all given teams in one query (idx_player_team_id), by team and player id.
+     */
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.PlayerRow(p.id, p.firstName, p.lastName, p.team.id)
+        from Player p
+        where p.team.id in :teamIds
+        order by p.team.id, p.id
+    """)
+    List<PlayerRow> findRosters(@Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Empty when the player does not exist; appearances, minutes and goals come from the same snapshot.
+     */
+    @Query(value = """
+        select p.id as playerId,
+               a.matches_played as matchesPlayed,
+               a.minutes_played as minutesPlayed,
+               g.goals as goals
+        from player p
+        cross join lateral (
+            select count(*) as matches_played, coalesce(sum(mp.minutes_played), 0) as minutes_played
+            from match_player mp
+            join match m on m.id = mp.match_id
+            where mp.player_id = p.id and m.match_date >= :from and m.match_date < :to
+        ) a
+        cross join lateral (
+            select count(*) as goals
+            from goals gl
+            join match m on m.id = gl.match_id
+            where gl.player_id = p.id and m.match_date >= :from and m.match_date < :to
+        ) g
+        where p.id = :playerId
+    """, nativeQuery = true)
+    Optional<PlayerStatRow> findPlayerStats(@Param("playerId") Long playerId,
+                                            @Param("from") Instant from,
+                                            @Param("to") Instant to);
+
+    /**
+     * Batch variant of {@link #findPlayerStats}: one row per existing player id, missing ids are absent.
+     */
+    @Query(value = """
+        select p.id as playerId,
+               a.matches_played as matchesPlayed,
+               a.minutes_played as minutesPlayed,
+               g.goals as goals
+        from player p
+        cross join lateral (
+            select count(*) as matches_played, coalesce(sum(mp.minutes_played), 0) as minutes_played
+            from match_player mp
+            join match m on m.id = mp.match_id
+            where mp.player_id = p.id and m.match_date >= :from and m.match_date < :to
+        ) a
+        cross join lateral (
+            select count(*) as goals
+            from goals gl
+            join match m on m.id = gl.match_id
+            where gl.player_id = p.id and m.match_date >= :from and m.match_date < :to
+        ) g
+        where p.id in (:playerIds)
+    """, nativeQuery = true)
+    List<PlayerStatRow> findPlayerStatsByIds(@Param("playerIds") Collection<Long> playerIds,
+                                             @Param("from") Instant from,
+                                             @Param("to") Instant to);
+}
@@ -1,10 +1,15 @@
 package org.otus.finalProject.persistence.repository;
 
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.CoachTeamRow;
+import org.otus.finalProject.persistence.projection.TeamRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
@@ -16,5 +21,49 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
         where t.id = :id
     """)
     Optional<Team> findByIdWithPlayers(@Param("id") Long id);
+
+    /**
+     * Keyset page of teams in id order after {@code afterId}, as rows without rosters;
+     * country = null means all countries. One statement per case rather than an "is null or" predicate.
+     */
+    default List<TeamRow> findPage(long afterId, String country, Pageable rows) {
+        return country == null ? findPageOfAll(afterId, rows) : findPageByCountry(afterId, country, rows);
+    }
+
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.TeamRow(t.id, t.name, t.country, c.id)
+        from Team t
+        left join t.coach c
+        where t.id > :afterId
+        order by t.id
+    """)
+    List<TeamRow> findPageOfAll(@Param("afterId") long afterId, Pageable rows);
+
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.TeamRow(t.id, t.name, t.country, c.id)
+        from Team t
+        left join t.coach c
+        where t.country = :country
+          and t.id > :afterId
+        order by t.id
+    """)
+    List<TeamRow> findPageByCountry(@Param("afterId") long afterId, @Param("country") String country, Pageable rows);
+
+    /**
+     * Teams of all given coaches in one query (idx_team_coach).
+     */
+    @Query("""
+        select new org.otus.finalProject.persistence.projection.CoachTeamRow(t.coach.id, t.id)
+        from Team t
+        where t.coach.id in :coachIds
+        order by t.id
+    """)
+    List<CoachTeamRow> findCoachTeams(@Param("coachIds") Collection<Long> coachIds);
+
+    @Query("select t.id from Team t")
+    List<Long> findAllIds();
+
+    @Query("select t.id from Team t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
 
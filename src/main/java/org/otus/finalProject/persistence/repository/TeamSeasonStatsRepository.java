@@ -0,0 +1,125 @@
+package org.otus.finalProject.persistence.repository;
+
+import org.otus.finalProject.persistence.model.TeamSeasonStats;
+import org.otus.finalProject.persistence.projection.TeamStatRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TeamSeasonStatsRepository extends JpaRepository<TeamSeasonStats, Long> {
+
+    /**
+     * Adds the given (possibly negative) counters to the row of team/season/championship,
+     * creating the row on first use.
+     */
+    @Modifying
+    @Query(value = """
+        insert into team_season_stats (team_id, season_year, championship_id,
+                                       played, wins, draws, losses, goals_for, goals_against)
+        values (:teamId, :seasonYear, cast(:championshipId as bigint),
+                :played, :wins, :draws, :losses, :goalsFor, :goalsAgainst)
+        on conflict on constraint ux_team_season_stats do update set
+            played = team_season_stats.played + excluded.played,
+            wins = team_season_stats.wins + excluded.wins,
+            draws = team_season_stats.draws + excluded.draws,
+            losses = team_season_stats.losses + excluded.losses,
+            goals_for = team_season_stats.goals_for + excluded.goals_for,
+            goals_against = team_season_stats.goals_against + excluded.goals_against,
+            updated_date_time = now()
+    """, nativeQuery = true)
+    void applyDelta(@Param("teamId") Long teamId,
+                    @Param("seasonYear") int seasonYear,
+                    @Param("championshipId") Long championshipId,
+                    @Param("played") int played,
+                    @Param("wins") int wins,
+                    @Param("draws") int draws,
+                    @Param("losses") int losses,
+                    @Param("goalsFor") int goalsFor,
+                    @Param("goalsAgainst") int goalsAgainst);
+
+    @Modifying
+    @Query(value = """
+        delete from team_season_stats
+        where played <= 0 and season_year = :seasonYear and team_id in (:team1Id, :team2Id)
+    """, nativeQuery = true)
+    void deleteEmpty(@Param("team1Id") Long team1Id, @Param("team2Id") Long team2Id, @Param("seasonYear") int seasonYear);
+
+    @Modifying
+    @Query(value = "delete from team_season_stats", nativeQuery = true)
+    void deleteAllRows();
+
+    /**
+     * Recomputes the whole read model from the match table in one statement.
+     */
+    @Modifying
+    @Query(value = """
+        insert into team_season_stats (team_id, season_year, championship_id,
+                                       played, wins, draws, losses, goals_for, goals_against)
+        select s.team_id,
+               cast(extract(year from s.match_date) as int),
+               s.championship_id,
+               count(*),
+               sum(case when s.goals_for > s.goals_against then 1 else 0 end),
+               sum(case when s.goals_for = s.goals_against then 1 else 0 end),
+               sum(case when s.goals_for < s.goals_against then 1 else 0 end),
+               sum(s.goals_for),
+               sum(s.goals_against)
+        from (
+            select m.team1_id as team_id, m.match_date, m.championship_id,
+                   m.team1_score as goals_for, m.team2_score as goals_against
+            from match m
+            union all
+            select m.team2_id as team_id, m.match_date, m.championship_id,
+                   m.team2_score as goals_for, m.team1_score as goals_against
+            from match m
+        ) s
+        group by s.team_id, cast(extract(year from s.match_date) as int), s.championship_id
+    """, nativeQuery = true)
+    int insertFromMatches();
+
+    /**
+     * Totals of one team for a season (all championships); year = null means all seasons.
+     */
+    @Query(value = """
+        select cast(:teamId as bigint) as teamId,
+               coalesce(sum(s.played), 0) as played,
+               coalesce(sum(s.wins), 0) as wins,
+               coalesce(sum(s.draws), 0) as draws,
+               coalesce(sum(s.losses), 0) as losses
+        from team_season_stats s
+        where s.team_id = cast(:teamId as bigint)
+          and (cast(:year as int) is null or s.season_year = cast(:year as int))
+    """, nativeQuery = true)
+    TeamStatRow sumByTeam(@Param("teamId") Long teamId, @Param("year") Integer year);
+
+    @Query(value = """
+        select s.team_id as teamId,
+               sum(s.played) as played,
+               sum(s.wins) as wins,
+               sum(s.draws) as draws,
+               sum(s.losses) as losses
+        from team_season_stats s
+        where s.team_id in (:teamIds)
+          and (cast(:year as int) is null or s.season_year = cast(:year as int))
+        group by s.team_id
+    """, nativeQuery = true)
+    List<TeamStatRow> sumByTeams(@Param("teamIds") Collection<Long> teamIds, @Param("year") Integer year);
+
+    @Query(value = """
+        select s.team_id as teamId,
+               sum(s.played) as played,
+               sum(s.wins) as wins,
+               sum(s.draws) as draws,
+               sum(s.losses) as losses
+        from team_season_stats s
+        where cast(:year as int) is null or s.season_year = cast(:year as int)
+        group by s.team_id
+        order by wins desc, draws desc, losses asc, played desc, s.team_id asc
+        limit :limit
+    """, nativeQuery = true)
+    List<TeamStatRow> findTopTeams(@Param("year") Integer year, @Param("limit") int limit);
+}
@@ -0,0 +1,90 @@
+package org.otus.finalProject.persistence.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Logs statements slower than the threshold ({@code sql.slow}, WARN) and a random sample of the
+ * others ({@code sql.sample}, INFO) with duration, bind parameters and the calling service or
+ * controller method. Everything else costs one comparison, unlike DEBUG on org.hibernate.SQL.
+ */
+public class SlowQueryLogListener implements QueryExecutionListener {
+    private static final Logger SLOW = LoggerFactory.getLogger("sql.slow");
+    private static final Logger SAMPLE = LoggerFactory.getLogger("sql.sample");
+    private static final String APP_PACKAGE = "org.otus.finalProject.";
+    private static final int MAX_VALUE_LENGTH = 100;
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryLogListener(Duration threshold, double sampleRate) {
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long millis = execInfo.getElapsedTime();
+        if (millis >= thresholdMillis) {
+            if (SLOW.isWarnEnabled()) {
+                SLOW.warn(format(execInfo, queryInfoList, millis));
+            }
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && SAMPLE.isInfoEnabled()) {
+            SAMPLE.info(format(execInfo, queryInfoList, millis));
+        }
+    }
+
+    private static String format(ExecutionInfo execInfo, List<QueryInfo> queryInfoList, long millis) {
+        StringBuilder sb = new StringBuilder()
+                .append(millis).append(" ms")
+                .append(execInfo.isSuccess() ? "" : " FAILED")
+                .append(" [").append(caller().orElse("?")).append("]");
+        if (execInfo.isBatch()) {
+            sb.append(" batch of ").append(execInfo.getBatchSize());
+        }
+        for (QueryInfo query : queryInfoList) {
+            String sql = query.getQuery();
+            sb.append(' ').append(sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql);
+            List<List<ParameterSetOperation>> parameters = query.getParametersList();
+            if (!parameters.isEmpty()) {
+                // first parameter set only: a batch would repeat the same shape
+                sb.append(" params=").append(parameters.get(0).stream()
+                        .map(SlowQueryLogListener::parameter)
+                        .collect(Collectors.joining(", ", "[", "]")));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String parameter(ParameterSetOperation operation) {
+        Object[] args = operation.getArgs();
+        if (args.length < 2) return "?";
+        String value = String.valueOf(args[1]);
+        return value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) + "..." : value;
+    }
+
+    // nearest service or controller frame; only walked for statements that get logged
+    private static Optional<String> caller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(APP_PACKAGE + "service.")
+                        || f.getClassName().startsWith(APP_PACKAGE + "controller."))
+                .filter(f -> !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1) + "." + f.getMethodName()));
+    }
+}
@@ -0,0 +1,32 @@
+package org.otus.finalProject.persistence.sql;
+
+/**
+ * Thread-bound {@link SqlStats} of the unit of work running on the current thread; statements
+ * executed while none is started are not accounted.
+ */
+public final class SqlAccounting {
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlAccounting() {
+    }
+
+    /**
+     * Starts accounting on this thread; returns the stats already running if there is one.
+     */
+    public static SqlStats start() {
+        SqlStats stats = CURRENT.get();
+        if (stats == null) {
+            stats = new SqlStats();
+            CURRENT.set(stats);
+        }
+        return stats;
+    }
+
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,120 @@
+package org.otus.finalProject.persistence.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts the SQL of each HTTP request. Optionally reports it in {@code X-Sql-Statements},
+ * {@code X-Sql-Rows} and {@code X-Sql-Time-Ms} (set when the body starts, so SQL run while
+ * serializing is not included), and logs requests over the statement or time threshold with
+ * their most frequent statement shapes.
+ */
+@Slf4j
+public class SqlAccountingFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+    private static final int LOGGED_SHAPES = 5;
+
+    private final boolean headers;
+    private final long maxStatements;
+    private final Duration maxTime;
+
+    public SqlAccountingFilter(boolean headers, long maxStatements, Duration maxTime) {
+        this.headers = headers;
+        this.maxStatements = maxStatements;
+        this.maxTime = maxTime;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (SqlAccounting.current() != null) {
+            // already accounted by an outer unit of work (e.g. a test measuring the call)
+            chain.doFilter(request, response);
+            return;
+        }
+        SqlStats stats = SqlAccounting.start();
+        HeaderWriter writer = headers ? new HeaderWriter(response, stats) : null;
+        try {
+            chain.doFilter(request, writer != null ? writer : response);
+        } finally {
+            SqlAccounting.stop();
+            if (writer != null) writer.writeHeaders();
+            if (stats.statements() > maxStatements || stats.millis() > maxTime.toMillis()) {
+                log.warn("{} {}: {} SQL statements, {} rows, {} ms; top shapes: {}",
+                        request.getMethod(), request.getRequestURI(), stats.statements(), stats.rows(), stats.millis(),
+                        stats.shapes().stream().limit(LOGGED_SHAPES).map(SqlStats.Shape::toString)
+                                .collect(Collectors.joining(" | ")));
+            }
+        }
+    }
+
+    /**
+     * Adds the headers right before the response is committed.
+     */
+    private static final class HeaderWriter extends HttpServletResponseWrapper {
+        private final SqlStats stats;
+        private boolean written;
+
+        HeaderWriter(HttpServletResponse response, SqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) return;
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+            setHeader(ROWS_HEADER, String.valueOf(stats.rows()));
+            setHeader(TIME_HEADER, String.valueOf(stats.millis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.otus.finalProject.persistence.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener feeding the thread's {@link SqlStats}: one statement per JDBC
+ * execution, update counts as rows, and, when result sets are proxied, one row per
+ * successful {@code ResultSet.next()}.
+ */
+public class SqlAccountingListener implements QueryExecutionListener, MethodExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlAccounting.current();
+        if (stats != null) {
+            stats.queryStarted = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        SqlStats stats = SqlAccounting.current();
+        if (stats == null) return;
+
+        long elapsed = stats.queryStarted == 0 ? 0 : System.nanoTime() - stats.queryStarted;
+        stats.queryStarted = 0;
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        stats.statement(sql, elapsed);
+
+        Object result = execInfo.getResult();
+        if (result instanceof Integer updated && updated > 0) {
+            stats.rows(updated);
+        } else if (result instanceof Long updated && updated > 0) {
+            stats.rows(updated);
+        } else if (result instanceof int[] batch) {
+            for (int updated : batch) {
+                if (updated > 0) stats.rows(updated);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            SqlStats stats = SqlAccounting.current();
+            if (stats != null) {
+                stats.rows(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.otus.finalProject.persistence.sql;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL cost of one unit of work (an HTTP request, a test block): statements sent to the database
+ * (a JDBC batch counts once), rows fetched or updated, time spent in JDBC, and the distinct
+ * statement shapes with their counts. Owned by one thread.
+ * <p>
+ * Statements are tallied by their raw text; literals are stripped into shapes only when
+ * {@link #shapes()} is read, so the hot path is one map lookup per statement.
+ */
+public final class SqlStats {
+    static final int MAX_DISTINCT_SQL = 1000;
+
+    private long statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Shape> bySql = new HashMap<>();
+    long queryStarted;
+
+    void statement(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        Shape s = bySql.get(sql);
+        if (s == null) {
+            if (bySql.size() >= MAX_DISTINCT_SQL) return;
+            s = new Shape(sql);
+            bySql.put(sql, s);
+        }
+        s.count++;
+        s.nanos += elapsedNanos;
+    }
+
+    void rows(long count) {
+        rows += count;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public long millis() {
+        return nanos / 1_000_000;
+    }
+
+    /**
+     * Shapes ordered by how often they ran, most frequent first: an N+1 shows up on top.
+     */
+    public List<Shape> shapes() {
+        Map<String, Shape> shapes = new HashMap<>();
+        for (Shape raw : bySql.values()) {
+            Shape s = shapes.computeIfAbsent(SqlShapes.of(raw.sql), Shape::new);
+            s.count += raw.count;
+            s.nanos += raw.nanos;
+        }
+        List<Shape> sorted = new ArrayList<>(shapes.values());
+        sorted.sort(Comparator.comparingLong(Shape::count).reversed().thenComparing(Shape::sql));
+        return sorted;
+    }
+
+    public static final class Shape {
+        private final String sql;
+        private long count;
+        private long nanos;
+
+        Shape(String sql) {
+            this.sql = sql;
+        }
+
+        public String sql() {
+            return sql;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long millis() {
+            return nanos / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            return count + "x " + millis() + "ms " + sql;
+        }
+    }
+}
@@ -4,11 +4,15 @@ import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.championship.ChampionshipCreateRequest;
 import org.otus.finalProject.dto.championship.ChampionshipPatchRequest;
 import org.otus.finalProject.dto.championship.ChampionshipResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.ChampionshipMapper;
 import org.otus.finalProject.persistence.model.Championship;
+import org.otus.finalProject.persistence.projection.ChampionshipRow;
 import org.otus.finalProject.persistence.repository.ChampionshipRepository;
 import org.otus.finalProject.service.base.ChampionshipService;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,8 +36,11 @@ public class ChampionshipServiceImpl implements ChampionshipService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ChampionshipResponse> findAll() {
-        return repository.findAll().stream().map(mapper::toResponse).toList();
+    public PageResponse<ChampionshipResponse> findAll(String cursor, Integer limit) {
+        int size = Pages.limit(limit);
+        List<ChampionshipRow> rows = repository.findByIdGreaterThanOrderByIdAsc(PageCursor.afterId(cursor), Pages.rows(size));
+        return Pages.of(rows, size, page -> page.stream().map(mapper::toResponse).toList(),
+                championship -> PageCursor.after(championship.id()));
     }
 
     @Override
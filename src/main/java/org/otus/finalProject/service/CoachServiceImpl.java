@@ -4,20 +4,31 @@ import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.coach.CoachCreateRequest;
 import org.otus.finalProject.dto.coach.CoachPatchRequest;
 import org.otus.finalProject.dto.coach.CoachResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.CoachMapper;
 import org.otus.finalProject.persistence.model.Coach;
+import org.otus.finalProject.persistence.projection.CoachRow;
+import org.otus.finalProject.persistence.projection.CoachTeamRow;
 import org.otus.finalProject.persistence.repository.CoachRepository;
+import org.otus.finalProject.persistence.repository.TeamRepository;
 import org.otus.finalProject.service.base.CoachService;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class CoachServiceImpl implements CoachService {
     private final CoachRepository repository;
+    private final TeamRepository teamRepository;
     private final CoachMapper mapper;
 
     @Override
@@ -29,8 +40,22 @@ public class CoachServiceImpl implements CoachService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CoachResponse> findAll() {
-        return repository.findAll().stream().map(mapper::toResponse).toList();
+    public PageResponse<CoachResponse> findAll(String cursor, Integer limit) {
+        int size = Pages.limit(limit);
+        List<CoachRow> rows = repository.findByIdGreaterThanOrderByIdAsc(PageCursor.afterId(cursor), Pages.rows(size));
+        return Pages.of(rows, size, this::withTeams, coach -> PageCursor.after(coach.id()));
+    }
+
+    // one query for the teams of the whole page instead of initializing Coach.teams per coach
+    private List<CoachResponse> withTeams(List<CoachRow> coaches) {
+        if (coaches.isEmpty()) return List.of();
+        Map<Long, Set<Long>> teams = new HashMap<>();
+        for (CoachTeamRow row : teamRepository.findCoachTeams(coaches.stream().map(CoachRow::id).toList())) {
+            teams.computeIfAbsent(row.coachId(), id -> new HashSet<>()).add(row.teamId());
+        }
+        return coaches.stream()
+                .map(coach -> mapper.toResponse(coach, teams.getOrDefault(coach.id(), new HashSet<>())))
+                .toList();
     }
 
     @Override
@@ -1,9 +1,13 @@
 package org.otus.finalProject.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.goal.GoalBatchItem;
+import org.otus.finalProject.dto.goal.GoalBatchItemResult;
 import org.otus.finalProject.dto.goal.GoalCreateRequest;
 import org.otus.finalProject.dto.goal.GoalPatchRequest;
 import org.otus.finalProject.dto.goal.GoalResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.GoalMapper;
 import org.otus.finalProject.persistence.model.*;
@@ -12,19 +16,26 @@ import org.otus.finalProject.persistence.repository.MatchPlayerRepository;
 import org.otus.finalProject.persistence.repository.MatchRepository;
 import org.otus.finalProject.persistence.repository.PlayerRepository;
 import org.otus.finalProject.service.base.GoalService;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class GoalServiceImpl implements GoalService {
     private final GoalRepository goalRepository;
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
     private final MatchPlayerRepository matchPlayerRepository;
+    private final StatsCache statsCache;
+    private final SeasonColumnStore seasonColumnStore;
     private final GoalMapper mapper;
 
     @Override
@@ -43,15 +54,75 @@ public class GoalServiceImpl implements GoalService {
         goal.setPlayer(player);
         goal.setGoalTime(request.goalTime());
 
+        evictStats(match, player);
         return mapper.toResponse(goalRepository.save(goal));
     }
 
+    /**
+     * Records the goals of one match in one transaction: players and the existing lineup are
+     * loaded with one query each, missing appearances and the goals are inserted as JDBC batches.
+     * Invalid items are reported in their result and skipped; the others are still created.
+     */
+    @Override
+    @Transactional
+    public List<GoalBatchItemResult> createBatch(Long matchId, List<GoalBatchItem> items) {
+        Match match = matchRepository.findById(matchId)
+                .orElseThrow(() -> new NotFoundException("Match not found: " + matchId));
+
+        Set<Long> playerIds = new HashSet<>();
+        for (GoalBatchItem item : items) {
+            if (item.playerId() != null) playerIds.add(item.playerId());
+        }
+        Map<Long, Player> players = new HashMap<>(playerIds.size());
+        for (Player p : playerRepository.findAllByIdIn(playerIds)) {
+            players.put(p.getId(), p);
+        }
+        Set<Long> participants = new HashSet<>(matchPlayerRepository.findPlayerIdsByMatchId(matchId));
+
+        Goal[] goals = new Goal[items.size()];
+        String[] errors = new String[items.size()];
+        List<MatchPlayer> appearances = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            GoalBatchItem item = items.get(i);
+            Player player = item.playerId() == null ? null : players.get(item.playerId());
+            errors[i] = itemError(match, item, player);
+            if (errors[i] != null) continue;
+
+            if (participants.add(player.getId())) {
+                appearances.add(newAppearance(match, player));
+            }
+            Goal goal = new Goal();
+            goal.setMatch(match);
+            goal.setPlayer(player);
+            goal.setGoalTime(item.goalTime());
+            goals[i] = goal;
+        }
+
+        matchPlayerRepository.saveAll(appearances);
+        // ids come from the pooled sequence on persist, before the batch is flushed
+        goalRepository.saveAll(Arrays.stream(goals).filter(Objects::nonNull).toList());
+
+        List<GoalBatchItemResult> results = new ArrayList<>(items.size());
+        Set<Long> scorers = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            GoalBatchItem item = items.get(i);
+            Long goalId = goals[i] == null ? null : goals[i].getId();
+            if (goals[i] != null) scorers.add(item.playerId());
+            results.add(new GoalBatchItemResult(i, item.playerId(), item.goalTime(), goalId, errors[i]));
+        }
+        if (!scorers.isEmpty()) {
+            evictStats(match, scorers);
+        }
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<GoalResponse> findAll() {
-        return goalRepository.findAllByOrderByIdAsc().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public PageResponse<GoalResponse> findAll(Long matchId, Long playerId, String cursor, Integer limit) {
+        int size = Pages.limit(limit);
+        List<Goal> rows = goalRepository.findPage(PageCursor.afterId(cursor), matchId, playerId, Pages.rows(size));
+        return Pages.of(rows, size, page -> page.stream().map(mapper::toResponse).toList(),
+                goal -> PageCursor.after(goal.getId()));
     }
 
     @Override
@@ -83,6 +154,7 @@ public class GoalServiceImpl implements GoalService {
 
         Match newMatch = goal.getMatch();
         Player newPlayer = goal.getPlayer();
+        evictStats(newMatch, newPlayer);
 
         if (patch.matchId() != null) {
             newMatch = matchRepository.findById(patch.matchId())
@@ -96,16 +168,32 @@ public class GoalServiceImpl implements GoalService {
         }
 
         ensureParticipation(newMatch, newPlayer);
+        evictStats(newMatch, newPlayer);
         return mapper.toResponse(goal);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!goalRepository.existsById(id)) {
-            throw new NotFoundException("Goal not found: " + id);
-        }
-        goalRepository.deleteById(id);
+        Goal goal = goalRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Goal not found: " + id));
+        evictStats(goal.getMatch(), goal.getPlayer());
+        goalRepository.delete(goal);
+    }
+
+    /**
+     * A goal changes the scorer's stats and the top-scorers lists of the match season.
+     */
+    private void evictStats(Match match, Player player) {
+        evictStats(match, List.of(player.getId()));
+    }
+
+    private void evictStats(Match match, Collection<Long> playerIds) {
+        seasonColumnStore.refreshMatch(match.getId());
+        statsCache.evictPlayers(
+                playerIds,
+                List.of(match.getTeam1().getId(), match.getTeam2().getId()),
+                List.of(MatchOutcome.seasonYear(match.getMatchDate())));
     }
 
     private void validateGoalTime(Integer goalTime) {
@@ -120,31 +208,53 @@ public class GoalServiceImpl implements GoalService {
      * Also, check player is in the team.
      */
     private void ensureParticipation(Match match, Player player) {
-        if (player.getTeam() == null) {
-            throw new IllegalArgumentException("Player has no team: " + player.getId());
-        }
-        Long playerTeamId = player.getTeam().getId();
-        Long team1Id = match.getTeam1().getId();
-        Long team2Id = match.getTeam2().getId();
-
-        if (!Objects.equals(playerTeamId, team1Id) && !Objects.equals(playerTeamId, team2Id)) {
-            throw new IllegalArgumentException(
-                    "Player " + player.getId() + " does not belong to either team in this match");
+        String error = participationError(match, player);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
         }
 
         MatchPlayerId id = new MatchPlayerId(match.getId(), player.getId());
         if (matchPlayerRepository.existsById(id)) {
             return;
         }
+        matchPlayerRepository.save(newAppearance(match, player));
+    }
+
+    /**
+     * Why a batch item is rejected, or null; {@code player} is null when it was not found.
+     */
+    private static String itemError(Match match, GoalBatchItem item, Player player) {
+        if (item.playerId() == null) return "playerId is required";
+        if (player == null) return "Player not found: " + item.playerId();
+        if (item.goalTime() == null || item.goalTime() < 0 || item.goalTime() > 120) return "goalTime must be in [0..120]";
+        return participationError(match, player);
+    }
 
+    /**
+     * Why the player cannot score in the match, or null: the player must be in one of its teams.
+     */
+    private static String participationError(Match match, Player player) {
+        if (player.getTeam() == null) {
+            return "Player has no team: " + player.getId();
+        }
+        Long playerTeamId = player.getTeam().getId();
+        if (!Objects.equals(playerTeamId, match.getTeam1().getId()) && !Objects.equals(playerTeamId, match.getTeam2().getId())) {
+            return "Player " + player.getId() + " does not belong to either team in this match";
+        }
+        return null;
+    }
+
+    /**
+     * Appearance of a player who was not in the lineup: isStarting=false, minutesPlayed=null.
+     */
+    private static MatchPlayer newAppearance(Match match, Player player) {
         MatchPlayer mp = new MatchPlayer();
-        mp.setId(id);
+        mp.setId(new MatchPlayerId(match.getId(), player.getId()));
         mp.setMatch(match);
         mp.setPlayer(player);
-        mp.setTeam(Objects.equals(playerTeamId, team1Id) ? match.getTeam1() : match.getTeam2());
+        mp.setTeam(Objects.equals(player.getTeam().getId(), match.getTeam1().getId()) ? match.getTeam1() : match.getTeam2());
         mp.setStarting(false);
         mp.setMinutesPlayed(null);
-
-        matchPlayerRepository.save(mp);
+        return mp;
     }
 }
@@ -1,29 +1,54 @@
 package org.otus.finalProject.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
 import org.otus.finalProject.dto.match.*;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.MatchMapper;
 import org.otus.finalProject.persistence.model.*;
 import org.otus.finalProject.persistence.repository.*;
 import org.otus.finalProject.service.base.MatchService;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.jfr.LineupSaveEvent;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class MatchServiceImpl implements MatchService {
+    // first page of the newest-first listing: starts before any real match date
+    private static final Instant LATEST = Instant.parse("3000-01-01T00:00:00Z");
+
     private final MatchRepository matchRepository;
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
     private final ChampionshipRepository championshipRepository;
     private final MatchPlayerRepository matchPlayerRepository;
     private final GoalRepository goalRepository;
+    private final TeamSeasonStatsService teamSeasonStatsService;
+    private final StatsCache statsCache;
+    private final SeasonColumnStore seasonColumnStore;
     private final MatchMapper mapper;
 
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
     @Override
     @Transactional
     public MatchResponse create(MatchCreateRequest request) throws BadRequestException {
@@ -42,31 +67,112 @@ public class MatchServiceImpl implements MatchService {
                     .orElseThrow(() -> new NotFoundException("Championship not found: " + request.championshipId()));
         }
 
-        if (matchRepository.existsByTeam1AndTeam2AndMatchDate(team1, team2, request.matchDate())) {
-            throw new IllegalArgumentException("Match with the same teams and date already exists");
-        }
+        Fixture fixture = new Fixture(team1.getId(), team2.getId(), request.matchDate());
+        schedule(List.of(fixture), null).book(fixture, "new match");
 
-        Match match = new Match();
-        match.setTeam1(team1);
-        match.setTeam2(team2);
-        match.setTeam1Score(0);
-        match.setTeam2Score(0);
-        match.setMatchDate(request.matchDate());
-        match.setChampionship(championship);
-        match = matchRepository.save(match);
+        Match match = matchRepository.save(newMatch(team1, team2, request.matchDate(), championship));
+        MatchOutcome outcome = MatchOutcome.of(match);
+        teamSeasonStatsService.add(outcome);
+        seasonColumnStore.refreshMatch(match.getId());
+        evictStats(outcome, outcome, lineupPlayerIds(request.lineupTeam1(), request.lineupTeam2()));
 
-        saveLineup(match, team1, request.lineupTeam1());
-        saveLineup(match, team2, request.lineupTeam2());
+        saveLineup(match, team1, request.lineupTeam1(), true);
+        saveLineup(match, team2, request.lineupTeam2(), true);
 
         return mapper.toResponse(match);
     }
 
+    /**
+     * Creates a whole matchday in one transaction. Teams, championships, players and the stored
+     * matches of the teams on the batch days are read with one query each; duplicates and teams
+     * playing twice on a day (UTC) are found in memory by the same {@link Schedule} as a single create; matches and lineups are inserted as JDBC
+     * batches. Any invalid match rejects the batch, its index is in the message.
+     */
+    @Override
+    @Transactional
+    public List<MatchResponse> createBatch(List<MatchCreateRequest> requests) {
+        if (requests.isEmpty()) return List.of();
+
+        Set<Long> teamIds = new HashSet<>();
+        Set<Long> championshipIds = new HashSet<>();
+        Set<Long> playerIds = new HashSet<>();
+        List<Map<Long, LineupItem>> lineups = new ArrayList<>(requests.size() * 2); // team1, team2 of each match
+        for (int i = 0; i < requests.size(); i++) {
+            MatchCreateRequest r = requests.get(i);
+            if (r.team1Id().equals(r.team2Id())) {
+                throw new IllegalArgumentException(at(i, "team1Id and team2Id must be different"));
+            }
+            teamIds.add(r.team1Id());
+            teamIds.add(r.team2Id());
+            if (r.championshipId() != null) championshipIds.add(r.championshipId());
+            for (List<LineupItem> lineup : Arrays.asList(r.lineupTeam1(), r.lineupTeam2())) {
+                Map<Long, LineupItem> items = lineup == null ? Map.of() : checkLineup(i, lineup);
+                playerIds.addAll(items.keySet());
+                lineups.add(items);
+            }
+        }
+
+        Map<Long, Team> teams = byId(teamRepository.findAllById(teamIds), Team::getId, teamIds, "Teams not found: ");
+        Map<Long, Championship> championships = byId(championshipRepository.findAllById(championshipIds),
+                Championship::getId, championshipIds, "Championships not found: ");
+        List<Player> lineupPlayers = playerIds.isEmpty() ? List.of() : playerRepository.findAllByIdIn(playerIds);
+        Map<Long, Player> players = byId(lineupPlayers, Player::getId, playerIds, "Players not found: ");
+
+        // fixtures and team days already taken, by stored matches or earlier ones of the batch
+        List<Fixture> requested = requests.stream().map(r -> new Fixture(r.team1Id(), r.team2Id(), r.matchDate())).toList();
+        Schedule schedule = schedule(requested, null);
+        for (int i = 0; i < requests.size(); i++) {
+            MatchCreateRequest r = requests.get(i);
+            try {
+                schedule.book(requested.get(i), "matches[" + i + "]");
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(at(i, e.getMessage()));
+            }
+            checkPlayers(i, teams.get(r.team1Id()), lineups.get(2 * i).keySet(), players);
+            checkPlayers(i, teams.get(r.team2Id()), lineups.get(2 * i + 1).keySet(), players);
+        }
+
+        List<Match> matches = new ArrayList<>(requests.size());
+        for (MatchCreateRequest r : requests) {
+            matches.add(newMatch(teams.get(r.team1Id()), teams.get(r.team2Id()), r.matchDate(),
+                    r.championshipId() == null ? null : championships.get(r.championshipId())));
+        }
+        // ids come from the pooled sequence on persist, so the lineups can reference them before the flush
+        matchRepository.saveAll(matches);
+
+        List<MatchPlayer> appearances = new ArrayList<>();
+        Set<Integer> years = new HashSet<>();
+        for (int i = 0; i < matches.size(); i++) {
+            Match match = matches.get(i);
+            for (LineupItem item : lineups.get(2 * i).values()) {
+                appearances.add(newAppearance(match, match.getTeam1(), players.get(item.playerId()), item));
+            }
+            for (LineupItem item : lineups.get(2 * i + 1).values()) {
+                appearances.add(newAppearance(match, match.getTeam2(), players.get(item.playerId()), item));
+            }
+            MatchOutcome outcome = MatchOutcome.of(match);
+            teamSeasonStatsService.add(outcome);
+            years.add(outcome.seasonYear());
+        }
+        matchPlayerRepository.saveAll(appearances);
+
+        seasonColumnStore.refreshMatches(matches.stream().map(Match::getId).toList());
+        statsCache.evictTeams(teamIds, years);
+        statsCache.evictPlayers(playerIds, teamIds, years);
+        return mapper.toResponses(matches);
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<MatchResponse> findAll() {
-        return matchRepository.findAllByOrderByMatchDateDesc().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public PageResponse<MatchResponse> findAll(MatchFilter filter, String cursor, Integer limit) {
+        if (filter.from() != null && filter.to() != null && !filter.from().isBefore(filter.to())) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        int size = Pages.limit(limit);
+        PageCursor before = cursor == null ? PageCursor.after(LATEST, Long.MAX_VALUE) : PageCursor.decode(cursor, true);
+        List<Match> rows = matchRepository.findPage(before.at(), before.id(),
+                filter.from(), filter.to(), filter.championshipId(), filter.teamId(), Pages.rows(size));
+        return Pages.of(rows, size, mapper::toResponses, match -> PageCursor.after(match.getMatchDate(), match.getId()));
     }
 
     @Override
@@ -82,6 +188,16 @@ public class MatchServiceImpl implements MatchService {
     public MatchResponse patch(Long id, MatchPatchRequest patch) throws BadRequestException {
         Match match = matchRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Match not found: " + id));
+        MatchOutcome before = MatchOutcome.of(match);
+        if (patch.team1Id() != null || patch.team2Id() != null || patch.matchDate() != null) {
+            // checked before anything changes, so no flush can hit the unique fixture index first
+            Fixture fixture = new Fixture(
+                    patch.team1Id() != null ? patch.team1Id() : match.getTeam1().getId(),
+                    patch.team2Id() != null ? patch.team2Id() : match.getTeam2().getId(),
+                    patch.matchDate() != null ? patch.matchDate() : match.getMatchDate());
+            schedule(List.of(fixture), id).book(fixture, "match " + id);
+        }
+        Set<Long> playersBefore = new HashSet<>(matchPlayerRepository.findPlayerIdsByMatchId(id));
 
         if (patch.team1Id() != null) {
             Team t1 = teamRepository.findById(patch.team1Id())
@@ -110,73 +226,290 @@ public class MatchServiceImpl implements MatchService {
                     .orElseThrow(() -> new NotFoundException("Championship not found: " + patch.championshipId()));
             match.setChampionship(championship);
         }
+        MatchOutcome after = MatchOutcome.of(match);
+        teamSeasonStatsService.replace(before, after);
+        seasonColumnStore.refreshMatch(id);
+        playersBefore.addAll(lineupPlayerIds(patch.lineupTeam1(), patch.lineupTeam2()));
+        evictStats(before, after, playersBefore);
 
         if (patch.lineupTeam1() != null)
-            saveLineup(match, match.getTeam1(), patch.lineupTeam1());
+            saveLineup(match, match.getTeam1(), patch.lineupTeam1(), false);
 
         if (patch.lineupTeam2() != null)
-            saveLineup(match, match.getTeam2(), patch.lineupTeam2());
+            saveLineup(match, match.getTeam2(), patch.lineupTeam2(), false);
 
         return mapper.toResponse(match);
     }
 
+    @Override
+    @Transactional
     public MatchResponse setResult(Long id, MatchResultRequest request) {
         Match m = matchRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Match not found: " + id));
+        MatchOutcome before = MatchOutcome.of(m);
         m.setTeam1Score(request.team1Score());
         m.setTeam2Score(request.team2Score());
+        MatchOutcome after = MatchOutcome.of(m);
+        teamSeasonStatsService.replace(before, after);
+        seasonColumnStore.refreshMatch(id);
+        statsCache.evictTeams(List.of(after.team1Id(), after.team2Id()), List.of(after.seasonYear()));
         return mapper.toResponse(m);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!matchRepository.existsById(id)) {
-            throw new NotFoundException("Match not found: " + id);
-        }
+        Match match = matchRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Match not found: " + id));
+        MatchOutcome outcome = MatchOutcome.of(match);
+        List<Long> players = matchPlayerRepository.findPlayerIdsByMatchId(id);
         matchPlayerRepository.deleteByMatchId(id);
         goalRepository.deleteByMatchId(id);
         matchRepository.deleteById(id);
+        teamSeasonStatsService.remove(outcome);
+        seasonColumnStore.refreshMatch(id);
+        evictStats(outcome, outcome, players);
+    }
+
+    /**
+     * Drops cached stats of both teams and all lineup players, for the season before and after the change.
+     */
+    private void evictStats(MatchOutcome before, MatchOutcome after, Collection<Long> playerIds) {
+        Set<Long> teams = new HashSet<>(List.of(before.team1Id(), before.team2Id(), after.team1Id(), after.team2Id()));
+        Set<Integer> years = new HashSet<>(List.of(before.seasonYear(), after.seasonYear()));
+        statsCache.evictTeams(teams, years);
+        statsCache.evictPlayers(playerIds, teams, years);
+    }
+
+    private static Set<Long> lineupPlayerIds(List<LineupItem> lineupTeam1, List<LineupItem> lineupTeam2) {
+        Set<Long> ids = new HashSet<>();
+        for (List<LineupItem> lineup : Arrays.asList(lineupTeam1, lineupTeam2)) {
+            if (lineup == null) continue;
+            for (LineupItem item : lineup) {
+                if (item.playerId() != null) ids.add(item.playerId());
+            }
+        }
+        return ids;
     }
 
-    private void saveLineup(Match match, Team team, List<LineupItem> lineup) throws BadRequestException {
+    private static String at(int index, String message) {
+        return "matches[" + index + "]: " + message;
+    }
+
+    private static Map<Long, LineupItem> checkLineup(int index, List<LineupItem> lineup) {
+        try {
+            return checkLineup(lineup);
+        } catch (BadRequestException e) {
+            throw new IllegalArgumentException(at(index, e.getMessage()));
+        }
+    }
+
+    private static void checkPlayers(int index, Team team, Collection<Long> playerIds, Map<Long, Player> players) {
+        try {
+            checkPlayers(team, playerIds, players);
+        } catch (BadRequestException e) {
+            throw new IllegalArgumentException(at(index, e.getMessage()));
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> found, Function<T, Long> id, Set<Long> requested, String missingMessage) {
+        Map<Long, T> byId = new HashMap<>(found.size());
+        for (T entity : found) {
+            byId.put(id.apply(entity), entity);
+        }
+        if (byId.size() != requested.size()) {
+            Set<Long> missing = new TreeSet<>(requested);
+            missing.removeAll(byId.keySet());
+            throw new NotFoundException(missingMessage + missing);
+        }
+        return byId;
+    }
+
+    private static Instant startOfDay(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.DAYS);
+    }
+
+    /**
+     * The stored matches of the fixtures' teams on the fixtures' days (UTC), one query; the match
+     * being changed, if any, is left out.
+     */
+    private Schedule schedule(List<Fixture> fixtures, Long changedMatchId) {
+        Set<Long> teamIds = new HashSet<>();
+        Instant first = null;
+        Instant last = null;
+        for (Fixture f : fixtures) {
+            teamIds.add(f.team1Id());
+            teamIds.add(f.team2Id());
+            if (first == null || f.matchDate().isBefore(first)) first = f.matchDate();
+            if (last == null || f.matchDate().isAfter(last)) last = f.matchDate();
+        }
+        Schedule schedule = new Schedule();
+        for (Match m : matchRepository.findByTeamsBetween(teamIds, startOfDay(first), startOfDay(last).plus(1, ChronoUnit.DAYS))) {
+            if (!m.getId().equals(changedMatchId)) schedule.add(m);
+        }
+        return schedule;
+    }
+
+    private record Fixture(Long team1Id, Long team2Id, Instant matchDate) {
+    }
+
+    private record Booking(Long teamId, LocalDate day) {
+        static Booking of(Long teamId, Instant matchDate) {
+            return new Booking(teamId, LocalDate.ofInstant(matchDate, ZoneOffset.UTC));
+        }
+    }
+
+    /**
+     * Fixtures and team days (UTC) already taken. The same rules for create, batch and patch:
+     * no duplicate fixture and no team playing twice on a day.
+     */
+    private static final class Schedule {
+        private final Set<Fixture> fixtures = new HashSet<>();
+        private final Map<Booking, String> bookings = new HashMap<>();
+
+        void add(Match stored) {
+            String name = "match " + stored.getId();
+            fixtures.add(new Fixture(stored.getTeam1().getId(), stored.getTeam2().getId(), stored.getMatchDate()));
+            bookings.put(Booking.of(stored.getTeam1().getId(), stored.getMatchDate()), name);
+            bookings.put(Booking.of(stored.getTeam2().getId(), stored.getMatchDate()), name);
+        }
+
+        void book(Fixture fixture, String name) {
+            if (!fixtures.add(fixture)) {
+                throw new IllegalArgumentException("Match with the same teams and date already exists");
+            }
+            for (Long teamId : List.of(fixture.team1Id(), fixture.team2Id())) {
+                Booking booking = Booking.of(teamId, fixture.matchDate());
+                String other = bookings.putIfAbsent(booking, name);
+                if (other != null) {
+                    throw new IllegalArgumentException("team %d already plays on %s (%s)".formatted(teamId, booking.day(), other));
+                }
+            }
+        }
+    }
+
+    private void saveLineup(Match match, Team team, List<LineupItem> lineup, boolean newMatch) throws BadRequestException {
         if (lineup == null) return;
 
-        // validate data
-        Set<Long> validated = new HashSet<>();
-        Map<Long, Player> players = new HashMap<>(lineup.size());
+        LineupSaveEvent event = new LineupSaveEvent();
+        event.begin();
+
+        LineupChanges changes = replaceLineup(match, team, lineup, newMatch);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.matchId = match.getId();
+            event.teamId = team.getId();
+            event.lineupSize = lineup.size();
+            event.inserted = changes.inserted();
+            event.updated = changes.updated();
+            event.deleted = changes.deleted();
+            // the writes are only queued here and flushed at commit, so they are derived, not measured
+            event.statements = changes.reads() + batches(changes.inserted()) + batches(changes.updated())
+                    + batches(changes.deleted());
+            event.commit();
+        }
+    }
+
+    private int batches(int rows) {
+        return jdbcBatchSize <= 1 ? rows : (rows + jdbcBatchSize - 1) / jdbcBatchSize;
+    }
+
+    /**
+     * What a lineup save read and queued: {@code reads} statements ran, the row counts wait for the flush.
+     */
+    private record LineupChanges(int reads, int inserted, int updated, int deleted) {
+    }
+
+    /**
+     * Validates the lineup with one player query and applies it as a diff against the stored one:
+     * changed rows are updated through dirty checking, new rows inserted and dropped rows deleted,
+     * all flushed as JDBC batches. A new match has no stored lineup, so it is not queried.
+     */
+    private LineupChanges replaceLineup(Match match, Team team, List<LineupItem> lineup, boolean newMatch) throws BadRequestException {
+        Map<Long, LineupItem> items = checkLineup(lineup);
 
+        Map<Long, Player> players = new HashMap<>(items.size());
+        for (Player p : playerRepository.findAllByIdIn(items.keySet())) {
+            players.put(p.getId(), p);
+        }
+        checkPlayers(team, items.keySet(), players);
+
+        // previous lineup by player
+        Map<Long, MatchPlayer> current = new HashMap<>();
+        if (!newMatch) {
+            for (MatchPlayer mp : matchPlayerRepository.findByMatch_IdAndTeam_Id(match.getId(), team.getId())) {
+                current.put(mp.getId().getPlayerId(), mp);
+            }
+        }
+
+        List<MatchPlayer> added = new ArrayList<>();
+        int updated = 0;
+        for (LineupItem item : items.values()) {
+            MatchPlayer matchPlayer = current.remove(item.playerId());
+            if (matchPlayer == null) {
+                added.add(newAppearance(match, team, players.get(item.playerId()), item));
+                continue;
+            }
+            // unchanged values leave the row clean, so it is not updated
+            boolean starting = item.isStarting() == null ? true : item.isStarting();
+            if (matchPlayer.isStarting() != starting || !Objects.equals(matchPlayer.getMinutesPlayed(), item.minutesPlayed())) {
+                updated++;
+            }
+            matchPlayer.setStarting(starting);
+            matchPlayer.setMinutesPlayed(item.minutesPlayed());
+        }
+
+        // players left out of the new lineup
+        matchPlayerRepository.deleteAll(current.values());
+        matchPlayerRepository.saveAll(added);
+        return new LineupChanges(newMatch ? 1 : 2, added.size(), updated, current.size());
+    }
+
+    /**
+     * Checks the items that need no database: player ids present and unique, minutes in range.
+     */
+    private static Map<Long, LineupItem> checkLineup(List<LineupItem> lineup) throws BadRequestException {
+        Map<Long, LineupItem> items = new LinkedHashMap<>(lineup.size());
         for (LineupItem item : lineup) {
             Long playerId = item.playerId();
             if (playerId == null) throw new BadRequestException("playerId is required in lineup");
-            if (!validated.add(playerId)) throw new BadRequestException("duplicate playerId: " + playerId);
+            if (items.put(playerId, item) != null) throw new BadRequestException("duplicate playerId: " + playerId);
             if (item.minutesPlayed() != null && (item.minutesPlayed() < 0 || item.minutesPlayed() > 120))
                 throw new BadRequestException("minutesPlayed must be in [0..120]");
+        }
+        return items;
+    }
 
-            Player p = playerRepository.findById(playerId)
-                    .orElseThrow(() -> new NotFoundException("player not found: " + playerId));
+    private static void checkPlayers(Team team, Collection<Long> playerIds, Map<Long, Player> players) throws BadRequestException {
+        for (Long playerId : playerIds) {
+            Player p = players.get(playerId);
+            if (p == null) throw new NotFoundException("player not found: " + playerId);
 
             if (p.getTeam() == null || !Objects.equals(p.getTeam().getId(), team.getId()))
                 throw new BadRequestException("player %d does not belong to team %d".formatted(p.getId(), team.getId()));
-
-            players.put(playerId, p);
         }
+    }
 
-        // clean previous lineup
-        matchPlayerRepository.deleteByMatchIdAndTeamId(match.getId(), team.getId());
+    private static MatchPlayer newAppearance(Match match, Team team, Player player, LineupItem item) {
+        MatchPlayer matchPlayer = new MatchPlayer();
+        matchPlayer.setId(new MatchPlayerId(match.getId(), player.getId()));
+        matchPlayer.setMatch(match);
+        matchPlayer.setPlayer(player);
+        matchPlayer.setTeam(team);
+        matchPlayer.setStarting(item.isStarting() == null ? true : item.isStarting());
+        matchPlayer.setMinutesPlayed(item.minutesPlayed());
+        return matchPlayer;
+    }
 
-        // add new lineup
-        for (LineupItem item : lineup) {
-            Player p = players.get(item.playerId());
-
-            MatchPlayer matchPlayer = new MatchPlayer();
-            matchPlayer.setId(new MatchPlayerId(match.getId(), p.getId()));
-            matchPlayer.setMatch(match);
-            matchPlayer.setPlayer(p);
-            matchPlayer.setTeam(team);
-            matchPlayer.setStarting(item.isStarting() == null ? true : item.isStarting());
-            matchPlayer.setMinutesPlayed(item.minutesPlayed());
-            matchPlayerRepository.save(matchPlayer);
-        }
+    private static Match newMatch(Team team1, Team team2, Instant matchDate, Championship championship) {
+        Match match = new Match();
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setTeam1Score(0);
+        match.setTeam2Score(0);
+        match.setMatchDate(matchDate);
+        match.setChampionship(championship);
+        return match;
     }
 }
@@ -1,6 +1,7 @@
 package org.otus.finalProject.service;
 
 import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.player.PlayerCreateRequest;
 import org.otus.finalProject.dto.player.PlayerPatchRequest;
 import org.otus.finalProject.dto.player.PlayerResponse;
@@ -8,9 +9,14 @@ import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.PlayerMapper;
 import org.otus.finalProject.persistence.model.Player;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.PlayerRow;
 import org.otus.finalProject.persistence.repository.PlayerRepository;
 import org.otus.finalProject.persistence.repository.TeamRepository;
 import org.otus.finalProject.service.base.PlayerService;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +27,8 @@ import java.util.List;
 public class PlayerServiceImpl implements PlayerService {
     private final PlayerRepository playerRepository;
     private final TeamRepository teamRepository;
+    private final StatsCache statsCache;
+    private final SeasonColumnStore seasonColumnStore;
     private final PlayerMapper mapper;
 
     @Override
@@ -32,15 +40,17 @@ public class PlayerServiceImpl implements PlayerService {
                     .orElseThrow(() -> new NotFoundException("Team not found: " + request.teamId()));
         }
         Player saved = playerRepository.save(mapper.toEntity(request, team));
+        seasonColumnStore.putPlayer(saved.getId(), saved.getFirstName(), saved.getLastName());
         return mapper.toResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<PlayerResponse> findAll() {
-        return playerRepository.findAll().stream()
-                .map(mapper::toResponse)
-                .toList();
+    public PageResponse<PlayerResponse> findAll(Long teamId, String cursor, Integer limit) {
+        int size = Pages.limit(limit);
+        List<PlayerRow> rows = playerRepository.findPage(PageCursor.afterId(cursor), teamId, Pages.rows(size));
+        return Pages.of(rows, size, page -> page.stream().map(mapper::toResponse).toList(),
+                player -> PageCursor.after(player.id()));
     }
 
     @Override
@@ -65,7 +75,13 @@ public class PlayerServiceImpl implements PlayerService {
             teamToAttach = null;
         }
 
+        boolean renamed = (request.firstName() != null && !request.firstName().equals(player.getFirstName()))
+                || (request.lastName() != null && !request.lastName().equals(player.getLastName()));
         mapper.applyPatch(player, request, teamToAttach);
+        if (renamed) {
+            seasonColumnStore.putPlayer(id, player.getFirstName(), player.getLastName());
+            statsCache.evictPlayer(id);
+        }
         return mapper.toResponse(player);
     }
 
@@ -76,6 +92,8 @@ public class PlayerServiceImpl implements PlayerService {
             throw new NotFoundException("Player not found: " + id);
         }
         playerRepository.deleteById(id);
+        seasonColumnStore.removePlayer(id);
+        statsCache.evictPlayer(id);
     }
 }
 
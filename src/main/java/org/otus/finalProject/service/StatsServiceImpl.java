@@ -1,14 +1,23 @@
 package org.otus.finalProject.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.otus.finalProject.dto.stats.PlayerStatResponse;
 import org.otus.finalProject.dto.stats.TeamStatResponse;
 import org.otus.finalProject.dto.stats.TopScorersStatResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.projection.PlayerStatRow;
+import org.otus.finalProject.persistence.projection.TeamStatRow;
 import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.base.StatsPublisher;
 import org.otus.finalProject.service.base.StatsService;
-import org.otus.finalProject.service.kafka.KafkaStatsPublisher;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.PlayerTotals;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.Scan;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.TeamTotals;
+import org.otus.finalProject.service.jfr.StatsComputationEvent;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,120 +27,181 @@ import java.time.ZoneOffset;
 import java.util.*;
 
 @Service
+@Timed(value = "app.service", histogram = true)
 @RequiredArgsConstructor
 public class StatsServiceImpl implements StatsService {
+    // StatsComputationEvent sources
+    private static final String STORE = "store";
+    private static final String READ_MODEL = "read-model";
+    private static final String MATCHES = "matches";
+
     private final MatchRepository matchRepository;
     private final TeamRepository teamRepository;
     private final PlayerRepository playerRepository;
-    private final MatchPlayerRepository matchPlayerRepository;
     private final GoalRepository goalRepository;
-    private final KafkaStatsPublisher kafkaStatsPublisher;
+    private final TeamSeasonStatsRepository teamSeasonStatsRepository;
+    private final SeasonColumnStore seasonColumnStore;
+    private final StatsPublisher statsPublisher;
+
+    @Value("${stats.standings.read-model:true}")
+    private boolean standingsReadModel;
 
     @Override
     @Transactional(readOnly = true)
     public TeamStatResponse teamStats(Long teamId, Integer year) {
-        teamRepository.findById(teamId)
-                .orElseThrow(() -> new NotFoundException("Team not found: " + teamId));
-
-        Instant[] period = getPeriod(year);
-        Instant from = period[0];
-        Instant to = period[1];
+        var event = StatsComputationEvent.begin("teamStats", year);
+        TeamStatResponse response = seasonColumnStore.teamTotals(year, teamId)
+                .map(totals -> toTeamStatResponse(year, totals))
+                .orElse(null);
+        if (response != null) {
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.MATCHES));
+        } else {
+            teamRepository.findById(teamId)
+                    .orElseThrow(() -> new NotFoundException("Team not found: " + teamId));
 
-        List<Match> matches = matchRepository.findByMatchDateBetween(from, to).stream()
-                .filter(m -> Objects.equals(m.getTeam1().getId(), teamId) || Objects.equals(m.getTeam2().getId(), teamId))
-                .toList();
-
-        int played = matches.size(), wins = 0, draws = 0, losses = 0;
-        for (Match match : matches) {
-            boolean home = Objects.equals(match.getTeam1().getId(), teamId);
-            int forTeam = home ? match.getTeam1Score() : match.getTeam2Score();
-            int against = home ? match.getTeam2Score() : match.getTeam1Score();
-            if (forTeam > against) {
-                wins++;
-            } else if (forTeam == against) {
-                draws++;
+            if (standingsReadModel) {
+                TeamStatRow row = teamSeasonStatsRepository.sumByTeam(teamId, year);
+                response = new TeamStatResponse(teamId, year, row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses());
             } else {
-                losses++;
+                response = teamStatsFromMatches(teamId, year);
             }
+            event.finish(source(), () -> 1);
         }
 
-        var response = new TeamStatResponse(teamId, year, played, wins, draws, losses);
-        kafkaStatsPublisher.sendTeamStats(response);
+        statsPublisher.sendTeamStats(response);
         return response;
     }
 
     @Override
     @Transactional(readOnly = true)
     public PlayerStatResponse playerStats(Long playerId, Integer year) {
-        playerRepository.findById(playerId)
+        var event = StatsComputationEvent.begin("playerStats", year);
+        var stored = seasonColumnStore.playerTotals(year, playerId);
+        if (stored.isPresent()) {
+            var response = toPlayerStatResponse(year, stored.get());
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.APPEARANCES_AND_GOALS));
+            statsPublisher.sendPlayerStats(response);
+            return response;
+        }
+
+        Instant[] period = getPeriod(year);
+        Instant from = period[0];
+        Instant to = period[1];
+
+        PlayerStatRow row = playerRepository.findPlayerStats(playerId, from, to)
                 .orElseThrow(() -> new NotFoundException("Player not found: " + playerId));
 
+        var response = toPlayerStatResponse(year, row);
+        event.finish(MATCHES, () -> 1);
+        statsPublisher.sendPlayerStats(response);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamStatResponse> teamStatsBatch(List<Long> teamIds, Integer year) {
+        var event = StatsComputationEvent.begin("teamStatsBatch", year);
+        Set<Long> ids = new LinkedHashSet<>(teamIds);
+        var stored = seasonColumnStore.teamTotals(year, ids);
+        if (stored.isPresent()) {
+            var response = stored.get().stream().map(totals -> toTeamStatResponse(year, totals)).toList();
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.MATCHES));
+            statsPublisher.sendTeamStatsBatch(response, year);
+            return response;
+        }
+
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        teamRepository.findExistingIds(ids).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new NotFoundException("Teams not found: " + missing);
+        }
+
         Instant[] period = getPeriod(year);
         Instant from = period[0];
         Instant to = period[1];
 
-        int matchesPlayed = matchPlayerRepository.countByPlayer_IdAndMatch_MatchDateBetween(playerId, from, to);
-        int goals = goalRepository.countByPlayer_IdAndMatch_MatchDateBetween(playerId, from, to);
-        double averageGoals = matchesPlayed == 0 ? 0.0 : (double) goals / matchesPlayed;
+        List<TeamStatRow> rows = standingsReadModel
+                ? teamSeasonStatsRepository.sumByTeams(ids, year)
+                : matchRepository.findTeamStatsByIds(ids, from, to);
+        Map<Long, TeamStatRow> rowsByTeam = new HashMap<>(rows.size());
+        for (TeamStatRow row : rows) {
+            rowsByTeam.put(row.getTeamId(), row);
+        }
 
-        var response = new PlayerStatResponse(playerId, year, matchesPlayed, goals, averageGoals);
-        kafkaStatsPublisher.sendPlayerStats(response);
+        List<TeamStatResponse> response = new ArrayList<>(ids.size());
+        for (Long teamId : ids) {
+            TeamStatRow row = rowsByTeam.get(teamId);
+            response.add(row == null
+                    ? new TeamStatResponse(teamId, year, 0, 0, 0, 0)
+                    : new TeamStatResponse(teamId, year, row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses()));
+        }
+        event.finish(source(), rows::size);
+        statsPublisher.sendTeamStatsBatch(response, year);
         return response;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TeamStatResponse> topTeams(Integer year, Integer limit) {
+    public List<PlayerStatResponse> playerStatsBatch(List<Long> playerIds, Integer year) {
+        var event = StatsComputationEvent.begin("playerStatsBatch", year);
+        Set<Long> ids = new LinkedHashSet<>(playerIds);
+        var stored = seasonColumnStore.playerTotals(year, ids);
+        if (stored.isPresent()) {
+            var response = stored.get().stream().map(totals -> toPlayerStatResponse(year, totals)).toList();
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.APPEARANCES_AND_GOALS));
+            statsPublisher.sendPlayerStatsBatch(response, year);
+            return response;
+        }
+
         Instant[] period = getPeriod(year);
         Instant from = period[0];
         Instant to = period[1];
 
-        List<Match> matches = matchRepository.findByMatchDateBetween(from, to);
-        Map<Long, int[]> table = new HashMap<>(); // array int[4] = {played, wins, draws, losses}
-
-        for (Match m : matches) {
-            long team1Id = m.getTeam1().getId();
-            long teamId2 = m.getTeam2().getId();
-            int scoreTeam1 = m.getTeam1Score();
-            int scoreTeam2 = m.getTeam2Score();
-
-            table.putIfAbsent(team1Id, new int[4]);
-            table.putIfAbsent(teamId2, new int[4]);
-
-            int[] statsTeam1 = table.get(team1Id);
-            int[] statsTeam2 = table.get(teamId2);
-
-            statsTeam1[0]++;
-            statsTeam2[0]++;
-
-            if (scoreTeam1 > scoreTeam2) {
-                statsTeam1[1]++;
-                statsTeam2[3]++;
-            }       // win / loss
-            else if (scoreTeam1 < scoreTeam2) {
-                statsTeam2[1]++;
-                statsTeam1[3]++;
-            }  // win / loss
-            else {
-                statsTeam1[2]++;
-                statsTeam2[2]++;
-            }               // draw
+        Map<Long, PlayerStatRow> rowsByPlayer = new HashMap<>(ids.size());
+        for (PlayerStatRow row : playerRepository.findPlayerStatsByIds(ids, from, to)) {
+            rowsByPlayer.put(row.getPlayerId(), row);
+        }
+        if (rowsByPlayer.size() != ids.size()) {
+            Set<Long> missing = new LinkedHashSet<>(ids);
+            missing.removeAll(rowsByPlayer.keySet());
+            throw new NotFoundException("Players not found: " + missing);
         }
 
-        var response = table.entrySet().stream()
-                .map(e -> {
-                    int[] stat = e.getValue();
-                    return new TeamStatResponse(e.getKey(), year, stat[0], stat[1], stat[2], stat[3]);
-                })
-                .sorted(Comparator
-                        .comparingInt(TeamStatResponse::wins).reversed()
-                        .thenComparing(TeamStatResponse::draws, Comparator.reverseOrder())
-                        .thenComparing(TeamStatResponse::losses)
-                        .thenComparing(TeamStatResponse::played, Comparator.reverseOrder())
-                        .thenComparing(TeamStatResponse::teamId))
-                .limit(Math.max(1, limit == null ? 10 : limit))
-                .toList();
-        kafkaStatsPublisher.sendTopTeams(response, year, limit);
+        List<PlayerStatResponse> response = new ArrayList<>(ids.size());
+        for (Long playerId : ids) {
+            response.add(toPlayerStatResponse(year, rowsByPlayer.get(playerId)));
+        }
+        event.finish(MATCHES, rowsByPlayer::size);
+        statsPublisher.sendPlayerStatsBatch(response, year);
+        return response;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TeamStatResponse> topTeams(Integer year, Integer limit) {
+        Instant[] period = getPeriod(year);
+        Instant from = period[0];
+        Instant to = period[1];
+
+        int top = Math.max(1, limit == null ? 10 : limit);
+        var event = StatsComputationEvent.begin("topTeams", year);
+        var stored = seasonColumnStore.topTeams(year, top)
+                .map(totals -> totals.stream().map(t -> toTeamStatResponse(year, t)).toList());
+        List<TeamStatResponse> response;
+        if (stored.isPresent()) {
+            response = stored.get();
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.MATCHES));
+        } else {
+            List<TeamStatRow> rows = standingsReadModel
+                    ? teamSeasonStatsRepository.findTopTeams(year, top)
+                    : matchRepository.findTopTeams(from, to, top);
+            response = rows.stream()
+                    .map(row -> new TeamStatResponse(
+                            row.getTeamId(), year, row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses()))
+                    .toList();
+            event.finish(source(), rows::size);
+        }
+        statsPublisher.sendTopTeams(response, year, limit);
         return response;
     }
 
@@ -142,51 +212,52 @@ public class StatsServiceImpl implements StatsService {
         Instant from = period[0];
         Instant to = period[1];
 
-        List<Goal> goals = goalRepository.findByMatch_MatchDateBetween(from, to);
+        int top = Math.max(1, limit == null ? 10 : limit);
+        var event = StatsComputationEvent.begin("topScorers", year);
+        var stored = seasonColumnStore.topScorers(year, teamId, top);
+        List<TopScorersStatResponse> response;
+        if (stored.isPresent()) {
+            response = stored.get();
+            event.finish(STORE, () -> seasonColumnStore.scanRows(Scan.GOALS));
+        } else {
+            response = goalRepository.findTopScorers(teamId, from, to, top).stream()
+                    .map(row -> new TopScorersStatResponse(
+                            row.getPlayerId(), row.getFirstName(), row.getLastName(), row.getTeamId(), row.getGoals()))
+                    .toList();
+            event.finish(MATCHES, response::size);
+        }
+        statsPublisher.sendTopScorers(response, teamId, year, limit);
+        return response;
+    }
 
-        Map<Long, Map<Long, Integer>> goalsByPlayerByTeam = new HashMap<>();
-        for (Goal g : goals) {
-            Long playerId = g.getPlayer().getId();
-            Long matchId = g.getMatch().getId();
+    private String source() {
+        return standingsReadModel ? READ_MODEL : MATCHES;
+    }
 
-            MatchPlayerId mpId = new MatchPlayerId(matchId, playerId);
-            MatchPlayer mp = matchPlayerRepository.findById(mpId)
-                    .orElse(null);
+    private TeamStatResponse teamStatsFromMatches(Long teamId, Integer year) {
+        Instant[] period = getPeriod(year);
+        Instant from = period[0];
+        Instant to = period[1];
 
-            if (mp == null) continue;
-            Long teamAtThatMatch = mp.getTeam().getId();
+        TeamStatRow row = matchRepository.findTeamStats(teamId, from, to);
+        return new TeamStatResponse(teamId, year, row.getPlayed(), row.getWins(), row.getDraws(), row.getLosses());
+    }
 
-            if (teamId != null && !Objects.equals(teamAtThatMatch, teamId)) continue;
+    private TeamStatResponse toTeamStatResponse(Integer year, TeamTotals t) {
+        return new TeamStatResponse(t.teamId(), year, t.played(), t.wins(), t.draws(), t.losses());
+    }
 
-            goalsByPlayerByTeam
-                    .computeIfAbsent(playerId, k -> new HashMap<>())
-                    .merge(teamAtThatMatch, 1, Integer::sum);
-        }
+    private PlayerStatResponse toPlayerStatResponse(Integer year, PlayerStatRow row) {
+        return toPlayerStatResponse(year, row.getPlayerId(), row.getMatchesPlayed(), row.getMinutesPlayed(), row.getGoals());
+    }
 
-        List<TopScorersStatResponse> rows = new ArrayList<>();
-        for (var e : goalsByPlayerByTeam.entrySet()) {
-            Long playerId = e.getKey();
-            Player p = playerRepository.findById(playerId).orElse(null);
-            if (p == null) continue;
-
-            for (var e2 : e.getValue().entrySet()) {
-                Long teamAtThatMatch = e2.getKey();
-                int count = e2.getValue();
-                rows.add(new TopScorersStatResponse(
-                        playerId, p.getFirstName(), p.getLastName(), teamAtThatMatch, count
-                ));
-            }
-        }
+    private PlayerStatResponse toPlayerStatResponse(Integer year, PlayerTotals t) {
+        return toPlayerStatResponse(year, t.playerId(), t.matchesPlayed(), t.minutesPlayed(), t.goals());
+    }
 
-        var response = rows.stream()
-                .sorted(Comparator
-                        .comparingInt(TopScorersStatResponse::goals).reversed()
-                        .thenComparing(TopScorersStatResponse::lastName)
-                        .thenComparing(TopScorersStatResponse::firstName))
-                .limit(Math.max(1, limit == null ? 10 : limit))
-                .toList();
-        kafkaStatsPublisher.sendTopScorers(response, teamId, year, limit);
-        return response;
+    private PlayerStatResponse toPlayerStatResponse(Integer year, Long playerId, int matchesPlayed, int minutesPlayed, int goals) {
+        double averageGoals = matchesPlayed == 0 ? 0.0 : (double) goals / matchesPlayed;
+        return new PlayerStatResponse(playerId, year, matchesPlayed, goals, averageGoals, minutesPlayed);
     }
 
     private Instant[] getPeriod(Integer year) {
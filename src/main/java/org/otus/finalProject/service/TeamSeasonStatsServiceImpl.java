@@ -0,0 +1,120 @@
+package org.otus.finalProject.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.stats.StandingsCheckResponse;
+import org.otus.finalProject.dto.stats.StandingsMismatch;
+import org.otus.finalProject.dto.stats.StandingsRebuildResponse;
+import org.otus.finalProject.dto.stats.StandingsRow;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.TeamSeasonStats;
+import org.otus.finalProject.persistence.repository.MatchRepository;
+import org.otus.finalProject.persistence.repository.TeamSeasonStatsRepository;
+import org.otus.finalProject.service.aggregation.StandingsAccumulator;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class TeamSeasonStatsServiceImpl implements TeamSeasonStatsService {
+    private final TeamSeasonStatsRepository repository;
+    private final MatchRepository matchRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(MatchOutcome outcome) {
+        apply(outcome, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(MatchOutcome outcome) {
+        apply(outcome, -1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void replace(MatchOutcome before, MatchOutcome after) {
+        if (Objects.equals(before, after)) return;
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    @Override
+    @Transactional
+    public StandingsRebuildResponse rebuild() {
+        repository.deleteAllRows();
+        return new StandingsRebuildResponse(repository.insertFromMatches());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StandingsCheckResponse check() {
+        StandingsAccumulator accumulator = new StandingsAccumulator();
+        try (Stream<Match> matches = matchRepository.streamAllBy()) {
+            Iterator<Match> it = matches.iterator();
+            while (it.hasNext()) {
+                accumulator.add(MatchOutcome.of(it.next()));
+                // streamed entities (and their team proxies) would otherwise pile up in the persistence context
+                if (accumulator.matches() % MatchRepository.STREAM_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+
+        Map<Key, StandingsRow> expected = new HashMap<>(accumulator.size());
+        for (StandingsRow row : accumulator.rows()) {
+            expected.put(new Key(row.teamId(), row.seasonYear(), row.championshipId()), row);
+        }
+
+        Map<Key, StandingsRow> actual = new HashMap<>();
+        for (TeamSeasonStats stats : repository.findAll()) {
+            Key key = new Key(stats.getTeamId(), stats.getSeasonYear(), stats.getChampionshipId());
+            actual.put(key, new StandingsRow(key.teamId(), key.seasonYear(), key.championshipId(),
+                    stats.getPlayed(), stats.getWins(), stats.getDraws(), stats.getLosses(),
+                    stats.getGoalsFor(), stats.getGoalsAgainst()));
+        }
+
+        List<StandingsMismatch> mismatches = new ArrayList<>();
+        for (var e : expected.entrySet()) {
+            StandingsRow stored = actual.get(e.getKey());
+            if (!Objects.equals(e.getValue(), stored)) {
+                mismatches.add(new StandingsMismatch(e.getValue(), stored));
+            }
+        }
+        for (var e : actual.entrySet()) {
+            if (!expected.containsKey(e.getKey()) && e.getValue().played() != 0) {
+                mismatches.add(new StandingsMismatch(null, e.getValue()));
+            }
+        }
+
+        return new StandingsCheckResponse(accumulator.matches(), actual.size(), mismatches.isEmpty(), mismatches);
+    }
+
+    private void apply(MatchOutcome o, int sign) {
+        applySide(o.team1Id(), o, o.team1Score(), o.team2Score(), sign);
+        applySide(o.team2Id(), o, o.team2Score(), o.team1Score(), sign);
+        if (sign < 0) {
+            repository.deleteEmpty(o.team1Id(), o.team2Id(), o.seasonYear());
+        }
+    }
+
+    private void applySide(Long teamId, MatchOutcome o, int goalsFor, int goalsAgainst, int sign) {
+        repository.applyDelta(teamId, o.seasonYear(), o.championshipId(),
+                sign,
+                goalsFor > goalsAgainst ? sign : 0,
+                goalsFor == goalsAgainst ? sign : 0,
+                goalsFor < goalsAgainst ? sign : 0,
+                sign * goalsFor,
+                sign * goalsAgainst);
+    }
+
+    private record Key(Long teamId, int seasonYear, Long championshipId) {
+    }
+}
@@ -1,6 +1,7 @@
 package org.otus.finalProject.service;
 
 import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.team.TeamCreateRequest;
 import org.otus.finalProject.dto.team.TeamPatchRequest;
 import org.otus.finalProject.dto.team.TeamResponse;
@@ -8,16 +9,22 @@ import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.mapper.TeamMapper;
 import org.otus.finalProject.persistence.model.Player;
 import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.projection.PlayerRow;
+import org.otus.finalProject.persistence.projection.TeamRow;
 import org.otus.finalProject.persistence.repository.CoachRepository;
 import org.otus.finalProject.persistence.repository.PlayerRepository;
 import org.otus.finalProject.persistence.repository.TeamRepository;
 import org.otus.finalProject.service.base.TeamService;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,6 +34,7 @@ public class TeamServiceImpl implements TeamService {
     private final TeamRepository teamRepository;
     private final CoachRepository coachRepository;
     private final PlayerRepository playerRepository;
+    private final SeasonColumnStore seasonColumnStore;
     private final TeamMapper mapper;
 
     @Override
@@ -37,13 +45,27 @@ public class TeamServiceImpl implements TeamService {
         if (request.playerIds() != null && !request.playerIds().isEmpty()) {
             attachPlayersToTeam(saved, request.playerIds());
         }
+        seasonColumnStore.putTeam(saved.getId());
         return mapper.toResponse(saved);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TeamResponse> findAll() {
-        return teamRepository.findAll().stream().map(mapper::toResponse).toList();
+    public PageResponse<TeamResponse> findAll(String country, String cursor, Integer limit) {
+        int size = Pages.limit(limit);
+        List<TeamRow> rows = teamRepository.findPage(PageCursor.afterId(cursor), country, Pages.rows(size));
+        return Pages.of(rows, size, this::withRosters, team -> PageCursor.after(team.id()));
+    }
+
+    // one roster query for the whole page instead of initializing Team.players per team
+    private List<TeamResponse> withRosters(List<TeamRow> teams) {
+        if (teams.isEmpty()) return List.of();
+        Map<Long, List<PlayerRow>> rosters = playerRepository.findRosters(teams.stream().map(TeamRow::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(PlayerRow::teamId));
+        return teams.stream()
+                .map(team -> mapper.toResponse(team, rosters.getOrDefault(team.id(), List.of())))
+                .toList();
     }
 
     @Override
@@ -80,6 +102,7 @@ public class TeamServiceImpl implements TeamService {
             player.setTeam(null);
         }
         teamRepository.delete(team);
+        seasonColumnStore.removeTeam(id);
     }
 
     private void attachPlayersToTeam(Team team, Set<Long> playerIds) {
@@ -0,0 +1,133 @@
+package org.otus.finalProject.service.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a key of one to three longs to a dense int slot (0, 1, 2, ... in
+ * insertion order). Callers keep their values in primitive arrays indexed by slot, so counting
+ * per key allocates nothing per row: no boxed keys, no entry objects, no value arrays.
+ * Not thread-safe.
+ */
+public final class LongIntSlotMap {
+    private static final int FREE = -1;
+
+    private final int width;
+    private long[] keys; // width longs per slot
+    private int[] table; // hash bucket -> slot, FREE when empty
+    private int mask;
+    private int size;
+
+    public LongIntSlotMap(int width, int expectedSize) {
+        if (width < 1 || width > 3) {
+            throw new IllegalArgumentException("width must be in [1..3]");
+        }
+        this.width = width;
+        int buckets = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.table = new int[buckets];
+        Arrays.fill(table, FREE);
+        this.mask = buckets - 1;
+        this.keys = new long[Math.max(2, expectedSize) * width];
+    }
+
+    public int slot(long a) {
+        return slot(a, 0L, 0L);
+    }
+
+    public int slot(long a, long b) {
+        return slot(a, b, 0L);
+    }
+
+    /**
+     * Slot of the key, adding it when absent.
+     */
+    public int slot(long a, long b, long c) {
+        int bucket = hash(a, b, c) & mask;
+        while (true) {
+            int slot = table[bucket];
+            if (slot == FREE) break;
+            if (matches(slot, a, b, c)) return slot;
+            bucket = (bucket + 1) & mask;
+        }
+
+        int slot = size++;
+        if ((slot + 1) * width > keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+        }
+        int k = slot * width;
+        keys[k] = a;
+        if (width > 1) keys[k + 1] = b;
+        if (width > 2) keys[k + 2] = c;
+        table[bucket] = slot;
+        if (size * 2 > table.length) rehash();
+        return slot;
+    }
+
+    public int find(long a) {
+        return find(a, 0L, 0L);
+    }
+
+    public int find(long a, long b) {
+        return find(a, b, 0L);
+    }
+
+    /**
+     * Slot of the key, or -1 when absent.
+     */
+    public int find(long a, long b, long c) {
+        int bucket = hash(a, b, c) & mask;
+        while (true) {
+            int slot = table[bucket];
+            if (slot == FREE || matches(slot, a, b, c)) return slot;
+            bucket = (bucket + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Component {@code i} (0-based) of the key stored in the slot.
+     */
+    public long key(int slot, int i) {
+        return keys[slot * width + i];
+    }
+
+    /**
+     * Returns the array itself when it already has {@code length} elements, otherwise a larger copy;
+     * for value columns that grow with {@link #size()}.
+     */
+    public static int[] ensureLength(int[] values, int length) {
+        return values.length >= length ? values : Arrays.copyOf(values, Math.max(length, values.length * 2));
+    }
+
+    private boolean matches(int slot, long a, long b, long c) {
+        int k = slot * width;
+        return keys[k] == a
+                && (width < 2 || keys[k + 1] == b)
+                && (width < 3 || keys[k + 2] == c);
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        Arrays.fill(table, FREE);
+        mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int k = slot * width;
+            long b = width > 1 ? keys[k + 1] : 0L;
+            long c = width > 2 ? keys[k + 2] : 0L;
+            int bucket = hash(keys[k], b, c) & mask;
+            while (table[bucket] != FREE) {
+                bucket = (bucket + 1) & mask;
+            }
+            table[bucket] = slot;
+        }
+    }
+
+    private static int hash(long a, long b, long c) {
+        long h = a * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 32) ^ b) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ (h >>> 29) ^ c) * 0x165667B19E3779F9L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
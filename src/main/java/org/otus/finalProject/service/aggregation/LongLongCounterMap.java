@@ -0,0 +1,141 @@
+package org.otus.finalProject.service.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing (linear probing) map from long to long without boxing, for counters and
+ * id lookups. {@link Long#MIN_VALUE} is reserved as the empty marker and cannot be a key.
+ * Removal shifts the following entries back, so lookups never walk over tombstones.
+ * Not thread-safe.
+ */
+public final class LongLongCounterMap {
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    public LongLongCounterMap(int expectedSize) {
+        int buckets = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[buckets];
+        values = new long[buckets];
+        Arrays.fill(keys, FREE);
+        mask = buckets - 1;
+    }
+
+    /**
+     * Adds the delta to the key's counter (starting at 0) and returns the new value.
+     */
+    public long add(long key, long delta) {
+        int i = indexOf(key);
+        if (keys[i] == FREE) {
+            insertAt(i, key, delta);
+            return delta;
+        }
+        return values[i] += delta;
+    }
+
+    public void put(long key, long value) {
+        int i = indexOf(key);
+        if (keys[i] == FREE) {
+            insertAt(i, key, value);
+        } else {
+            values[i] = value;
+        }
+    }
+
+    public long get(long key, long defaultValue) {
+        int i = indexOf(key);
+        return keys[i] == FREE ? defaultValue : values[i];
+    }
+
+    public boolean containsKey(long key) {
+        return keys[indexOf(key)] != FREE;
+    }
+
+    public boolean remove(long key) {
+        int i = indexOf(key);
+        if (keys[i] == FREE) return false;
+
+        // backward-shift deletion: move later entries of the probe chain into the hole
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == FREE) break;
+            int home = bucket(keys[j]);
+            boolean movable = hole <= j ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = FREE;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Entry action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) action.accept(keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Heap use of the key and value arrays.
+     */
+    public long footprintBytes() {
+        return 16L * keys.length;
+    }
+
+    private int indexOf(long key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Long.MIN_VALUE cannot be a key");
+        }
+        int i = bucket(key);
+        while (keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insertAt(int i, long key, long value) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) rehash();
+    }
+
+    private int bucket(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        Arrays.fill(keys, FREE);
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == FREE) continue;
+            int j = bucket(oldKeys[i]);
+            while (keys[j] != FREE) {
+                j = (j + 1) & mask;
+            }
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    @FunctionalInterface
+    public interface Entry {
+        void accept(long key, long value);
+    }
+}
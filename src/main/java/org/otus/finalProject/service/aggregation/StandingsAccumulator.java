@@ -0,0 +1,63 @@
+package org.otus.finalProject.service.aggregation;
+
+import org.otus.finalProject.dto.stats.StandingsRow;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Folds match outcomes into per (team, season, championship) standings one match at a time.
+ * Memory is bounded by the number of standings rows, not by the number of matches, so it can
+ * consume a streamed result set of any size; adding a match allocates nothing once its rows exist.
+ */
+public class StandingsAccumulator {
+    private static final long NO_CHAMPIONSHIP = Long.MIN_VALUE;
+    private static final int WIDTH = 6; // {played, wins, draws, losses, goalsFor, goalsAgainst}
+
+    private final LongIntSlotMap slots = new LongIntSlotMap(3, 64);
+    private int[] table = new int[64 * WIDTH];
+    private long matches;
+
+    public void add(MatchOutcome o) {
+        long championship = o.championshipId() == null ? NO_CHAMPIONSHIP : o.championshipId();
+        accumulate(slots.slot(o.team1Id(), o.seasonYear(), championship), o.team1Score(), o.team2Score());
+        accumulate(slots.slot(o.team2Id(), o.seasonYear(), championship), o.team2Score(), o.team1Score());
+        matches++;
+    }
+
+    public long matches() {
+        return matches;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public List<StandingsRow> rows() {
+        List<StandingsRow> rows = new ArrayList<>(slots.size());
+        for (int slot = 0; slot < slots.size(); slot++) {
+            long championship = slots.key(slot, 2);
+            int s = slot * WIDTH;
+            rows.add(new StandingsRow(slots.key(slot, 0), (int) slots.key(slot, 1),
+                    championship == NO_CHAMPIONSHIP ? null : championship,
+                    table[s], table[s + 1], table[s + 2], table[s + 3], table[s + 4], table[s + 5]));
+        }
+        return rows;
+    }
+
+    private void accumulate(int slot, int goalsFor, int goalsAgainst) {
+        table = LongIntSlotMap.ensureLength(table, (slot + 1) * WIDTH);
+        int s = slot * WIDTH;
+        table[s]++;
+        if (goalsFor > goalsAgainst) {
+            table[s + 1]++;
+        } else if (goalsFor == goalsAgainst) {
+            table[s + 2]++;
+        } else {
+            table[s + 3]++;
+        }
+        table[s + 4] += goalsFor;
+        table[s + 5] += goalsAgainst;
+    }
+}
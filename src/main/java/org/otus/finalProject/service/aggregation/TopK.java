@@ -0,0 +1,73 @@
+package org.otus.finalProject.service.aggregation;
+
+/**
+ * Bounded selection of the best {@code k} of {@code n} slots under a comparator on slot
+ * indices, with a binary heap of at most {@code k} ints: O(n log k) instead of sorting
+ * (and materializing) all n rows. Ties are broken by the comparator only, so it must define
+ * a total order for the result to be deterministic.
+ */
+public final class TopK {
+    private TopK() {
+    }
+
+    /**
+     * Slot comparator; negative when slot {@code a} ranks before slot {@code b}.
+     */
+    @FunctionalInterface
+    public interface SlotComparator {
+        int compare(int a, int b);
+    }
+
+    /**
+     * Best {@code k} slots among {@code 0..n-1}, best first.
+     */
+    public static int[] select(int n, int k, SlotComparator order) {
+        int size = Math.min(n, Math.max(0, k));
+        int[] heap = new int[size]; // heap[0] is the worst of the kept slots
+        if (size == 0) return heap;
+
+        int filled = 0;
+        for (int slot = 0; slot < n; slot++) {
+            if (filled < size) {
+                heap[filled] = slot;
+                siftUp(heap, filled++, order);
+            } else if (order.compare(slot, heap[0]) < 0) {
+                heap[0] = slot;
+                siftDown(heap, 0, size, order);
+            }
+        }
+
+        // heap sort in place: repeatedly move the worst kept slot to the end
+        for (int end = size - 1; end > 0; end--) {
+            int worst = heap[0];
+            heap[0] = heap[end];
+            heap[end] = worst;
+            siftDown(heap, 0, end, order);
+        }
+        return heap;
+    }
+
+    private static void siftUp(int[] heap, int i, SlotComparator order) {
+        int slot = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.compare(heap[parent], slot) >= 0) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = slot;
+    }
+
+    private static void siftDown(int[] heap, int i, int size, SlotComparator order) {
+        int slot = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) child++;
+            if (order.compare(heap[child], slot) <= 0) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = slot;
+    }
+}
@@ -3,14 +3,13 @@ package org.otus.finalProject.service.base;
 import org.otus.finalProject.dto.championship.ChampionshipCreateRequest;
 import org.otus.finalProject.dto.championship.ChampionshipPatchRequest;
 import org.otus.finalProject.dto.championship.ChampionshipResponse;
-
-import java.util.List;
+import org.otus.finalProject.dto.page.PageResponse;
 
 
 public interface ChampionshipService {
     ChampionshipResponse create(ChampionshipCreateRequest request);
 
-    List<ChampionshipResponse> findAll();
+    PageResponse<ChampionshipResponse> findAll(String cursor, Integer limit);
 
     ChampionshipResponse findById(Long id);
 
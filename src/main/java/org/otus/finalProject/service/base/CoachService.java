@@ -3,14 +3,13 @@ package org.otus.finalProject.service.base;
 import org.otus.finalProject.dto.coach.CoachCreateRequest;
 import org.otus.finalProject.dto.coach.CoachPatchRequest;
 import org.otus.finalProject.dto.coach.CoachResponse;
-
-import java.util.List;
+import org.otus.finalProject.dto.page.PageResponse;
 
 
 public interface CoachService {
     CoachResponse create(CoachCreateRequest request);
 
-    List<CoachResponse> findAll();
+    PageResponse<CoachResponse> findAll(String cursor, Integer limit);
 
     CoachResponse findById(Long id);
 
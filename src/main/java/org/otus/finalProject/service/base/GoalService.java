@@ -1,8 +1,11 @@
 package org.otus.finalProject.service.base;
 
+import org.otus.finalProject.dto.goal.GoalBatchItem;
+import org.otus.finalProject.dto.goal.GoalBatchItemResult;
 import org.otus.finalProject.dto.goal.GoalCreateRequest;
 import org.otus.finalProject.dto.goal.GoalPatchRequest;
 import org.otus.finalProject.dto.goal.GoalResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 
 import java.util.List;
 
@@ -10,7 +13,9 @@ import java.util.List;
 public interface GoalService {
     GoalResponse create(GoalCreateRequest request);
 
-    List<GoalResponse> findAll();
+    List<GoalBatchItemResult> createBatch(Long matchId, List<GoalBatchItem> goals);
+
+    PageResponse<GoalResponse> findAll(Long matchId, Long playerId, String cursor, Integer limit);
 
     GoalResponse findById(Long id);
 
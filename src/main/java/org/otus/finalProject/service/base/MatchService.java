@@ -2,9 +2,11 @@ package org.otus.finalProject.service.base;
 
 import org.apache.coyote.BadRequestException;
 import org.otus.finalProject.dto.match.MatchCreateRequest;
+import org.otus.finalProject.dto.match.MatchFilter;
 import org.otus.finalProject.dto.match.MatchPatchRequest;
 import org.otus.finalProject.dto.match.MatchResponse;
 import org.otus.finalProject.dto.match.MatchResultRequest;
+import org.otus.finalProject.dto.page.PageResponse;
 
 import java.util.List;
 
@@ -12,7 +14,9 @@ import java.util.List;
 public interface MatchService {
     MatchResponse create(MatchCreateRequest request) throws BadRequestException;
 
-    List<MatchResponse> findAll();
+    List<MatchResponse> createBatch(List<MatchCreateRequest> requests);
+
+    PageResponse<MatchResponse> findAll(MatchFilter filter, String cursor, Integer limit);
 
     MatchResponse findById(Long id);
 
@@ -3,14 +3,13 @@ package org.otus.finalProject.service.base;
 import org.otus.finalProject.dto.player.PlayerCreateRequest;
 import org.otus.finalProject.dto.player.PlayerPatchRequest;
 import org.otus.finalProject.dto.player.PlayerResponse;
-
-import java.util.List;
+import org.otus.finalProject.dto.page.PageResponse;
 
 
 public interface PlayerService {
     PlayerResponse create(PlayerCreateRequest request);
 
-    List<PlayerResponse> findAll();
+    PageResponse<PlayerResponse> findAll(Long teamId, String cursor, Integer limit);
 
     PlayerResponse findById(Long id);
 
@@ -12,6 +12,10 @@ public interface StatsPublisher {
 
     void sendPlayerStats(PlayerStatResponse payload);
 
+    void sendTeamStatsBatch(List<TeamStatResponse> payload, Integer year);
+
+    void sendPlayerStatsBatch(List<PlayerStatResponse> payload, Integer year);
+
     void sendTopTeams(List<TeamStatResponse> payload, Integer year, Integer limit);
 
     void sendTopScorers(List<TopScorersStatResponse> payload, Long teamId, Integer year, Integer limit);
@@ -12,6 +12,10 @@ public interface StatsService {
 
     PlayerStatResponse playerStats(Long playerId, Integer year);
 
+    List<TeamStatResponse> teamStatsBatch(List<Long> teamIds, Integer year);
+
+    List<PlayerStatResponse> playerStatsBatch(List<Long> playerIds, Integer year);
+
     List<TeamStatResponse> topTeams(Integer year, Integer limit);
 
     List<TopScorersStatResponse> topScorers(Long teamId, Integer year, Integer limit);
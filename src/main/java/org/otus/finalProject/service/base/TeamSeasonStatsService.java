@@ -0,0 +1,52 @@
+package org.otus.finalProject.service.base;
+
+import org.otus.finalProject.dto.stats.StandingsCheckResponse;
+import org.otus.finalProject.dto.stats.StandingsRebuildResponse;
+import org.otus.finalProject.persistence.model.Match;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * Maintains the team_season_stats read model. Delta methods must run inside the transaction
+ * that changes the match.
+ */
+public interface TeamSeasonStatsService {
+    void add(MatchOutcome outcome);
+
+    void remove(MatchOutcome outcome);
+
+    void replace(MatchOutcome before, MatchOutcome after);
+
+    StandingsRebuildResponse rebuild();
+
+    StandingsCheckResponse check();
+
+    /**
+     * Snapshot of the match fields the standings depend on.
+     */
+    record MatchOutcome(
+            Long team1Id,
+            Long team2Id,
+            int seasonYear,
+            Long championshipId,
+            int team1Score,
+            int team2Score
+    ) {
+        public static MatchOutcome of(Match match) {
+            return new MatchOutcome(
+                    match.getTeam1().getId(),
+                    match.getTeam2().getId(),
+                    seasonYear(match.getMatchDate()),
+                    match.getChampionship() != null ? match.getChampionship().getId() : null,
+                    Objects.requireNonNullElse(match.getTeam1Score(), 0),
+                    Objects.requireNonNullElse(match.getTeam2Score(), 0)
+            );
+        }
+
+        public static int seasonYear(Instant matchDate) {
+            return matchDate.atZone(ZoneOffset.UTC).getYear();
+        }
+    }
+}
@@ -3,14 +3,13 @@ package org.otus.finalProject.service.base;
 import org.otus.finalProject.dto.team.TeamCreateRequest;
 import org.otus.finalProject.dto.team.TeamPatchRequest;
 import org.otus.finalProject.dto.team.TeamResponse;
-
-import java.util.List;
+import org.otus.finalProject.dto.page.PageResponse;
 
 
 public interface TeamService {
     TeamResponse create(TeamCreateRequest request);
 
-    List<TeamResponse> findAll();
+    PageResponse<TeamResponse> findAll(String country, String cursor, Integer limit);
 
     TeamResponse findById(Long id);
 
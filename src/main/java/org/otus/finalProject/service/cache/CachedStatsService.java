@@ -0,0 +1,59 @@
+package org.otus.finalProject.service.cache;
+
+import io.micrometer.core.annotation.Timed;
+import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.service.base.StatsService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * StatsService seen by the controllers: answers from {@link StatsCache} and calls
+ * StatsServiceImpl (which also publishes to Kafka) only on a miss.
+ */
+@Service
+@Timed(value = "app.service", histogram = true)
+@Primary
+public class CachedStatsService implements StatsService {
+    private final StatsService delegate;
+    private final StatsCache cache;
+
+    public CachedStatsService(@Qualifier("statsServiceImpl") StatsService delegate, StatsCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public TeamStatResponse teamStats(Long teamId, Integer year) {
+        return cache.get(StatsCacheKey.teamStats(teamId, year), () -> delegate.teamStats(teamId, year));
+    }
+
+    @Override
+    public PlayerStatResponse playerStats(Long playerId, Integer year) {
+        return cache.get(StatsCacheKey.playerStats(playerId, year), () -> delegate.playerStats(playerId, year));
+    }
+
+    @Override
+    public List<TeamStatResponse> teamStatsBatch(List<Long> teamIds, Integer year) {
+        return delegate.teamStatsBatch(teamIds, year);
+    }
+
+    @Override
+    public List<PlayerStatResponse> playerStatsBatch(List<Long> playerIds, Integer year) {
+        return delegate.playerStatsBatch(playerIds, year);
+    }
+
+    @Override
+    public List<TeamStatResponse> topTeams(Integer year, Integer limit) {
+        return cache.get(StatsCacheKey.topTeams(year, limit), () -> delegate.topTeams(year, limit));
+    }
+
+    @Override
+    public List<TopScorersStatResponse> topScorers(Long teamId, Integer year, Integer limit) {
+        return cache.get(StatsCacheKey.topScorers(teamId, year, limit), () -> delegate.topScorers(teamId, year, limit));
+    }
+}
@@ -0,0 +1,172 @@
+package org.otus.finalProject.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.otus.finalProject.dto.stats.StatsCacheResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of stats results. Entries are dropped by size and TTL, and precisely
+ * by the write services for the teams/players/years a change touches.
+ * Invalidation runs after the surrounding transaction commits.
+ * Concurrent misses on the same key share one computation (and so one Kafka publish).
+ */
+@Component
+public class StatsCache implements MeterBinder {
+    private final Cache<StatsCacheKey, Object> cache;
+    private final SingleFlight<StatsCacheKey> singleFlight = new SingleFlight<>();
+
+    // bumped on every invalidation: a value computed while it changed is returned but not stored
+    private final AtomicLong epoch = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+
+    public StatsCache(@Value("${stats.cache.max-size:10000}") long maxSize,
+                      @Value("${stats.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(StatsCacheKey key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        return singleFlight.execute(key, () -> {
+            // a previous flight may have stored the value after our lookup
+            Object stored = cache.asMap().get(key);
+            if (stored != null) {
+                return (T) stored;
+            }
+            long before = epoch.get();
+            T value = loader.get();
+            if (epoch.get() == before) {
+                cache.put(key, value);
+                if (epoch.get() != before) {
+                    cache.asMap().remove(key, value);
+                }
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Standings of the teams changed in the given seasons: team stats and top-teams tables.
+     */
+    public void evictTeams(Collection<Long> teamIds, Collection<Integer> years) {
+        Set<Long> teams = new HashSet<>(teamIds);
+        Set<Integer> seasons = new HashSet<>(years);
+        afterCommit(() -> evict((key, value) -> switch (key.method()) {
+            case TEAM_STATS -> teams.contains(key.teamId()) && affects(seasons, key.year());
+            case TOP_TEAMS -> affects(seasons, key.year());
+            default -> false;
+        }));
+    }
+
+    /**
+     * Appearances or goals of the players changed in the given seasons while playing for the given teams.
+     */
+    public void evictPlayers(Collection<Long> playerIds, Collection<Long> teamIds, Collection<Integer> years) {
+        Set<Long> players = new HashSet<>(playerIds);
+        Set<Long> teams = new HashSet<>(teamIds);
+        Set<Integer> seasons = new HashSet<>(years);
+        afterCommit(() -> evict((key, value) -> switch (key.method()) {
+            case PLAYER_STATS -> players.contains(key.playerId()) && affects(seasons, key.year());
+            case TOP_SCORERS -> (key.teamId() == null || teams.contains(key.teamId())) && affects(seasons, key.year());
+            default -> false;
+        }));
+    }
+
+    /**
+     * The player itself changed (name, removal): all its stats and every top-scorers list showing it.
+     */
+    public void evictPlayer(Long playerId) {
+        afterCommit(() -> evict((key, value) -> switch (key.method()) {
+            case PLAYER_STATS -> playerId.equals(key.playerId());
+            case TOP_SCORERS -> value instanceof List<?> rows && rows.stream()
+                    .anyMatch(row -> row instanceof TopScorersStatResponse s && playerId.equals(s.playerId()));
+            default -> false;
+        }));
+    }
+
+    /**
+     * Everything, e.g. after a bulk load that bypassed the write services.
+     */
+    public void evictAll() {
+        afterCommit(() -> evict((key, value) -> true));
+    }
+
+    public StatsCacheResponse snapshot() {
+        CacheStats stats = cache.stats();
+        return new StatsCacheResponse(cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount(), invalidated.get(),
+                singleFlight.executions(), singleFlight.collapsed());
+    }
+
+    // cache.* (hits, misses, evictions, size) tagged cache=stats, plus invalidation and single-flight counts
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "stats");
+        FunctionCounter.builder("stats.cache.invalidated", invalidated, AtomicLong::get)
+                .description("Entries dropped by write-side invalidation")
+                .register(registry);
+        FunctionCounter.builder("stats.cache.singleflight.executions", singleFlight, SingleFlight::executions)
+                .description("Misses that computed the value")
+                .register(registry);
+        FunctionCounter.builder("stats.cache.singleflight.collapsed", singleFlight, SingleFlight::collapsed)
+                .description("Misses that waited for a computation already in flight")
+                .register(registry);
+        Gauge.builder("stats.cache.singleflight.in-flight", singleFlight, SingleFlight::inFlight)
+                .register(registry);
+    }
+
+    private void evict(BiPredicate<StatsCacheKey, Object> predicate) {
+        epoch.incrementAndGet();
+        cache.asMap().entrySet().removeIf(e -> {
+            boolean remove = predicate.test(e.getKey(), e.getValue());
+            if (remove) {
+                invalidated.incrementAndGet();
+            }
+            return remove;
+        });
+    }
+
+    private static boolean affects(Set<Integer> years, Integer keyYear) {
+        return keyYear == null || years.contains(keyYear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.otus.finalProject.service.cache;
+
+/**
+ * Cache key of one StatsService call: method plus its parameters (unused ones are null).
+ */
+public record StatsCacheKey(
+        Method method,
+        Long teamId,
+        Long playerId,
+        Integer year,
+        Integer limit
+) {
+    public enum Method {
+        TEAM_STATS, PLAYER_STATS, TOP_TEAMS, TOP_SCORERS
+    }
+
+    public static StatsCacheKey teamStats(Long teamId, Integer year) {
+        return new StatsCacheKey(Method.TEAM_STATS, teamId, null, year, null);
+    }
+
+    public static StatsCacheKey playerStats(Long playerId, Integer year) {
+        return new StatsCacheKey(Method.PLAYER_STATS, null, playerId, year, null);
+    }
+
+    public static StatsCacheKey topTeams(Integer year, Integer limit) {
+        return new StatsCacheKey(Method.TOP_TEAMS, null, null, year, limit);
+    }
+
+    public static StatsCacheKey topScorers(Long teamId, Integer year, Integer limit) {
+        return new StatsCacheKey(Method.TOP_SCORERS, teamId, null, year, limit);
+    }
+}
@@ -0,0 +1,736 @@
+package org.otus.finalProject.service.columnar;
+
+import jakarta.persistence.EntityManager;
+import org.otus.finalProject.dto.stats.SeasonStoreResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.aggregation.LongIntSlotMap;
+import org.otus.finalProject.service.aggregation.LongLongCounterMap;
+import org.otus.finalProject.service.aggregation.TopK;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory struct-of-arrays copy of the current season: matches, goals and appearances as
+ * primitive columns, plus the team ids and player names needed to answer stats without Postgres.
+ * Loaded once the application is ready; the write services refresh the changed matches (and the
+ * player/team dictionaries) after their transaction commits, reading all of them with one query
+ * per table. A changed match is tombstoned and re-appended, its goals and appearances follow the
+ * match row; dead rows are compacted away. Each reload takes a ticket before it reads; a reload
+ * whose read is overtaken by a later one for the same match is discarded for that match instead
+ * of applying its older snapshot.
+ * Queries return empty when the store cannot answer (disabled, not loaded, unknown id, the
+ * stored season is no longer the current UTC year), callers then fall back to the database.
+ */
+@Component
+public class SeasonColumnStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NO_TEAM = 0L;
+    private static final int TEAM_WIDTH = 4; // {played, wins, draws, losses}
+
+    private final MatchRepository matchRepository;
+    private final GoalRepository goalRepository;
+    private final MatchPlayerRepository matchPlayerRepository;
+    private final PlayerRepository playerRepository;
+    private final TeamRepository teamRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readTx;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns; // null until loaded
+    private Set<Long> pendingMatches; // non-null while a load is running
+    private List<Consumer<Columns>> pendingWrites; // non-null while a load is running
+    private long reloadTickets;
+    private long loadMillis;
+
+    public SeasonColumnStore(MatchRepository matchRepository,
+                             GoalRepository goalRepository,
+                             MatchPlayerRepository matchPlayerRepository,
+                             PlayerRepository playerRepository,
+                             TeamRepository teamRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${stats.season-store.enabled:true}") boolean enabled) {
+        this.matchRepository = matchRepository;
+        this.goalRepository = goalRepository;
+        this.matchPlayerRepository = matchPlayerRepository;
+        this.playerRepository = playerRepository;
+        this.teamRepository = teamRepository;
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        // refreshes run from afterCommit callbacks, so they need a transaction of their own
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTx.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        load();
+    }
+
+    /**
+     * Swaps in the new season at New Year; until the load is done queries fall back to the database.
+     */
+    @Scheduled(cron = "0 0 0 1 1 *", zone = "UTC")
+    public void onNewSeason() {
+        load();
+    }
+
+    /**
+     * (Re)loads the current season from the database; stats keep coming from the previous
+     * copy, or from the database, until the new one is swapped in. A call while another
+     * load is running returns without loading again. Does nothing while the store is disabled.
+     */
+    public SeasonStoreResponse load() {
+        if (!enabled) {
+            return snapshot();
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingMatches != null) {
+                return snapshot();
+            }
+            pendingMatches = new HashSet<>();
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        Columns loaded;
+        try {
+            loaded = readTx.execute(status -> read(LocalDate.now(ZoneOffset.UTC).getYear()));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingMatches = null;
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        Set<Long> pending;
+        lock.writeLock().lock();
+        try {
+            // changes committed while the load was streaming may be missing from it
+            pendingWrites.forEach(change -> change.accept(loaded));
+            columns = loaded;
+            loadMillis = (System.nanoTime() - started) / 1_000_000;
+            pending = pendingMatches;
+            pendingMatches = null;
+            pendingWrites = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reload(pending);
+        return snapshot();
+    }
+
+    // ---- write side: called by the services inside their transaction, applied after commit ----
+
+    public void refreshMatches(Collection<Long> matchIds) {
+        if (!enabled) return;
+        List<Long> ids = List.copyOf(new HashSet<>(matchIds));
+        afterCommit(() -> reload(ids));
+    }
+
+    public void refreshMatch(Long matchId) {
+        refreshMatches(List.of(matchId));
+    }
+
+    public void putTeam(Long teamId) {
+        if (!enabled) return;
+        afterCommit(() -> write(c -> c.teams.add(teamId)));
+    }
+
+    public void removeTeam(Long teamId) {
+        if (!enabled) return;
+        afterCommit(() -> write(c -> c.teams.remove(teamId)));
+    }
+
+    public void putPlayer(Long playerId, String firstName, String lastName) {
+        if (!enabled) return;
+        PlayerName name = new PlayerName(firstName, lastName);
+        afterCommit(() -> write(c -> c.players.put(playerId, name)));
+    }
+
+    public void removePlayer(Long playerId) {
+        if (!enabled) return;
+        afterCommit(() -> write(c -> c.players.remove(playerId)));
+    }
+
+    // ---- read side ----
+
+    public Optional<TeamTotals> teamTotals(Integer year, Long teamId) {
+        return teamTotals(year, List.of(teamId)).map(list -> list.get(0));
+    }
+
+    /**
+     * Totals in the order of the ids; empty when the year is not the stored season
+     * or any team is unknown to the store.
+     */
+    public Optional<List<TeamTotals>> teamTotals(Integer year, Collection<Long> teamIds) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (!covers(c, year) || !c.teams.containsAll(teamIds)) return Optional.empty();
+
+            LongIntSlotMap slots = new LongIntSlotMap(1, teamIds.size());
+            for (Long teamId : teamIds) {
+                slots.slot(teamId);
+            }
+            int[] totals = new int[slots.size() * TEAM_WIDTH];
+            for (int row = 0; row < c.matchCount; row++) {
+                if (!c.live[row]) continue;
+                int s1 = slots.find(c.team1[row]);
+                if (s1 >= 0) count(totals, s1, c.score1[row], c.score2[row]);
+                int s2 = slots.find(c.team2[row]);
+                if (s2 >= 0) count(totals, s2, c.score2[row], c.score1[row]);
+            }
+
+            List<TeamTotals> result = new ArrayList<>(teamIds.size());
+            for (Long teamId : teamIds) {
+                result.add(TeamTotals.of(teamId, totals, slots.find(teamId)));
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<PlayerTotals> playerTotals(Integer year, Long playerId) {
+        return playerTotals(year, List.of(playerId)).map(list -> list.get(0));
+    }
+
+    /**
+     * Totals in the order of the ids; empty when the year is not the stored season
+     * or any player is unknown to the store.
+     */
+    public Optional<List<PlayerTotals>> playerTotals(Integer year, Collection<Long> playerIds) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (!covers(c, year) || !c.players.keySet().containsAll(playerIds)) return Optional.empty();
+
+            LongIntSlotMap slots = new LongIntSlotMap(1, playerIds.size());
+            for (Long playerId : playerIds) {
+                slots.slot(playerId);
+            }
+            int[] totals = new int[slots.size() * 3]; // {matchesPlayed, minutesPlayed, goals}
+            for (int i = 0; i < c.appCount; i++) {
+                if (!c.live[c.appMatchRow[i]]) continue;
+                int s = slots.find(c.appPlayer[i]);
+                if (s >= 0) {
+                    totals[s * 3]++;
+                    totals[s * 3 + 1] += c.appMinutes[i];
+                }
+            }
+            for (int i = 0; i < c.goalCount; i++) {
+                if (!c.live[c.goalMatchRow[i]]) continue;
+                int s = slots.find(c.goalPlayer[i]);
+                if (s >= 0) totals[s * 3 + 2]++;
+            }
+
+            List<PlayerTotals> result = new ArrayList<>(playerIds.size());
+            for (Long playerId : playerIds) {
+                int s = slots.find(playerId) * 3;
+                result.add(new PlayerTotals(playerId, totals[s], totals[s + 1], totals[s + 2]));
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Same order as the database standings: wins desc, draws desc, losses asc, played desc, team id asc.
+     */
+    public Optional<List<TeamTotals>> topTeams(Integer year, int limit) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (!covers(c, year)) return Optional.empty();
+
+            LongIntSlotMap slots = new LongIntSlotMap(1, c.teams.size());
+            int[] totals = new int[c.teams.size() * TEAM_WIDTH];
+            for (int row = 0; row < c.matchCount; row++) {
+                if (!c.live[row]) continue;
+                int s1 = slots.slot(c.team1[row]);
+                int s2 = slots.slot(c.team2[row]);
+                totals = LongIntSlotMap.ensureLength(totals, slots.size() * TEAM_WIDTH);
+                count(totals, s1, c.score1[row], c.score2[row]);
+                count(totals, s2, c.score2[row], c.score1[row]);
+            }
+
+            int[] t = totals;
+            int[] top = TopK.select(slots.size(), limit, (a, b) -> {
+                int x = a * TEAM_WIDTH, y = b * TEAM_WIDTH;
+                int cmp = Integer.compare(t[y + 1], t[x + 1]); // wins desc
+                if (cmp == 0) cmp = Integer.compare(t[y + 2], t[x + 2]); // draws desc
+                if (cmp == 0) cmp = Integer.compare(t[x + 3], t[y + 3]); // losses asc
+                if (cmp == 0) cmp = Integer.compare(t[y], t[x]); // played desc
+                if (cmp == 0) cmp = Long.compare(slots.key(a, 0), slots.key(b, 0));
+                return cmp;
+            });
+
+            List<TeamTotals> result = new ArrayList<>(top.length);
+            for (int slot : top) {
+                result.add(TeamTotals.of(slots.key(slot, 0), totals, slot));
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Goals per (player, team at the match), optionally for one team; ordered like the database
+     * query: goals desc, last name asc, first name asc (String.compareTo, the "C" collation of the
+     * query), then player and team id.
+     * Empty when a scorer's name is unknown.
+     */
+    public Optional<List<TopScorersStatResponse>> topScorers(Integer year, Long teamId, int limit) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (!covers(c, year)) return Optional.empty();
+
+            long team = teamId == null ? NO_TEAM : teamId;
+            LongIntSlotMap slots = new LongIntSlotMap(2, 256);
+            int[] goals = new int[256];
+            for (int i = 0; i < c.goalCount; i++) {
+                if (!c.live[c.goalMatchRow[i]] || c.goalTeam[i] == NO_TEAM) continue;
+                if (team != NO_TEAM && c.goalTeam[i] != team) continue;
+                int s = slots.slot(c.goalPlayer[i], c.goalTeam[i]);
+                goals = LongIntSlotMap.ensureLength(goals, s + 1);
+                goals[s]++;
+            }
+
+            PlayerName[] names = new PlayerName[slots.size()];
+            for (int s = 0; s < names.length; s++) {
+                names[s] = c.players.get(slots.key(s, 0));
+                if (names[s] == null) return Optional.empty();
+            }
+
+            int[] g = goals;
+            int[] top = TopK.select(slots.size(), limit, (a, b) -> {
+                int cmp = Integer.compare(g[b], g[a]);
+                if (cmp == 0) cmp = names[a].lastName().compareTo(names[b].lastName());
+                if (cmp == 0) cmp = names[a].firstName().compareTo(names[b].firstName());
+                if (cmp == 0) cmp = Long.compare(slots.key(a, 0), slots.key(b, 0));
+                if (cmp == 0) cmp = Long.compare(slots.key(a, 1), slots.key(b, 1));
+                return cmp;
+            });
+
+            List<TopScorersStatResponse> result = new ArrayList<>(top.length);
+            for (int s : top) {
+                result.add(new TopScorersStatResponse(slots.key(s, 0), names[s].firstName(), names[s].lastName(),
+                        slots.key(s, 1), goals[s]));
+            }
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SeasonStoreResponse snapshot() {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (c == null) {
+                return new SeasonStoreResponse(enabled, false, null, 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            return new SeasonStoreResponse(enabled, true, c.seasonYear,
+                    c.matchCount - c.deadMatches, c.deadMatches, c.goalCount, c.appCount,
+                    c.teams.size(), c.players.size(), c.footprintBytes(), loadMillis);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Column rows walked by a scan of the given kind; reported by the profiling events.
+     */
+    public int scanRows(Scan scan) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            if (c == null) return 0;
+            return switch (scan) {
+                case MATCHES -> c.matchCount;
+                case APPEARANCES_AND_GOALS -> c.appCount + c.goalCount;
+                case GOALS -> c.goalCount;
+            };
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public enum Scan {
+        MATCHES, // team totals, top teams
+        APPEARANCES_AND_GOALS, // player totals
+        GOALS // top scorers
+    }
+
+    // ---- loading ----
+
+    private Columns read(int seasonYear) {
+        Columns c = new Columns(seasonYear);
+        Instant from = LocalDate.of(seasonYear, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant to = LocalDate.of(seasonYear + 1, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        c.teams.addAll(teamRepository.findAllIds());
+        for (Player p : playerRepository.findAll()) {
+            c.players.put(p.getId(), new PlayerName(p.getFirstName(), p.getLastName()));
+        }
+        entityManager.clear();
+
+        try (Stream<Match> matches = matchRepository.streamByMatchDateBetween(from, to)) {
+            consume(matches, m -> {
+                if (MatchOutcome.seasonYear(m.getMatchDate()) == seasonYear) c.appendMatch(m);
+            });
+        }
+        // team at the match (by appearance slot), needed to attribute goals like the database top-scorers query
+        LongIntSlotMap appearanceSlots = new LongIntSlotMap(2, INITIAL_CAPACITY);
+        long[][] teamAtMatch = {new long[INITIAL_CAPACITY]};
+        try (Stream<MatchPlayer> appearances = matchPlayerRepository.streamByMatch_MatchDateBetween(from, to)) {
+            consume(appearances, mp -> {
+                if (c.appendAppearance(mp)) {
+                    int s = appearanceSlots.slot(mp.getId().getMatchId(), mp.getId().getPlayerId());
+                    if (s == teamAtMatch[0].length) teamAtMatch[0] = Arrays.copyOf(teamAtMatch[0], s * 2);
+                    teamAtMatch[0][s] = mp.getTeam().getId();
+                }
+            });
+        }
+        try (Stream<Goal> goals = goalRepository.streamByMatch_MatchDateBetween(from, to)) {
+            consume(goals, g -> {
+                int s = appearanceSlots.find(g.getMatch().getId(), g.getPlayer().getId());
+                c.appendGoal(g, s < 0 ? NO_TEAM : teamAtMatch[0][s]);
+            });
+        }
+        return c;
+    }
+
+    private <T> void consume(Stream<T> stream, Consumer<T> action) {
+        int n = 0;
+        Iterator<T> it = stream.iterator();
+        while (it.hasNext()) {
+            action.accept(it.next());
+            if (++n % MatchRepository.STREAM_FETCH_SIZE == 0) {
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+    }
+
+    /**
+     * Reads the matches with their lineups and goals (one IN query per table, whatever the number
+     * of ids) and applies them in one write; an id not found any more drops its match.
+     */
+    private void reload(Collection<Long> matchIds) {
+        if (matchIds.isEmpty()) return;
+        long ticket;
+        lock.writeLock().lock();
+        try {
+            if (pendingMatches != null) pendingMatches.addAll(matchIds);
+            if (columns == null) return;
+            // taken after the commit, before the read: a higher ticket reads a newer snapshot
+            ticket = ++reloadTickets;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        readTx.executeWithoutResult(status -> {
+            Map<Long, Match> matches = new HashMap<>(matchIds.size());
+            for (Match m : matchRepository.findAllById(matchIds)) {
+                matches.put(m.getId(), m);
+            }
+            List<MatchPlayer> appearances = matches.isEmpty() ? List.of() : matchPlayerRepository.findByMatch_IdIn(matches.keySet());
+            List<Goal> goals = matches.isEmpty() ? List.of() : goalRepository.findByMatch_IdIn(matches.keySet());
+            write(c -> {
+                Set<Long> appended = new HashSet<>(matches.size());
+                for (Long id : matchIds) {
+                    if (!c.claim(id, ticket)) continue;
+                    c.dropMatch(id);
+                    Match match = matches.get(id);
+                    if (match == null || MatchOutcome.seasonYear(match.getMatchDate()) != c.seasonYear) continue;
+                    c.appendMatch(match);
+                    appended.add(id);
+                }
+                LongIntSlotMap appearanceSlots = new LongIntSlotMap(2, appearances.size());
+                long[] teamAtMatch = new long[appearances.size()];
+                for (MatchPlayer mp : appearances) {
+                    if (!appended.contains(mp.getId().getMatchId())) continue;
+                    c.appendAppearance(mp);
+                    teamAtMatch[appearanceSlots.slot(mp.getId().getMatchId(), mp.getId().getPlayerId())] = mp.getTeam().getId();
+                }
+                for (Goal g : goals) {
+                    if (!appended.contains(g.getMatch().getId())) continue;
+                    int s = appearanceSlots.find(g.getMatch().getId(), g.getPlayer().getId());
+                    c.appendGoal(g, s < 0 ? NO_TEAM : teamAtMatch[s]);
+                }
+            });
+        });
+    }
+
+    private void write(Consumer<Columns> change) {
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.add(change);
+            }
+            if (columns != null) {
+                change.accept(columns);
+                columns.compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean covers(Columns c, Integer year) {
+        return c != null && year != null && year == c.seasonYear
+                && c.seasonYear == LocalDate.now(ZoneOffset.UTC).getYear();
+    }
+
+    private static void count(int[] totals, int slot, int goalsFor, int goalsAgainst) {
+        int t = slot * TEAM_WIDTH;
+        totals[t]++;
+        if (goalsFor > goalsAgainst) {
+            totals[t + 1]++;
+        } else if (goalsFor == goalsAgainst) {
+            totals[t + 2]++;
+        } else {
+            totals[t + 3]++;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record TeamTotals(long teamId, int played, int wins, int draws, int losses) {
+        static TeamTotals of(long teamId, int[] totals, int slot) {
+            int t = slot * TEAM_WIDTH;
+            return new TeamTotals(teamId, totals[t], totals[t + 1], totals[t + 2], totals[t + 3]);
+        }
+    }
+
+    public record PlayerTotals(long playerId, int matchesPlayed, int minutesPlayed, int goals) {
+    }
+
+    private record PlayerName(String firstName, String lastName) {
+    }
+
+    /**
+     * The columns themselves; only touched under the store lock.
+     */
+    private static final class Columns {
+        final int seasonYear;
+        final Set<Long> teams = new HashSet<>();
+        final Map<Long, PlayerName> players = new HashMap<>();
+        final LongLongCounterMap rowByMatch = new LongLongCounterMap(INITIAL_CAPACITY);
+        final LongLongCounterMap ticketByMatch = new LongLongCounterMap(64); // last reload applied per match
+
+        // matches
+        long[] matchId = new long[INITIAL_CAPACITY];
+        long[] team1 = new long[INITIAL_CAPACITY];
+        long[] team2 = new long[INITIAL_CAPACITY];
+        int[] score1 = new int[INITIAL_CAPACITY];
+        int[] score2 = new int[INITIAL_CAPACITY];
+        int[] epochDay = new int[INITIAL_CAPACITY];
+        boolean[] live = new boolean[INITIAL_CAPACITY];
+        int matchCount;
+        int deadMatches;
+
+        // goals, attributed to the match row; goalTeam is the scorer's team at the match or NO_TEAM
+        int[] goalMatchRow = new int[INITIAL_CAPACITY];
+        long[] goalPlayer = new long[INITIAL_CAPACITY];
+        long[] goalTeam = new long[INITIAL_CAPACITY];
+        int goalCount;
+
+        // appearances (match_player)
+        int[] appMatchRow = new int[INITIAL_CAPACITY];
+        long[] appPlayer = new long[INITIAL_CAPACITY];
+        long[] appTeam = new long[INITIAL_CAPACITY];
+        int[] appMinutes = new int[INITIAL_CAPACITY];
+        int appCount;
+
+        Columns(int seasonYear) {
+            this.seasonYear = seasonYear;
+        }
+
+        void appendMatch(Match m) {
+            if (matchCount == matchId.length) growMatches(matchCount * 2);
+            int row = matchCount++;
+            matchId[row] = m.getId();
+            team1[row] = m.getTeam1().getId();
+            team2[row] = m.getTeam2().getId();
+            score1[row] = Objects.requireNonNullElse(m.getTeam1Score(), 0);
+            score2[row] = Objects.requireNonNullElse(m.getTeam2Score(), 0);
+            epochDay[row] = (int) m.getMatchDate().atZone(ZoneOffset.UTC).toLocalDate().toEpochDay();
+            live[row] = true;
+            rowByMatch.put(m.getId(), row);
+        }
+
+        boolean appendAppearance(MatchPlayer mp) {
+            int row = (int) rowByMatch.get(mp.getId().getMatchId(), -1);
+            if (row < 0) return false;
+            if (appCount == appMatchRow.length) growAppearances(appCount * 2);
+            appMatchRow[appCount] = row;
+            appPlayer[appCount] = mp.getId().getPlayerId();
+            appTeam[appCount] = mp.getTeam().getId();
+            appMinutes[appCount] = Objects.requireNonNullElse(mp.getMinutesPlayed(), 0);
+            appCount++;
+            return true;
+        }
+
+        void appendGoal(Goal g, long teamAtMatch) {
+            int row = (int) rowByMatch.get(g.getMatch().getId(), -1);
+            if (row < 0) return;
+            if (goalCount == goalMatchRow.length) growGoals(goalCount * 2);
+            goalMatchRow[goalCount] = row;
+            goalPlayer[goalCount] = g.getPlayer().getId();
+            goalTeam[goalCount] = teamAtMatch;
+            goalCount++;
+        }
+
+        /**
+         * False when a reload with a later ticket has already been applied to the match.
+         */
+        boolean claim(long id, long ticket) {
+            if (ticketByMatch.get(id, 0) > ticket) return false;
+            ticketByMatch.put(id, ticket);
+            return true;
+        }
+
+        void dropMatch(long id) {
+            int row = (int) rowByMatch.get(id, -1);
+            if (row >= 0) {
+                rowByMatch.remove(id);
+                live[row] = false;
+                deadMatches++;
+            }
+        }
+
+        /**
+         * Rewrites the columns without dead match rows (and their goals and appearances)
+         * once at least half of the rows are dead.
+         */
+        void compactIfSparse() {
+            if (deadMatches < INITIAL_CAPACITY || deadMatches * 2 < matchCount) return;
+
+            int[] newRow = new int[matchCount];
+            int rows = 0;
+            for (int row = 0; row < matchCount; row++) {
+                if (!live[row]) {
+                    newRow[row] = -1;
+                    continue;
+                }
+                newRow[row] = rows;
+                matchId[rows] = matchId[row];
+                team1[rows] = team1[row];
+                team2[rows] = team2[row];
+                score1[rows] = score1[row];
+                score2[rows] = score2[row];
+                epochDay[rows] = epochDay[row];
+                live[rows] = true;
+                rowByMatch.put(matchId[rows], rows);
+                rows++;
+            }
+            Arrays.fill(live, rows, matchCount, false);
+            matchCount = rows;
+            deadMatches = 0;
+
+            int goals = 0;
+            for (int i = 0; i < goalCount; i++) {
+                int row = newRow[goalMatchRow[i]];
+                if (row < 0) continue;
+                goalMatchRow[goals] = row;
+                goalPlayer[goals] = goalPlayer[i];
+                goalTeam[goals] = goalTeam[i];
+                goals++;
+            }
+            goalCount = goals;
+
+            int apps = 0;
+            for (int i = 0; i < appCount; i++) {
+                int row = newRow[appMatchRow[i]];
+                if (row < 0) continue;
+                appMatchRow[apps] = row;
+                appPlayer[apps] = appPlayer[i];
+                appTeam[apps] = appTeam[i];
+                appMinutes[apps] = appMinutes[i];
+                apps++;
+            }
+            appCount = apps;
+        }
+
+        /**
+         * Estimated heap use: column arrays at their capacity, the match id index, plus roughly
+         * 64 bytes per boxed set entry and 128 per player name entry.
+         */
+        long footprintBytes() {
+            long matchColumns = (long) matchId.length * (8 + 8 + 8 + 4 + 4 + 4 + 1);
+            long goalColumns = (long) goalMatchRow.length * (4 + 8 + 8);
+            long appColumns = (long) appMatchRow.length * (4 + 8 + 8 + 4);
+            long dictionaries = rowByMatch.footprintBytes() + ticketByMatch.footprintBytes()
+                    + 64L * teams.size() + 128L * players.size();
+            return matchColumns + goalColumns + appColumns + dictionaries;
+        }
+
+        private void growMatches(int capacity) {
+            matchId = Arrays.copyOf(matchId, capacity);
+            team1 = Arrays.copyOf(team1, capacity);
+            team2 = Arrays.copyOf(team2, capacity);
+            score1 = Arrays.copyOf(score1, capacity);
+            score2 = Arrays.copyOf(score2, capacity);
+            epochDay = Arrays.copyOf(epochDay, capacity);
+            live = Arrays.copyOf(live, capacity);
+        }
+
+        private void growGoals(int capacity) {
+            goalMatchRow = Arrays.copyOf(goalMatchRow, capacity);
+            goalPlayer = Arrays.copyOf(goalPlayer, capacity);
+            goalTeam = Arrays.copyOf(goalTeam, capacity);
+        }
+
+        private void growAppearances(int capacity) {
+            appMatchRow = Arrays.copyOf(appMatchRow, capacity);
+            appPlayer = Arrays.copyOf(appPlayer, capacity);
+            appTeam = Arrays.copyOf(appTeam, capacity);
+            appMinutes = Arrays.copyOf(appMinutes, capacity);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.otus.finalProject.service.generator;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Streams CSV rows into one {@code COPY ... FROM STDIN}; rows are buffered and sent in chunks.
+ * Values are written unquoted, so strings must not contain commas, quotes or line breaks.
+ */
+final class CopyRows implements AutoCloseable {
+    private static final int CHUNK = 1 << 16;
+
+    private final String sql;
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(CHUNK + 1024);
+    private boolean rowStarted;
+    private long rows;
+
+    CopyRows(CopyManager copyManager, String table, String columns) {
+        this.sql = "COPY " + table + " (" + columns + ") FROM STDIN WITH (FORMAT csv)";
+        try {
+            this.copyIn = copyManager.copyIn(sql);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY " + table, sql, e);
+        }
+    }
+
+    CopyRows add(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyRows add(boolean value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyRows add(String value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    CopyRows add(LocalDateTime value) {
+        separator();
+        buffer.append(value.toLocalDate()).append(' ').append(value.toLocalTime());
+        return this;
+    }
+
+    void endRow() {
+        buffer.append('\n');
+        rowStarted = false;
+        rows++;
+        if (buffer.length() >= CHUNK) flush();
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        try {
+            copyIn.endCopy();
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY end", sql, e);
+        }
+    }
+
+    private void separator() {
+        if (rowStarted) buffer.append(',');
+        rowStarted = true;
+    }
+
+    private void flush() {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        buffer.setLength(0);
+        try {
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY write", sql, e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package org.otus.finalProject.service.generator;
+
+import lombok.RequiredArgsConstructor;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.dto.generator.GenerateResponse;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.generator.LeaguePlan.PlannedMatch;
+import org.otus.finalProject.service.generator.LeaguePlan.Side;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Loads a {@link LeaguePlan} with {@code COPY ... FROM STDIN} in one transaction, bypassing the
+ * entity services. Ids are reserved from the table sequences up front, so the app can keep
+ * running; with {@code replace} the league tables are truncated first. The standings read
+ * model is rebuilt in the same transaction, the stats cache and season store afterwards.
+ * Replacing restarts the sequences, while a running app keeps the id blocks it has already
+ * taken from them: restart it if it created entities before the replace.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeagueDataGenerator {
+    private static final String[] COUNTRIES = {"England", "Spain", "Italy", "Germany", "France", "Portugal", "Netherlands"};
+    private static final String[] FIRST_NAMES = {"Alex", "Ben", "Carlos", "Dmitry", "Erik", "Felix", "Hugo", "Ivan", "Luca", "Marco"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TeamSeasonStatsService teamSeasonStatsService;
+    private final StatsCache statsCache;
+    private final SeasonColumnStore seasonColumnStore;
+
+    public GenerateResponse generate(GenerateRequest request) {
+        long started = System.nanoTime();
+        GenerateResponse loaded = transactionTemplate.execute(status -> load(request));
+        statsCache.evictAll();
+        seasonColumnStore.load();
+        return new GenerateResponse(loaded.teams(), loaded.players(), loaded.championships(),
+                loaded.matches(), loaded.appearances(), loaded.goals(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private GenerateResponse load(GenerateRequest request) {
+        if (request.replace()) {
+            jdbcTemplate.execute("TRUNCATE TABLE goals, match_player, match, team_season_stats, player, team, championship RESTART IDENTITY");
+        }
+        int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+        LeaguePlan sizes = new LeaguePlan(request, currentYear, 0, 0, 0, 0);
+        LeaguePlan plan = new LeaguePlan(request, currentYear,
+                reserveIds("team", sizes.teams()),
+                reserveIds("player", sizes.players()),
+                reserveIds("championship", sizes.seasons()),
+                reserveIds("match", sizes.matches()));
+
+        GenerateResponse response = jdbcTemplate.execute((ConnectionCallback<GenerateResponse>) connection ->
+                copy(connection.unwrap(PGConnection.class).getCopyAPI(), plan));
+
+        teamSeasonStatsService.rebuild();
+        jdbcTemplate.execute("ANALYZE team, player, championship, match, match_player, goals, team_season_stats");
+        return response;
+    }
+
+    private GenerateResponse copy(CopyManager copyManager, LeaguePlan plan) {
+        try (CopyRows rows = new CopyRows(copyManager, "team", "id, name, country")) {
+            for (int t = 0; t < plan.teams(); t++) {
+                long id = plan.teamId(t);
+                rows.add(id).add("Team " + id).add(COUNTRIES[t % COUNTRIES.length]).endRow();
+            }
+        }
+
+        int squad = (int) (plan.players() / plan.teams());
+        try (CopyRows rows = new CopyRows(copyManager, "player", "id, first_name, last_name, team_id")) {
+            for (int t = 0; t < plan.teams(); t++) {
+                for (int p = 0; p < squad; p++) {
+                    rows.add(plan.playerId(t, p))
+                            .add(FIRST_NAMES[(t + p) % FIRST_NAMES.length])
+                            .add("Player" + (p + 1))                  // unique within (team_id, last_name)
+                            .add(plan.teamId(t))
+                            .endRow();
+                }
+            }
+        }
+
+        try (CopyRows rows = new CopyRows(copyManager, "championship", "id, name, start_date, end_date")) {
+            for (int s = 0; s < plan.seasons(); s++) {
+                long id = plan.championshipId(s);
+                int year = plan.seasonYear(s);
+                rows.add(id).add("League " + year + " #" + id)
+                        .add(LocalDate.of(year, 1, 1).atStartOfDay())
+                        .add(LocalDate.of(year, 12, 31).atStartOfDay())
+                        .endRow();
+            }
+        }
+
+        // one COPY at a time per connection, so the plan is replayed for each of the match tables
+        long[] goals = new long[1];
+        try (CopyRows rows = new CopyRows(copyManager, "match",
+                "id, team1_id, team2_id, team1_score, team2_score, match_date, championship_id")) {
+            plan.forEachMatch(m -> {
+                rows.add(m.id()).add(m.side1().teamId()).add(m.side2().teamId())
+                        .add(m.side1().score()).add(m.side2().score())
+                        .add(toTimestamp(m))
+                        .add(m.championshipId())
+                        .endRow();
+                goals[0] += m.side1().score() + m.side2().score();
+            });
+        }
+
+        long appearances;
+        try (CopyRows rows = new CopyRows(copyManager, "match_player",
+                "match_id, player_id, team_id, is_starting, minutes_played")) {
+            plan.forEachMatch(m -> {
+                appendLineup(rows, m.id(), m.side1());
+                appendLineup(rows, m.id(), m.side2());
+            });
+            appearances = rows.rows();
+        }
+
+        long[] goalId = {reserveIds("goals", goals[0])};
+        try (CopyRows rows = new CopyRows(copyManager, "goals", "id, match_id, player_id, goal_time")) {
+            plan.forEachMatch(m -> {
+                appendGoals(rows, m.id(), m.side1(), goalId);
+                appendGoals(rows, m.id(), m.side2(), goalId);
+            });
+        }
+
+        return new GenerateResponse(plan.teams(), plan.players(), plan.seasons(), plan.matches(), appearances, goals[0], 0);
+    }
+
+    private static void appendLineup(CopyRows rows, long matchId, Side side) {
+        for (int i = 0; i < side.players().length; i++) {
+            rows.add(matchId).add(side.players()[i]).add(side.teamId())
+                    .add(i < LeaguePlan.STARTERS)
+                    .add(side.minutes()[i])
+                    .endRow();
+        }
+    }
+
+    private static void appendGoals(CopyRows rows, long matchId, Side side, long[] lastId) {
+        for (int g = 0; g < side.scorers().length; g++) {
+            rows.add(++lastId[0]).add(matchId).add(side.scorers()[g]).add(side.goalTimes()[g]).endRow();
+        }
+    }
+
+    // match_date is TIMESTAMP holding UTC, as Hibernate binds Instant attributes (hibernate.jdbc.time_zone)
+    private static LocalDateTime toTimestamp(PlannedMatch match) {
+        return LocalDateTime.ofInstant(match.matchDate(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Takes {@code count} ids from the table's sequence and returns the one before the first.
+     * The next value is above any block Hibernate holds, whatever the sequence increment.
+     */
+    private long reserveIds(String table, long count) {
+        if (count == 0) return 0;
+        Long last = jdbcTemplate.queryForObject(
+                "SELECT setval(pg_get_serial_sequence(?, 'id'), nextval(pg_get_serial_sequence(?, 'id')) + ? - 1)",
+                Long.class, table, table, count);
+        return last - count;
+    }
+}
@@ -0,0 +1,56 @@
+package org.otus.finalProject.service.generator;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.otus.finalProject.Application;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.dto.generator.GenerateResponse;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Command line entry point of the generator: {@code ./gradlew generateData -PgeneratorArgs="--generator.teams=2000 ..."}.
+ * Boots the application without the web server and the season store, loads the data and exits.
+ * Properties: generator.teams, players-per-team, seasons, rounds-per-season, goals-per-match, seed, replace.
+ */
+@Slf4j
+public final class LeagueDataGeneratorCli {
+
+    private LeagueDataGeneratorCli() {
+    }
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties("stats.season-store.enabled=false")
+                .run(args);
+
+        Environment env = context.getEnvironment();
+        GenerateRequest request = new GenerateRequest(
+                env.getProperty("generator.teams", Integer.class),
+                env.getProperty("generator.players-per-team", Integer.class),
+                env.getProperty("generator.seasons", Integer.class),
+                env.getProperty("generator.rounds-per-season", Integer.class),
+                env.getProperty("generator.goals-per-match", Double.class),
+                env.getProperty("generator.seed", Long.class),
+                env.getProperty("generator.replace", Boolean.class));
+
+        Set<ConstraintViolation<GenerateRequest>> violations = context.getBean(Validator.class).validate(request);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .collect(Collectors.joining(", ")));
+        }
+
+        GenerateResponse response = context.getBean(LeagueDataGenerator.class).generate(request);
+        log.info("Generated {}", response);
+        System.exit(SpringApplication.exit(context));
+    }
+}
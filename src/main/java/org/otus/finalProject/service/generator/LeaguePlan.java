@@ -0,0 +1,220 @@
+package org.otus.finalProject.service.generator;
+
+import org.otus.finalProject.dto.generator.GenerateRequest;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic fixture list of a generated league. Every season has {@code roundsPerSeason}
+ * rounds in which each team plays at most once (one team rests when the count is odd), so
+ * (team1, team2, match_date) never repeats. Each side fields 11 starters and 3 substitutes of
+ * its own squad with minutes in [0..90]; goals are scored by players on the pitch at the time,
+ * and the score is the number of goals. The same request and ids always give the same data.
+ */
+public final class LeaguePlan {
+    public static final int STARTERS = 11;
+    public static final int SUBSTITUTES = 3;
+    public static final int FULL_TIME = 90;
+
+    private final GenerateRequest request;
+    private final int firstYear;
+    private final long teamBase;
+    private final long playerBase;
+    private final long championshipBase;
+    private final long matchBase;
+
+    /**
+     * @param teamBase the first team gets {@code teamBase + 1}; likewise for the other bases
+     */
+    public LeaguePlan(GenerateRequest request, int currentYear,
+                      long teamBase, long playerBase, long championshipBase, long matchBase) {
+        this.request = request;
+        this.firstYear = currentYear - request.seasons() + 1;
+        this.teamBase = teamBase;
+        this.playerBase = playerBase;
+        this.championshipBase = championshipBase;
+        this.matchBase = matchBase;
+    }
+
+    public int teams() {
+        return request.teams();
+    }
+
+    public long players() {
+        return (long) request.teams() * request.playersPerTeam();
+    }
+
+    public int seasons() {
+        return request.seasons();
+    }
+
+    public long matches() {
+        return (long) request.seasons() * request.roundsPerSeason() * (request.teams() / 2);
+    }
+
+    public long teamId(int team) {
+        return teamBase + team + 1;
+    }
+
+    public long playerId(int team, int index) {
+        return playerBase + (long) team * request.playersPerTeam() + index + 1;
+    }
+
+    public long championshipId(int season) {
+        return championshipBase + season + 1;
+    }
+
+    public int seasonYear(int season) {
+        return firstYear + season;
+    }
+
+    /**
+     * Walks all matches in id order; each call regenerates them from the seed.
+     */
+    public void forEachMatch(Consumer<PlannedMatch> action) {
+        int teams = request.teams();
+        long index = 0;
+        for (int season = 0; season < request.seasons(); season++) {
+            for (int round = 0; round < request.roundsPerSeason(); round++) {
+                int[] order = roundOrder(season, round);
+                Instant date = roundDate(season, round);
+                for (int pair = 0; pair + 1 < teams; pair += 2) {
+                    action.accept(match(index++, season, order[pair], order[pair + 1], date));
+                }
+            }
+        }
+    }
+
+    /**
+     * The match with the given 0-based position in {@link #forEachMatch} order.
+     */
+    public PlannedMatch match(long index) {
+        int perRound = request.teams() / 2;
+        long roundIndex = index / perRound;
+        int season = (int) (roundIndex / request.roundsPerSeason());
+        int round = (int) (roundIndex % request.roundsPerSeason());
+        int pair = (int) (index % perRound) * 2;
+        int[] order = roundOrder(season, round);
+        return match(index, season, order[pair], order[pair + 1], roundDate(season, round));
+    }
+
+    private int[] roundOrder(int season, int round) {
+        int[] order = new int[request.teams()];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+        shuffle(order, order.length, new SplittableRandom(mix(request.seed(), season, round)));
+        return order;
+    }
+
+    // rounds spread over Jan 10 .. Dec 5, always within the season year
+    private Instant roundDate(int season, int round) {
+        return LocalDate.of(seasonYear(season), 1, 10)
+                .plusDays(round * 330L / request.roundsPerSeason())
+                .atTime(18, 0)
+                .toInstant(ZoneOffset.UTC);
+    }
+
+    private PlannedMatch match(long index, int season, int home, int away, Instant date) {
+        SplittableRandom random = new SplittableRandom(mix(request.seed(), index));
+        if (random.nextBoolean()) {
+            int t = home;
+            home = away;
+            away = t;
+        }
+        Side side1 = side(home, random);
+        Side side2 = side(away, random);
+        return new PlannedMatch(matchBase + index + 1, championshipId(season), date, side1, side2);
+    }
+
+    private Side side(int team, SplittableRandom random) {
+        int squad = request.playersPerTeam();
+        int picked = STARTERS + SUBSTITUTES;
+        int[] pool = new int[squad];
+        for (int i = 0; i < squad; i++) pool[i] = i;
+        shuffle(pool, picked, random);
+
+        long[] players = new long[picked];
+        int[] minutes = new int[picked];
+        int[] substitutedAt = new int[SUBSTITUTES];
+        for (int s = 0; s < SUBSTITUTES; s++) substitutedAt[s] = 46 + random.nextInt(40);
+        for (int i = 0; i < picked; i++) {
+            players[i] = playerId(team, pool[i]);
+            if (i < SUBSTITUTES) {
+                minutes[i] = substitutedAt[i];                          // starter replaced by sub i
+            } else if (i < STARTERS) {
+                minutes[i] = FULL_TIME;
+            } else {
+                minutes[i] = FULL_TIME - substitutedAt[i - STARTERS];   // sub i
+            }
+        }
+
+        int goals = poisson(request.goalsPerMatch() / 2, random);
+        long[] scorers = new long[goals];
+        int[] times = new int[goals];
+        for (int g = 0; g < goals; g++) {
+            int i = random.nextInt(picked);
+            int from = i >= STARTERS ? substitutedAt[i - STARTERS] : 1;
+            int to = i < SUBSTITUTES ? substitutedAt[i] : FULL_TIME;
+            scorers[g] = players[i];
+            times[g] = from + random.nextInt(to - from + 1);
+        }
+        return new Side(teamId(team), players, minutes, scorers, times);
+    }
+
+    private static int poisson(double mean, SplittableRandom random) {
+        double limit = Math.exp(-mean);
+        int k = 0;
+        double p = random.nextDouble();
+        while (p > limit) {
+            k++;
+            p *= random.nextDouble();
+        }
+        return k;
+    }
+
+    // partial Fisher-Yates: the first n slots end up a uniform sample of the array
+    private static void shuffle(int[] values, int n, SplittableRandom random) {
+        for (int i = 0; i < n && i < values.length - 1; i++) {
+            int j = i + random.nextInt(values.length - i);
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+
+    private static long mix(long seed, long... parts) {
+        long h = seed;
+        for (long part : parts) {
+            h = Long.rotateLeft(h ^ part, 31) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return h;
+    }
+
+    /**
+     * Players, minutes and goals of one side; the first {@link #STARTERS} players start.
+     */
+    public record Side(
+            long teamId,
+            long[] players,
+            int[] minutes,
+            long[] scorers,
+            int[] goalTimes
+    ) {
+        public int score() {
+            return scorers.length;
+        }
+    }
+
+    public record PlannedMatch(
+            long id,
+            long championshipId,
+            Instant matchDate,
+            Side side1,
+            Side side2
+    ) {
+    }
+}
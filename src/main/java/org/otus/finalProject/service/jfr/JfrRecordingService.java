@@ -0,0 +1,111 @@
+package org.otus.finalProject.service.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.otus.finalProject.dto.jfr.JfrRecordingResponse;
+import org.otus.finalProject.handler.NotFoundException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One on-demand flight recording at a time, with the JDK {@code default} (low overhead) or
+ * {@code profile} settings; the custom stats, lineup and Kafka events are enabled in both.
+ * The events carrying the environment variables and system properties are left out, since
+ * they hold credentials (datasource password, tokens).
+ */
+@Service
+@ConditionalOnProperty(name = "jfr.enabled", havingValue = "true")
+public class JfrRecordingService {
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final List<String> EXCLUDED_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private Recording recording;
+    private String settings;
+    private Long maxAgeMinutes;
+    private Long maxSizeMb;
+
+    public synchronized JfrRecordingResponse start(String settings, Long maxAgeMinutes, Long maxSizeMb) {
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        }
+        if (maxAgeMinutes != null && maxAgeMinutes < 1) {
+            throw new IllegalArgumentException("maxAgeMinutes must be >= 1");
+        }
+        if (maxSizeMb != null && maxSizeMb < 1) {
+            throw new IllegalArgumentException("maxSizeMb must be >= 1");
+        }
+        if (recording != null) {
+            throw new IllegalArgumentException("a recording is already running");
+        }
+
+        Recording r = new Recording(configuration(settings));
+        EXCLUDED_EVENTS.forEach(r::disable);
+        r.setName("stats-api");
+        r.setToDisk(true);
+        if (maxAgeMinutes != null) r.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+        if (maxSizeMb != null) r.setMaxSize(maxSizeMb * 1024 * 1024);
+        r.start();
+
+        this.recording = r;
+        this.settings = settings;
+        this.maxAgeMinutes = maxAgeMinutes;
+        this.maxSizeMb = maxSizeMb;
+        return status();
+    }
+
+    /**
+     * Stops the recording and dumps it to a temporary {@code .jfr} file the caller must delete.
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            throw new NotFoundException("no recording is running");
+        }
+        Recording r = recording;
+        recording = null;
+        try {
+            r.stop();
+            Path file = Files.createTempFile("stats-api-", ".jfr");
+            r.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot dump recording", e);
+        } finally {
+            r.close();
+        }
+    }
+
+    public synchronized JfrRecordingResponse status() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new JfrRecordingResponse(false, null, null, null, null, 0);
+        }
+        return new JfrRecordingResponse(true, settings, recording.getStartTime(),
+                maxAgeMinutes, maxSizeMb, recording.getSize());
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("cannot read JFR settings: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.otus.finalProject.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.otus.finalProject.KafkaSend")
+@Label("Kafka Send")
+@Category({"Otus", "Kafka"})
+@Description("A stats record from KafkaTemplate.send until the broker ack or failure (event duration)")
+@StackTrace(false)
+public class KafkaSendEvent extends Event {
+    @Label("Topic")
+    public String topic;
+
+    @Label("Payload Size")
+    @DataAmount
+    @Description("Serialized value size reported by the broker ack, -1 on failure")
+    public long payloadBytes;
+
+    @Label("Send Time")
+    @Timespan(Timespan.NANOSECONDS)
+    @Description("Time spent in the calling thread: serialization and enqueueing")
+    public long sendTime;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,38 @@
+package org.otus.finalProject.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.otus.finalProject.LineupSave")
+@Label("Lineup Save")
+@Category({"Otus", "Matches"})
+@Description("Validation and replacement of one team's lineup in MatchServiceImpl")
+@StackTrace(false)
+public class LineupSaveEvent extends Event {
+    @Label("Match Id")
+    public long matchId;
+
+    @Label("Team Id")
+    public long teamId;
+
+    @Label("Lineup Size")
+    public int lineupSize;
+
+    @Label("Rows Inserted")
+    public int inserted;
+
+    @Label("Rows Updated")
+    public int updated;
+
+    @Label("Rows Deleted")
+    public int deleted;
+
+    @Label("Statements")
+    @Description("Player and stored lineup reads plus the insert, update and delete batches the save queues; "
+            + "the batches run at the flush at commit, hibernate.jdbc.batch_size rows each")
+    public int statements;
+}
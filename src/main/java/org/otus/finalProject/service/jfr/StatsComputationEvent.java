@@ -0,0 +1,52 @@
+package org.otus.finalProject.service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.function.LongSupplier;
+
+@Name("org.otus.finalProject.StatsComputation")
+@Label("Stats Computation")
+@Category({"Otus", "Stats"})
+@Description("One StatsServiceImpl computation, from the first lookup to the result (Kafka publish excluded)")
+@StackTrace(false)
+public class StatsComputationEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Year")
+    @Description("Season year, 0 for all years")
+    public int year;
+
+    @Label("Source")
+    @Description("store, read-model or matches")
+    public String source;
+
+    @Label("Rows")
+    @Description("Column rows scanned in the season store, or result rows fetched from the database")
+    public long rows;
+
+    public static StatsComputationEvent begin(String method, Integer year) {
+        StatsComputationEvent event = new StatsComputationEvent();
+        event.method = method;
+        event.year = year == null ? 0 : year;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and, when a recording wants it, commits the event; rows are only computed then.
+     */
+    public void finish(String source, LongSupplier rows) {
+        end();
+        if (shouldCommit()) {
+            this.source = source;
+            this.rows = rows.getAsLong();
+            commit();
+        }
+    }
+}
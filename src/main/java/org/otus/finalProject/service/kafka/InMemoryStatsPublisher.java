@@ -0,0 +1,98 @@
+package org.otus.finalProject.service.kafka;
+
+import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.StatsBatchMessage;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.service.base.StatsPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process stand-in for {@link KafkaStatsPublisher} (stats.publisher=in-memory), for load tests
+ * and offline runs: same topics and keys, records kept in a bounded per-topic buffer.
+ */
+@Service
+@ConditionalOnProperty(name = "stats.publisher", havingValue = "in-memory")
+public class InMemoryStatsPublisher implements StatsPublisher {
+    private final int capacity;
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+    public InMemoryStatsPublisher(@Value("${stats.in-memory-publisher.capacity:1000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void sendTeamStats(TeamStatResponse payload) {
+        publish("statistics.teams.out", "id=" + payload.teamId() + ";year=" + payload.year(), payload);
+    }
+
+    @Override
+    public void sendPlayerStats(PlayerStatResponse payload) {
+        publish("statistics.players.out", "id=" + payload.playerId() + ";year=" + payload.year(), payload);
+    }
+
+    @Override
+    public void sendTeamStatsBatch(List<TeamStatResponse> payload, Integer year) {
+        publish("statistics.teams.batch.out", null, StatsBatchMessage.of(year, payload));
+    }
+
+    @Override
+    public void sendPlayerStatsBatch(List<PlayerStatResponse> payload, Integer year) {
+        publish("statistics.players.batch.out", null, StatsBatchMessage.of(year, payload));
+    }
+
+    @Override
+    public void sendTopTeams(List<TeamStatResponse> payload, Integer year, Integer limit) {
+        publish("statistics.top-teams.out", "year=" + year + ";limit=" + limit, payload);
+    }
+
+    @Override
+    public void sendTopScorers(List<TopScorersStatResponse> payload, Long teamId, Integer year, Integer limit) {
+        publish("statistics.top-scores.out", "teamId=" + teamId + ";year=" + year + ";limit=" + limit, payload);
+    }
+
+    public long published(String topic) {
+        Topic t = topics.get(topic);
+        return t == null ? 0 : t.published.sum();
+    }
+
+    /**
+     * The last records of the topic, oldest first.
+     */
+    public List<Message> recent(String topic) {
+        Topic t = topics.get(topic);
+        if (t == null) return List.of();
+        synchronized (t.recent) {
+            return List.copyOf(t.recent);
+        }
+    }
+
+    private void publish(String topic, String key, Object payload) {
+        Topic t = topics.computeIfAbsent(topic, name -> new Topic());
+        t.published.increment();
+        if (capacity == 0) return;
+        synchronized (t.recent) {
+            if (t.recent.size() == capacity) {
+                t.recent.removeFirst();
+            }
+            t.recent.addLast(new Message(key, payload));
+        }
+    }
+
+    public record Message(String key, Object payload) {
+    }
+
+    private static final class Topic {
+        final LongAdder published = new LongAdder();
+        final Deque<Message> recent = new ArrayDeque<>();
+    }
+}
@@ -1,25 +1,34 @@
 package org.otus.finalProject.service.kafka;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
 import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.StatsBatchMessage;
 import org.otus.finalProject.dto.stats.TeamStatResponse;
 import org.otus.finalProject.dto.stats.TopScorersStatResponse;
 import org.otus.finalProject.service.base.StatsPublisher;
+import org.otus.finalProject.service.jfr.KafkaSendEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @Service
+@ConditionalOnProperty(name = "stats.publisher", havingValue = "kafka", matchIfMissing = true)
 public class KafkaStatsPublisher implements StatsPublisher {
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
 
-    public KafkaStatsPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
+    public KafkaStatsPublisher(KafkaTemplate<String, Object> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -29,7 +38,7 @@ public class KafkaStatsPublisher implements StatsPublisher {
                 key(payload.teamId(), payload.year()),
                 payload
         );
-        kafkaTemplate.send(record);
+        send(record);
     }
 
     @Override
@@ -39,7 +48,31 @@ public class KafkaStatsPublisher implements StatsPublisher {
                 key(payload.playerId(), payload.year()),
                 payload
         );
-        kafkaTemplate.send(record);
+        send(record);
+    }
+
+    // batches go to their own topics, so the single-stat topics keep one object per record;
+    // keyless: a batch is a snapshot with no per-key order to keep, so batches spread over the partitions
+    @Override
+    public void sendTeamStatsBatch(List<TeamStatResponse> payload, Integer year) {
+        ProducerRecord<String, Object> record = buildRecord(
+                "statistics.teams.batch.out",
+                null,
+                StatsBatchMessage.of(year, payload)
+        );
+        record.headers().add(header("batch-size", String.valueOf(payload.size())));
+        send(record);
+    }
+
+    @Override
+    public void sendPlayerStatsBatch(List<PlayerStatResponse> payload, Integer year) {
+        ProducerRecord<String, Object> record = buildRecord(
+                "statistics.players.batch.out",
+                null,
+                StatsBatchMessage.of(year, payload)
+        );
+        record.headers().add(header("batch-size", String.valueOf(payload.size())));
+        send(record);
     }
 
     @Override
@@ -51,7 +84,7 @@ public class KafkaStatsPublisher implements StatsPublisher {
                 recordKey,
                 payload
         );
-        kafkaTemplate.send(record);
+        send(record);
     }
 
     @Override
@@ -63,7 +96,51 @@ public class KafkaStatsPublisher implements StatsPublisher {
                 recordKey,
                 payload
         );
-        kafkaTemplate.send(record);
+        send(record);
+    }
+
+    // stats.publisher.send: time from send to broker ack (or failure) per topic
+    private void send(ProducerRecord<String, Object> record) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        KafkaSendEvent event = new KafkaSendEvent();
+        event.begin();
+        long started = System.nanoTime();
+        try {
+            var future = kafkaTemplate.send(record);
+            event.sendTime = System.nanoTime() - started;
+            future.whenComplete((result, ex) -> {
+                record(sample, record.topic(), ex);
+                commit(event, record.topic(), ex == null, result);
+            });
+        } catch (RuntimeException e) {
+            event.sendTime = System.nanoTime() - started;
+            record(sample, record.topic(), e);
+            commit(event, record.topic(), false, null);
+            throw e;
+        }
+    }
+
+    private void commit(KafkaSendEvent event, String topic, boolean succeeded, SendResult<String, Object> result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.topic = topic;
+            event.succeeded = succeeded;
+            event.payloadBytes = succeeded && result != null && result.getRecordMetadata() != null
+                    ? result.getRecordMetadata().serializedValueSize() : -1;
+            event.commit();
+        }
+    }
+
+    private void record(Timer.Sample sample, String topic, Throwable failure) {
+        sample.stop(Timer.builder("stats.publisher.send")
+                .tag("topic", topic)
+                .tag("result", failure == null ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        if (failure != null) {
+            meterRegistry.counter("stats.publisher.failures",
+                    "topic", topic, "exception", failure.getClass().getSimpleName()).increment();
+        }
     }
 
     private ProducerRecord<String, Object> buildRecord(String topic, String key, Object payload) {
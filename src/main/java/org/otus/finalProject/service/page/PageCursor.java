@@ -0,0 +1,53 @@
+package org.otus.finalProject.service.page;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Sort key of the last row of a page, handed to clients as an opaque base64url string:
+ * the id for id-ordered lists, the timestamp and id for lists ordered by a date.
+ */
+public record PageCursor(
+        Instant at, // null = id-ordered list
+        long id
+) {
+    public static PageCursor after(long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor after(Instant at, long id) {
+        return new PageCursor(at, id);
+    }
+
+    /**
+     * Id to continue after for an id-ordered list: 0, i.e. from the start, without a cursor.
+     */
+    public static long afterId(String cursor) {
+        return cursor == null ? 0 : decode(cursor, false).id();
+    }
+
+    public String encode() {
+        String raw = at == null ? Long.toString(id) : at.getEpochSecond() + "." + at.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param timed whether the list is ordered by a date, i.e. the cursor must carry one
+     */
+    public static PageCursor decode(String cursor, boolean timed) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int colon = raw.indexOf(':');
+            if (timed != (colon >= 0)) throw new IllegalArgumentException();
+            if (!timed) return after(Long.parseLong(raw));
+
+            String at = raw.substring(0, colon);
+            int dot = at.indexOf('.');
+            return after(Instant.ofEpochSecond(Long.parseLong(at.substring(0, dot)), Long.parseLong(at.substring(dot + 1))),
+                    Long.parseLong(raw.substring(colon + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("invalid cursor: " + cursor);
+        }
+    }
+}
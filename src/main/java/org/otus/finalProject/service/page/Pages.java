@@ -0,0 +1,46 @@
+package org.otus.finalProject.service.page;
+
+import org.otus.finalProject.dto.page.PageResponse;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination: a page query reads the rows after the cursor in index order, one more than
+ * the page size to tell whether a next page exists; no offsets, so every page costs the same.
+ */
+public final class Pages {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private Pages() {
+    }
+
+    /**
+     * Page size: {@value #DEFAULT_LIMIT} when not given, capped at {@value #MAX_LIMIT}.
+     */
+    public static int limit(Integer requested) {
+        if (requested == null) return DEFAULT_LIMIT;
+        if (requested < 1) throw new IllegalArgumentException("limit must be >= 1");
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Rows to read for a page of {@code limit}; the query itself orders them.
+     */
+    public static Pageable rows(int limit) {
+        return PageRequest.ofSize(limit + 1);
+    }
+
+    public static <E, T> PageResponse<T> of(List<E> rows, int limit,
+                                            Function<List<E>, List<T>> mapper,
+                                            Function<E, PageCursor> cursor) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(mapper.apply(rows), null);
+        }
+        List<E> page = rows.subList(0, limit);
+        return new PageResponse<>(mapper.apply(page), cursor.apply(page.get(limit - 1)).encode());
+    }
+}
@@ -0,0 +1,40 @@
+-- === TEAM_SEASON_STATS ===
+-- Read model of standings per team, season (UTC year of match_date) and championship.
+-- Maintained by delta from MatchServiceImpl; can be rebuilt from match at any time.
+CREATE TABLE if not exists team_season_stats (
+                       id BIGSERIAL PRIMARY KEY,
+                       team_id BIGINT NOT NULL REFERENCES team(id) ON DELETE CASCADE,
+                       season_year INT NOT NULL,
+                       championship_id BIGINT REFERENCES championship(id) ON DELETE CASCADE,
+                       played INT DEFAULT 0 NOT NULL,
+                       wins INT DEFAULT 0 NOT NULL,
+                       draws INT DEFAULT 0 NOT NULL,
+                       losses INT DEFAULT 0 NOT NULL,
+                       goals_for INT DEFAULT 0 NOT NULL,
+                       goals_against INT DEFAULT 0 NOT NULL,
+                       created_date_time TIMESTAMP DEFAULT now() NOT NULL,
+                       updated_date_time TIMESTAMP,
+                       CONSTRAINT ux_team_season_stats UNIQUE NULLS NOT DISTINCT (team_id, season_year, championship_id)
+);
+
+CREATE INDEX idx_team_season_stats_year ON team_season_stats(season_year);
+
+-- backfill from existing matches
+INSERT INTO team_season_stats (team_id, season_year, championship_id, played, wins, draws, losses, goals_for, goals_against)
+SELECT s.team_id,
+       CAST(EXTRACT(YEAR FROM s.match_date) AS INT),
+       s.championship_id,
+       COUNT(*),
+       SUM(CASE WHEN s.goals_for > s.goals_against THEN 1 ELSE 0 END),
+       SUM(CASE WHEN s.goals_for = s.goals_against THEN 1 ELSE 0 END),
+       SUM(CASE WHEN s.goals_for < s.goals_against THEN 1 ELSE 0 END),
+       SUM(s.goals_for),
+       SUM(s.goals_against)
+FROM (
+         SELECT m.team1_id AS team_id, m.match_date, m.championship_id, m.team1_score AS goals_for, m.team2_score AS goals_against
+         FROM match m
+         UNION ALL
+         SELECT m.team2_id AS team_id, m.match_date, m.championship_id, m.team2_score AS goals_for, m.team1_score AS goals_against
+         FROM match m
+     ) s
+GROUP BY s.team_id, CAST(EXTRACT(YEAR FROM s.match_date) AS INT), s.championship_id;
@@ -0,0 +1,3 @@
+-- team-scoped stats: team1_id = ? OR team2_id = ? within a date range
+CREATE INDEX if not exists idx_match_team1_date ON match(team1_id, match_date);
+CREATE INDEX if not exists idx_match_team2_date ON match(team2_id, match_date);
@@ -0,0 +1,3 @@
+-- player stats: appearances and goals looked up by player first
+CREATE INDEX if not exists idx_match_player_player ON match_player(player_id);
+CREATE INDEX if not exists idx_goals_player_match ON goals(player_id, match_id);
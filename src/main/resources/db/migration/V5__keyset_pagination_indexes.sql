@@ -0,0 +1,8 @@
+-- keyset pages of matches, newest first: (match_date, id) < (?, ?) read backwards;
+-- the id tie-breaker makes the order stable, so idx_match_date is superseded
+CREATE INDEX if not exists idx_match_date_id ON match(match_date, id);
+DROP INDEX if exists idx_match_date;
+-- matches of one championship
+CREATE INDEX if not exists idx_match_championship_date ON match(championship_id, match_date, id);
+-- players of one team in id order
+CREATE INDEX if not exists idx_player_team_id ON player(team_id, id);
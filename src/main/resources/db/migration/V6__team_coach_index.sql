@@ -0,0 +1,2 @@
+-- teams of a page of coaches: team.coach_id in (...)
+CREATE INDEX if not exists idx_team_coach ON team(coach_id);
@@ -0,0 +1,17 @@
+-- Entity ids come from the BIGSERIAL sequences in blocks of ${id_allocation_size} (Hibernate pooled optimizer),
+-- so inserts no longer need a round trip per row and are sent as JDBC batches.
+-- Existing ids are kept; each sequence is moved to the max id of its table, so the next block starts above it.
+-- The column defaults are dropped: a DEFAULT nextval() would return the top of a block Hibernate is about to
+-- hand out. Rows written outside Hibernate take explicit ids reserved from the sequence (see LeagueDataGenerator).
+DO $$
+DECLARE
+    tbl TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['coach', 'team', 'player', 'championship', 'match', 'goals'] LOOP
+        seq := pg_get_serial_sequence(tbl, 'id');
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY %s', seq, ${id_allocation_size});
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tbl);
+        EXECUTE format('SELECT setval(%L, COALESCE(max(id), 1), max(id) IS NOT NULL) FROM %I', seq, tbl);
+    END LOOP;
+END $$;
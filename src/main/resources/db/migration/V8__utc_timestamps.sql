@@ -0,0 +1,9 @@
+-- TIMESTAMP (without time zone) columns hold UTC wall-clock time: Hibernate binds Instant attributes as
+-- TIMESTAMP in UTC (hibernate.type.preferred_instant_jdbc_type / hibernate.jdbc.time_zone), and the COPY
+-- generator writes the same. EXTRACT(YEAR FROM match_date) in V2 and TeamSeasonStatsRepository therefore
+-- yields the UTC year, as MatchOutcome.seasonYear does in Java.
+-- Rows written before by a JVM outside UTC keep their local time; POST /api/admin/standings/rebuild after
+-- correcting them.
+COMMENT ON COLUMN match.match_date IS 'kick-off, UTC';
+COMMENT ON COLUMN championship.start_date IS 'UTC';
+COMMENT ON COLUMN championship.end_date IS 'UTC';
@@ -0,0 +1,97 @@
+package org.otus.finalProject.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HTTP client of one load-test thread: times each call, response body included, into the
+ * samples of the named endpoint. Non-2xx responses and I/O failures count as errors.
+ */
+final class ApiClient {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LatencySamples> samples = new HashMap<>();
+    private volatile boolean recording;
+
+    ApiClient(HttpClient http, URI baseUri, ObjectMapper objectMapper) {
+        this.http = http;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the parsed body, or null when the call failed
+     */
+    JsonNode get(String endpoint, String path) throws InterruptedException {
+        return call(endpoint, request(path).GET());
+    }
+
+    JsonNode post(String endpoint, String path, Object body) throws InterruptedException {
+        return call(endpoint, request(path).POST(json(body)));
+    }
+
+    JsonNode patch(String endpoint, String path, Object body) throws InterruptedException {
+        return call(endpoint, request(path).method("PATCH", json(body)));
+    }
+
+    JsonNode delete(String endpoint, String path) throws InterruptedException {
+        return call(endpoint, request(path).DELETE());
+    }
+
+    void recording(boolean recording) {
+        this.recording = recording;
+    }
+
+    Map<String, LatencySamples> samples() {
+        return samples;
+    }
+
+    private JsonNode call(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long elapsed = System.nanoTime() - started;
+            boolean ok = response.statusCode() / 100 == 2;
+            if (recording) {
+                LatencySamples s = samples.computeIfAbsent(endpoint, name -> new LatencySamples());
+                if (ok) s.add(elapsed);
+                else s.error();
+            }
+            if (!ok) return null;
+            byte[] body = response.body();
+            return body.length == 0 ? objectMapper.nullNode() : objectMapper.readTree(body);
+        } catch (IOException e) {
+            if (recording) {
+                samples.computeIfAbsent(endpoint, name -> new LatencySamples()).error();
+            }
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + body, e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.otus.finalProject.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.service.generator.LeagueDataGenerator;
+import org.otus.finalProject.service.generator.LeaguePlan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code ./gradlew perfTest}: loads a seeded league into the perf database (REPLACING its league
+ * tables), drives the API with concurrent clients and fails when an endpoint exceeds its budget
+ * in {@code perf-budgets.properties}. Kafka is replaced by the in-memory publisher.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+class ApiLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    LeagueDataGenerator generator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    void shouldStayWithinLatencyBudgets() throws Exception {
+        GenerateRequest dataset = new GenerateRequest(
+                Integer.getInteger("perf.teams", 40), null,
+                Integer.getInteger("perf.seasons", 2), null, null,
+                Long.getLong("perf.seed", 20251201L), true);
+        generator.generate(dataset);
+        // replace restarts the sequences, so the plan with zero bases matches the loaded ids
+        LeaguePlan plan = new LeaguePlan(dataset, LocalDate.now(ZoneOffset.UTC).getYear(), 0, 0, 0, 0);
+
+        LoadDriver driver = new LoadDriver(
+                Integer.getInteger("perf.clients", 16),
+                Duration.ofSeconds(Long.getLong("perf.warmup", 15)),
+                Duration.ofSeconds(Long.getLong("perf.duration", 60)),
+                dataset.seed());
+        LoadDriver.Result result = driver.run(URI.create("http://localhost:" + port),
+                objectMapper, new Workload(plan, System.getProperty("perf.mix")));
+
+        Map<String, Object> datasetInfo = new LinkedHashMap<>();
+        datasetInfo.put("teams", plan.teams());
+        datasetInfo.put("players", plan.players());
+        datasetInfo.put("seasons", plan.seasons());
+        datasetInfo.put("matches", plan.matches());
+        datasetInfo.put("seed", dataset.seed());
+        PerfReport report = PerfReport.of(System.getProperty("perf.revision", "local"), datasetInfo, result);
+        report.write(Path.of(System.getProperty("perf.report.dir", "build/reports/perf")), objectMapper);
+        report.endpoints().forEach(endpoint -> log.info("{}", endpoint));
+
+        List<String> violations = report.violations(budgets());
+        assertThat(violations).as("latency budgets").isEmpty();
+    }
+
+    private static Properties budgets() throws Exception {
+        Properties budgets = new Properties();
+        String file = System.getProperty("perf.budgets");
+        if (file != null) {
+            try (Reader in = Files.newBufferedReader(Path.of(file))) {
+                budgets.load(in);
+            }
+        } else {
+            try (InputStream in = ApiLoadTest.class.getResourceAsStream("/perf-budgets.properties")) {
+                if (in != null) budgets.load(in);
+            }
+        }
+        return budgets;
+    }
+}
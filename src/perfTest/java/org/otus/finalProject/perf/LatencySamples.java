@@ -0,0 +1,58 @@
+package org.otus.finalProject.perf;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of latencies in nanoseconds of one endpoint; written by one client thread,
+ * merged after the run. Percentiles use the nearest-rank method on the sorted samples.
+ */
+final class LatencySamples {
+    private long[] values = new long[1024];
+    private int size;
+    private long errors;
+    private boolean sorted;
+
+    void add(long nanos) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = nanos;
+        sorted = false;
+    }
+
+    void error() {
+        errors++;
+    }
+
+    void addAll(LatencySamples other) {
+        if (size + other.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        }
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+        errors += other.errors;
+        sorted = false;
+    }
+
+    int count() {
+        return size;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    double percentileMillis(double percentile) {
+        if (size == 0) return 0;
+        if (!sorted) {
+            Arrays.sort(values, 0, size);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * size);
+        return values[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return percentileMillis(100);
+    }
+}
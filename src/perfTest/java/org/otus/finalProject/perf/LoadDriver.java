@@ -0,0 +1,70 @@
+package org.otus.finalProject.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load: {@code clients} threads run the workload back to back, first for the
+ * warm-up (not recorded), then for the measured duration.
+ */
+final class LoadDriver {
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    private final long seed;
+
+    LoadDriver(int clients, Duration warmup, Duration duration, long seed) {
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seed = seed;
+    }
+
+    Result run(URI baseUri, ObjectMapper objectMapper, Workload workload) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<ApiClient>> futures = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(seed + c);
+                futures.add(executor.submit(() -> {
+                    ApiClient client = new ApiClient(http, baseUri, objectMapper);
+                    while (System.nanoTime() < end) {
+                        client.recording(System.nanoTime() >= warmupEnd);
+                        workload.runOnce(client, random);
+                    }
+                    return client;
+                }));
+            }
+
+            Map<String, LatencySamples> merged = new TreeMap<>();
+            for (Future<ApiClient> future : futures) {
+                future.get().samples().forEach((endpoint, samples) ->
+                        merged.computeIfAbsent(endpoint, name -> new LatencySamples()).addAll(samples));
+            }
+            return new Result(clients, duration, merged);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    record Result(int clients, Duration duration, Map<String, LatencySamples> samples) {
+    }
+}
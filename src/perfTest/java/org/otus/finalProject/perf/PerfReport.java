@@ -0,0 +1,100 @@
+package org.otus.finalProject.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Per-endpoint latency and throughput of a run, written as JSON and Markdown, and checked
+ * against budgets: {@code <endpoint>.p95} / {@code <endpoint>.p99} in milliseconds.
+ * An endpoint without a budget is reported but not checked; any error fails it.
+ */
+record PerfReport(
+        String revision,
+        Map<String, Object> dataset,
+        int clients,
+        long durationSeconds,
+        List<EndpointStats> endpoints
+) {
+    record EndpointStats(
+            String endpoint,
+            long count,
+            long errors,
+            double throughputPerSecond,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis
+    ) {
+    }
+
+    static PerfReport of(String revision, Map<String, Object> dataset, LoadDriver.Result result) {
+        double seconds = result.duration().toMillis() / 1000.0;
+        List<EndpointStats> endpoints = new ArrayList<>();
+        result.samples().forEach((endpoint, s) -> endpoints.add(new EndpointStats(endpoint,
+                s.count(), s.errors(), round(s.count() / seconds),
+                round(s.percentileMillis(50)), round(s.percentileMillis(95)),
+                round(s.percentileMillis(99)), round(s.maxMillis()))));
+        return new PerfReport(revision, dataset, result.clients(), result.duration().toSeconds(), endpoints);
+    }
+
+    List<String> violations(Properties budgets) {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats e : endpoints) {
+            if (e.errors() > 0) {
+                violations.add("%s: %d failed requests".formatted(e.endpoint(), e.errors()));
+            }
+            check(violations, e.endpoint(), "p95", e.p95Millis(), budgets);
+            check(violations, e.endpoint(), "p99", e.p99Millis(), budgets);
+        }
+        return violations;
+    }
+
+    void write(Path directory, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(directory);
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("perf-" + revision + ".json").toFile(), this);
+
+        StringBuilder md = new StringBuilder()
+                .append("# API load test ").append(revision).append("\n\n")
+                .append("Dataset ").append(dataset).append(", ").append(clients).append(" clients, ")
+                .append(durationSeconds).append(" s\n\n")
+                .append("| endpoint | requests | errors | req/s | p50 ms | p95 ms | p99 ms | max ms |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (EndpointStats e : endpoints) {
+            md.append("| %s | %d | %d | %.1f | %.2f | %.2f | %.2f | %.2f |%n".formatted(e.endpoint(), e.count(),
+                    e.errors(), e.throughputPerSecond(), e.p50Millis(), e.p95Millis(), e.p99Millis(), e.maxMillis()));
+        }
+        Files.writeString(directory.resolve("perf-" + revision + ".md"), md);
+
+        // starting point for perf-budgets.properties: measured p95/p99 with 50% headroom
+        Properties suggested = new Properties();
+        for (EndpointStats e : endpoints) {
+            suggested.setProperty(e.endpoint() + ".p95", String.valueOf((long) Math.ceil(e.p95Millis() * 1.5)));
+            suggested.setProperty(e.endpoint() + ".p99", String.valueOf((long) Math.ceil(e.p99Millis() * 1.5)));
+        }
+        try (Writer out = Files.newBufferedWriter(directory.resolve("budgets-suggested.properties"))) {
+            suggested.store(out, "measured at " + revision + " x 1.5");
+        }
+    }
+
+    private static void check(List<String> violations, String endpoint, String percentile, double measured,
+                              Properties budgets) {
+        String budget = budgets.getProperty(endpoint + "." + percentile);
+        if (budget != null && measured > Double.parseDouble(budget)) {
+            violations.add("%s: %s %.2f ms over budget %s ms".formatted(endpoint, percentile, measured, budget));
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
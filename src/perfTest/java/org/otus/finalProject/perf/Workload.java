@@ -0,0 +1,163 @@
+package org.otus.finalProject.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.otus.finalProject.dto.goal.GoalCreateRequest;
+import org.otus.finalProject.dto.match.MatchResultRequest;
+import org.otus.finalProject.dto.player.PlayerCreateRequest;
+import org.otus.finalProject.dto.player.PlayerPatchRequest;
+import org.otus.finalProject.dto.stats.StatsBatchRequest;
+import org.otus.finalProject.dto.team.TeamCreateRequest;
+import org.otus.finalProject.dto.team.TeamPatchRequest;
+import org.otus.finalProject.service.generator.LeaguePlan;
+import org.otus.finalProject.service.generator.LeaguePlan.PlannedMatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Weighted mix of API scenarios over a generated league. Ids are taken from the
+ * {@link LeaguePlan} the database was loaded with, so every request targets existing rows
+ * and every write passes validation. Write scenarios undo themselves: creates are deleted, and a
+ * result is set back to the planned score, so repeated runs see the same league.
+ */
+final class Workload {
+    private static final Map<String, Integer> DEFAULT_MIX = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_MIX.put("stats.team", 20);
+        DEFAULT_MIX.put("stats.player", 20);
+        DEFAULT_MIX.put("stats.teams-batch", 5);
+        DEFAULT_MIX.put("stats.top-teams", 10);
+        DEFAULT_MIX.put("stats.top-scorers", 10);
+        DEFAULT_MIX.put("matches.get", 10);
+        DEFAULT_MIX.put("matches.list", 1);
+        DEFAULT_MIX.put("matches.result", 3);
+        DEFAULT_MIX.put("goals.by-player", 5);
+        DEFAULT_MIX.put("goals.write", 4);
+        DEFAULT_MIX.put("teams.crud", 2);
+        DEFAULT_MIX.put("players.crud", 2);
+    }
+
+    private final LeaguePlan plan;
+    private final int year;
+    private final List<String> scenarios = new ArrayList<>();
+    private final int[] cumulativeWeights;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param mix "name:weight,..." to run only the listed scenarios, blank for the default mix
+     */
+    Workload(LeaguePlan plan, String mix) {
+        this.plan = plan;
+        this.year = plan.seasonYear(plan.seasons() - 1);
+
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        if (mix == null || mix.isBlank()) {
+            weights.putAll(DEFAULT_MIX);
+        } else {
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (!DEFAULT_MIX.containsKey(parts[0])) {
+                    throw new IllegalArgumentException("Unknown scenario " + parts[0] + ", expected one of " + DEFAULT_MIX.keySet());
+                }
+                weights.put(parts[0], parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_MIX.get(parts[0]));
+            }
+        }
+
+        cumulativeWeights = new int[weights.size()];
+        int total = 0;
+        for (var e : weights.entrySet()) {
+            total += e.getValue();
+            cumulativeWeights[scenarios.size()] = total;
+            scenarios.add(e.getKey());
+        }
+    }
+
+    void runOnce(ApiClient client, SplittableRandom random) throws InterruptedException {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        int i = 0;
+        while (cumulativeWeights[i] <= pick) i++;
+
+        switch (scenarios.get(i)) {
+            case "stats.team" -> client.get("stats.team",
+                    "/api/stats/teams/" + team(random) + "?year=" + year);
+            case "stats.player" -> client.get("stats.player",
+                    "/api/stats/players/" + player(random) + "?year=" + year);
+            case "stats.teams-batch" -> {
+                List<Long> ids = new ArrayList<>();
+                for (int n = 0; n < 10; n++) ids.add(team(random));
+                client.post("stats.teams-batch", "/api/stats/teams:batch", new StatsBatchRequest(ids, year));
+            }
+            case "stats.top-teams" -> client.get("stats.top-teams",
+                    "/api/stats/top-teams?year=" + year + "&limit=10");
+            case "stats.top-scorers" -> client.get("stats.top-scorers", random.nextBoolean()
+                    ? "/api/stats/top-scorers?year=" + year + "&limit=10"
+                    : "/api/stats/top-scorers?teamId=" + team(random) + "&year=" + year + "&limit=10");
+            case "matches.get" -> client.get("matches.get", "/api/matches/" + match(random).id());
+            case "matches.list" -> client.get("matches.list", "/api/matches");
+            case "matches.result" -> matchResult(client, random);
+            case "goals.by-player" -> client.get("goals.by-player", "/api/goals/player/" + player(random));
+            case "goals.write" -> goalWrite(client, random);
+            case "teams.crud" -> teamCrud(client);
+            case "players.crud" -> playerCrud(client, random);
+            default -> throw new IllegalStateException(scenarios.get(i));
+        }
+    }
+
+    private void matchResult(ApiClient client, SplittableRandom random) throws InterruptedException {
+        PlannedMatch m = match(random);
+        String path = "/api/matches/" + m.id() + "/result";
+        if (client.post("matches.result", path, new MatchResultRequest(random.nextInt(5), random.nextInt(5))) != null) {
+            // goal writes leave the score alone, so the planned one is the stored one
+            client.post("matches.result", path, new MatchResultRequest(m.side1().score(), m.side2().score()));
+        }
+    }
+
+    private void goalWrite(ApiClient client, SplittableRandom random) throws InterruptedException {
+        PlannedMatch m = match(random);
+        // the last starter plays the full match, so any minute is a valid goal time
+        long scorer = m.side1().players()[LeaguePlan.STARTERS - 1];
+        JsonNode goal = client.post("goals.create", "/api/goals",
+                new GoalCreateRequest(m.id(), scorer, 1 + random.nextInt(LeaguePlan.FULL_TIME)));
+        if (goal != null) {
+            client.delete("goals.delete", "/api/goals/" + goal.get("id").asLong());
+        }
+    }
+
+    private void teamCrud(ApiClient client) throws InterruptedException {
+        long n = sequence.incrementAndGet();
+        JsonNode team = client.post("teams.create", "/api/teams",
+                new TeamCreateRequest("Perf " + System.nanoTime() + "-" + n, "Perfland", null, null));
+        if (team == null) return;
+        long id = team.get("id").asLong();
+        client.patch("teams.patch", "/api/teams/" + id, new TeamPatchRequest(null, "Benchmark", null, null));
+        client.delete("teams.delete", "/api/teams/" + id);
+    }
+
+    private void playerCrud(ApiClient client, SplittableRandom random) throws InterruptedException {
+        long n = sequence.incrementAndGet();
+        JsonNode player = client.post("players.create", "/api/players",
+                new PlayerCreateRequest("Perf", "Perf" + System.nanoTime() + "-" + n, team(random)));
+        if (player == null) return;
+        long id = player.get("id").asLong();
+        client.patch("players.patch", "/api/players/" + id, new PlayerPatchRequest("Renamed", null, null));
+        client.delete("players.delete", "/api/players/" + id);
+    }
+
+    private long team(SplittableRandom random) {
+        return plan.teamId(random.nextInt(plan.teams()));
+    }
+
+    private long player(SplittableRandom random) {
+        int squad = (int) (plan.players() / plan.teams());
+        return plan.playerId(random.nextInt(plan.teams()), random.nextInt(squad));
+    }
+
+    private PlannedMatch match(SplittableRandom random) {
+        return plan.match(random.nextLong(plan.matches()));
+    }
+}
@@ -0,0 +1,68 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.config.SecurityConfig;
+import org.otus.finalProject.controller.StatsCacheAdminController;
+import org.otus.finalProject.dto.stats.StatsCacheResponse;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SuppressWarnings("removal")
+@WebMvcTest(controllers = StatsCacheAdminController.class)
+@Import({SecurityConfig.class, RestExceptionHandler.class})
+class AdminSecurityTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    StatsCache statsCache;
+
+    @Test
+    void shouldReturn401_withoutCredentials() throws Exception {
+        mockMvc.perform(get("/api/admin/stats-cache"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldReturn403_forUserWithoutAdminRole() throws Exception {
+        mockMvc.perform(get("/api/admin/stats-cache").with(user("fan").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldReturn200_forAdmin() throws Exception {
+        Mockito.when(statsCache.snapshot()).thenReturn(new StatsCacheResponse(0, 0, 0, 0.0, 0, 0, 0, 0));
+
+        mockMvc.perform(get("/api/admin/stats-cache").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void actuatorMetrics_requireAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(user("fan").roles("USER")))
+                .andExpect(status().isForbidden());
+        // the slice has no actuator endpoints: an admin gets past security to a 404
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "admin")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void actuatorHealth_open() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotIn(401, 403));
+    }
+}
@@ -0,0 +1,115 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.service.aggregation.LongIntSlotMap;
+import org.otus.finalProject.service.aggregation.LongLongCounterMap;
+import org.otus.finalProject.service.aggregation.TopK;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AggregationKernelsTest {
+
+    @Nested
+    @DisplayName("LongIntSlotMap")
+    class SlotMap {
+
+        @Test
+        void shouldHandOutDenseSlots_inInsertionOrder() {
+            var slots = new LongIntSlotMap(1, 2);
+
+            assertThat(slots.slot(42)).isEqualTo(0);
+            assertThat(slots.slot(7)).isEqualTo(1);
+            assertThat(slots.slot(42)).isEqualTo(0);
+            assertThat(slots.find(7)).isEqualTo(1);
+            assertThat(slots.find(8)).isEqualTo(-1);
+            assertThat(slots.key(1, 0)).isEqualTo(7);
+        }
+
+        @Test
+        void shouldKeepCompositeKeysApart_afterGrowing() {
+            var slots = new LongIntSlotMap(3, 1);
+            for (long team = 1; team <= 1000; team++) {
+                slots.slot(team, 2025, Long.MIN_VALUE);
+                slots.slot(team, 2025, 1);
+            }
+
+            assertThat(slots.size()).isEqualTo(2000);
+            int slot = slots.find(500, 2025, 1);
+            assertThat(slots.key(slot, 0)).isEqualTo(500);
+            assertThat(slots.key(slot, 2)).isEqualTo(1);
+            assertThat(slots.find(500, 2024, 1)).isEqualTo(-1);
+        }
+
+        @Test
+        void shouldRejectUnsupportedWidth() {
+            assertThatThrownBy(() -> new LongIntSlotMap(4, 1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("LongLongCounterMap")
+    class CounterMap {
+
+        @Test
+        void shouldMatchHashMap_underRandomAddsAndRemoves() {
+            var random = new Random(11);
+            var counters = new LongLongCounterMap(4);
+            Map<Long, Long> expected = new HashMap<>();
+
+            for (int i = 0; i < 200_000; i++) {
+                long key = random.nextInt(5_000) - 2_500;
+                if (random.nextInt(4) == 0) {
+                    assertThat(counters.remove(key)).isEqualTo(expected.remove(key) != null);
+                } else {
+                    counters.add(key, 3);
+                    expected.merge(key, 3L, Long::sum);
+                }
+            }
+
+            assertThat(counters.size()).isEqualTo(expected.size());
+            expected.forEach((key, value) -> assertThat(counters.get(key, -1)).isEqualTo(value));
+            Map<Long, Long> iterated = new HashMap<>();
+            counters.forEach(iterated::put);
+            assertThat(iterated).isEqualTo(expected);
+        }
+
+        @Test
+        void shouldRejectReservedKey() {
+            assertThatThrownBy(() -> new LongLongCounterMap(1).add(Long.MIN_VALUE, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("TopK")
+    class Top {
+
+        @Test
+        void shouldEqualFullSortPrefix() {
+            var random = new Random(7);
+            int[] wins = random.ints(10_000, 0, 40).toArray();
+            TopK.SlotComparator order = (a, b) -> wins[a] != wins[b] ? Integer.compare(wins[b], wins[a]) : Integer.compare(a, b);
+
+            for (int k : new int[]{0, 1, 10, 500, 10_000, 20_000}) {
+                int[] expected = IntStream.range(0, wins.length).boxed()
+                        .sorted(order::compare)
+                        .limit(k)
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+
+                assertThat(TopK.select(wins.length, k, order)).containsExactly(expected);
+            }
+        }
+
+        @Test
+        void shouldReturnEmpty_forNoRows() {
+            assertThat(TopK.select(0, 10, (a, b) -> 0)).isEmpty();
+        }
+    }
+}
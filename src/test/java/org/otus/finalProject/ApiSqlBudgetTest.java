@@ -0,0 +1,148 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets of the read endpoints over a small season with full lineups: the number of
+ * statements must not grow with the matches or players in the response.
+ */
+class ApiSqlBudgetTest extends DatabaseTest {
+    private static final Instant SEASON_START = Instant.parse("2024-03-01T18:00:00Z");
+
+    @Autowired
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    final List<Team> teams = new ArrayList<>();
+    final List<List<Player>> squads = new ArrayList<>();
+    final List<Match> matches = new ArrayList<>();
+
+    @BeforeEach
+    void seedSeason() {
+        for (int t = 0; t < 4; t++) {
+            Team team = team("Team " + t);
+            teams.add(team);
+            squads.add(players(team, 11));
+        }
+        int day = 0;
+        for (int home = 0; home < teams.size(); home++) {
+            for (int away = home + 1; away < teams.size(); away++) {
+                Match match = match(teams.get(home), teams.get(away), SEASON_START.plusSeconds(day++ * 86_400L), 1, 0);
+                lineup(match, teams.get(home), squads.get(home));
+                lineup(match, teams.get(away), squads.get(away));
+                goals(match, List.of(squads.get(home).get(9)));
+                matches.add(match);
+            }
+        }
+        teamSeasonStatsService.rebuild();
+    }
+
+    @Nested
+    @DisplayName("matches")
+    class Matches {
+
+        @Test
+        void listPage_pageAndLineupsOnly() throws Exception {
+            SqlCount.assertMaxStatements(2, () -> mockMvc.perform(get("/api/matches").param("limit", "50"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(matches.size()))
+                    .andExpect(jsonPath("$.items[0].lineupTeam1.length()").value(11)));
+        }
+
+        @Test
+        void filteredListPage_pageAndLineupsOnly() throws Exception {
+            SqlCount.assertMaxStatements(2, () -> mockMvc.perform(get("/api/matches")
+                            .param("teamId", teams.get(0).getId().toString())
+                            .param("from", "2024-01-01T00:00:00Z")
+                            .param("to", "2025-01-01T00:00:00Z"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(3)));
+        }
+
+        @Test
+        void detail_matchAndLineupsOnly() throws Exception {
+            Match match = matches.get(0);
+
+            SqlCount.assertMaxStatements(2, () -> mockMvc.perform(get("/api/matches/{id}", match.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.lineupTeam1.length()").value(11))
+                    .andExpect(jsonPath("$.lineupTeam2.length()").value(11)));
+        }
+    }
+
+    @Nested
+    @DisplayName("stats")
+    class Stats {
+
+        @Test
+        void teamStats_teamCheckAndReadModel() throws Exception {
+            SqlCount.assertMaxStatements(2, () -> mockMvc.perform(get("/api/stats/teams/{id}", teams.get(0).getId())
+                            .param("year", "2024"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.wins").value(3)));
+        }
+
+        @Test
+        void teamStatsBatch_independentOfTeamCount() throws Exception {
+            String ids = teams.stream().map(t -> t.getId().toString()).reduce((a, b) -> a + "," + b).orElseThrow();
+
+            SqlCount.assertMaxStatements(2, () -> mockMvc.perform(post("/api/stats/teams:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\":[" + ids + "],\"year\":2024}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(teams.size())));
+        }
+
+        @Test
+        void playerStats_oneStatement() throws Exception {
+            Player scorer = squads.get(0).get(9);
+
+            SqlCount.assertMaxStatements(1, () -> mockMvc.perform(get("/api/stats/players/{id}", scorer.getId())
+                            .param("year", "2024"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.goals").value(3)));
+        }
+
+        @Test
+        void playerStats_excludeAKickOffAtTheNextYearsFirstInstant() throws Exception {
+            Player scorer = squads.get(0).get(9);
+            Match newYear = match(teams.get(0), teams.get(1), Instant.parse("2025-01-01T00:00:00Z"), 1, 0);
+            lineup(newYear, teams.get(0), List.of(scorer));
+            goals(newYear, List.of(scorer));
+
+            mockMvc.perform(get("/api/stats/players/{id}", scorer.getId()).param("year", "2024"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.matchesPlayed").value(3))
+                    .andExpect(jsonPath("$.goals").value(3));
+            mockMvc.perform(get("/api/stats/players/{id}", scorer.getId()).param("year", "2025"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.goals").value(1));
+        }
+
+        @Test
+        void topTeams_oneStatement() throws Exception {
+            SqlCount.assertMaxStatements(1, () -> mockMvc.perform(get("/api/stats/top-teams")
+                            .param("year", "2024")
+                            .param("limit", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].teamId").value(teams.get(0).getId())));
+        }
+    }
+}
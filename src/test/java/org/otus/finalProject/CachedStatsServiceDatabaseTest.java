@@ -0,0 +1,129 @@
+package org.otus.finalProject;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.ChainListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.kafka.InMemoryStatsPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The single flight of {@link CachedStatsServiceTest} end to end: a burst of identical top-teams
+ * requests reaches Postgres as one query and Kafka as one message. The first query is held on a
+ * table lock until every other caller waits for it, so the burst really overlaps. Statements are
+ * counted by a datasource-proxy listener, as SqlCount only sees the current thread.
+ */
+class CachedStatsServiceDatabaseTest extends DatabaseTest {
+    static final int CALLERS = 8;
+    static final String TOP_TEAMS_TOPIC = "statistics.top-teams.out";
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    @Autowired
+    InMemoryStatsPublisher publisher;
+
+    final AtomicInteger standingsQueries = new AtomicInteger();
+    final QueryExecutionListener standingsCounter = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo query : queryInfoList) {
+                if (query.getQuery().contains("from team_season_stats")) standingsQueries.incrementAndGet();
+            }
+        }
+    };
+
+    Team leader;
+
+    @BeforeEach
+    void seedStandings() {
+        leader = team("Leader");
+        Team other = team("Other");
+        match(leader, other, Instant.parse("2024-05-04T18:00:00Z"), 2, 0);
+        teamSeasonStatsService.rebuild();
+    }
+
+    @AfterEach
+    void removeCounter() {
+        listeners().getListeners().remove(standingsCounter);
+    }
+
+    @Test
+    @Timeout(30)
+    void burstOfTopTeamsRequests_oneQuery_oneMessage() throws Exception {
+        long computations = statsCache.snapshot().computations();
+        long coalesced = statsCache.snapshot().coalesced();
+        long published = publisher.published(TOP_TEAMS_TOPIC);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        try (Connection lock = dataSource.getConnection()) {
+            lock.setAutoCommit(false);
+            try (Statement statement = lock.createStatement()) {
+                statement.execute("lock table team_season_stats in access exclusive mode");
+            }
+            listeners().addListener(standingsCounter);
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> callers = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                callers.add(pool.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(get("/api/stats/top-teams").param("year", "2024").param("limit", "5"))
+                            .andExpect(status().isOk())
+                            .andExpect(jsonPath("$[0].teamId").value(leader.getId()));
+                }));
+            }
+            start.countDown();
+            // the leader is blocked on the lock, everyone else has joined its computation
+            while (statsCache.snapshot().coalesced() - coalesced < CALLERS - 1) {
+                Thread.sleep(5);
+            }
+            lock.rollback();
+
+            for (Future<?> caller : callers) {
+                caller.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(standingsQueries).as("top-teams queries").hasValue(1);
+        assertThat(statsCache.snapshot().computations() - computations).isEqualTo(1);
+        assertThat(publisher.published(TOP_TEAMS_TOPIC) - published).as("top-teams messages").isEqualTo(1);
+    }
+
+    private ChainListener listeners() {
+        return ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+    }
+}
@@ -0,0 +1,99 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.Mockito;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.handler.NotFoundException;
+import org.otus.finalProject.service.base.StatsService;
+import org.otus.finalProject.service.cache.CachedStatsService;
+import org.otus.finalProject.service.cache.StatsCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CachedStatsServiceTest {
+    static final int CALLERS = 50;
+
+    final StatsService delegate = Mockito.mock(StatsService.class);
+    final StatsCache cache = new StatsCache(100, Duration.ofMinutes(10));
+    final CachedStatsService service = new CachedStatsService(delegate, cache);
+
+    @Nested
+    @DisplayName("concurrent identical calls")
+    class Coalescing {
+
+        @Test
+        @Timeout(10)
+        void shouldComputeOnce_forBurstOfIdenticalCalls() throws Exception {
+            var top = List.of(new TeamStatResponse(1L, 2025, 38, 24, 10, 4));
+            CountDownLatch release = new CountDownLatch(1);
+            Mockito.when(delegate.topTeams(2025, 10)).thenAnswer(inv -> {
+                release.await();
+                return top;
+            });
+
+            ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+            try {
+                List<Future<List<TeamStatResponse>>> results = new ArrayList<>();
+                for (int i = 0; i < CALLERS; i++) {
+                    results.add(pool.submit(() -> service.topTeams(2025, 10)));
+                }
+                // everyone but the leader has joined the in-flight computation
+                while (cache.snapshot().coalesced() < CALLERS - 1) {
+                    Thread.sleep(5);
+                }
+                release.countDown();
+
+                for (Future<List<TeamStatResponse>> result : results) {
+                    assertThat(result.get()).isEqualTo(top);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            verify(delegate, times(1)).topTeams(2025, 10);
+            assertThat(cache.snapshot().computations()).isEqualTo(1);
+            assertThat(cache.snapshot().coalesced()).isEqualTo(CALLERS - 1);
+        }
+
+        @Test
+        @Timeout(10)
+        void shouldShareException_withWaitingCallers() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            Mockito.when(delegate.teamStats(99L, null)).thenAnswer(inv -> {
+                release.await();
+                throw new NotFoundException("Team not found: 99");
+            });
+
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                Future<TeamStatResponse> first = pool.submit(() -> service.teamStats(99L, null));
+                Future<TeamStatResponse> second = pool.submit(() -> service.teamStats(99L, null));
+                while (cache.snapshot().coalesced() < 1) {
+                    Thread.sleep(5);
+                }
+                release.countDown();
+
+                assertThatThrownBy(first::get).hasCauseInstanceOf(NotFoundException.class);
+                assertThatThrownBy(second::get).hasCauseInstanceOf(NotFoundException.class);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            verify(delegate, times(1)).teamStats(99L, null);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.otus.finalProject.controller.ChampionshipController;
 import org.otus.finalProject.dto.championship.ChampionshipCreateRequest;
 import org.otus.finalProject.dto.championship.ChampionshipPatchRequest;
 import org.otus.finalProject.dto.championship.ChampionshipResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.handler.RestExceptionHandler;
 import org.otus.finalProject.service.base.ChampionshipService;
@@ -126,14 +127,16 @@ class ChampionshipControllerTest {
                     null,
                     null);
 
-            Mockito.when(championshipService.findAll()).thenReturn(List.of(response1, response2));
+            Mockito.when(championshipService.findAll(null, null))
+                    .thenReturn(new PageResponse<>(List.of(response1, response2), null));
 
             mockMvc.perform(get("/api/championships"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].name").value("Premier League"))
-                    .andExpect(jsonPath("$[1].name").value("La Liga"));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].name").value("Premier League"))
+                    .andExpect(jsonPath("$.items[1].name").value("La Liga"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
@@ -9,6 +9,7 @@ import org.otus.finalProject.controller.CoachController;
 import org.otus.finalProject.dto.coach.CoachCreateRequest;
 import org.otus.finalProject.dto.coach.CoachPatchRequest;
 import org.otus.finalProject.dto.coach.CoachResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.handler.RestExceptionHandler;
 import org.otus.finalProject.service.base.CoachService;
@@ -89,14 +90,16 @@ class CoachControllerTest {
             var r1 = new CoachResponse(1L, "Pep", "Guardiola", Set.of(10L, 20L));
             var r2 = new CoachResponse(2L, "Jurgen", "Klopp", Set.of());
 
-            Mockito.when(coachService.findAll()).thenReturn(List.of(r1, r2));
+            Mockito.when(coachService.findAll(null, null))
+                    .thenReturn(new PageResponse<>(List.of(r1, r2), null));
 
             mockMvc.perform(get("/api/coaches"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[1].firstName").value("Jurgen"));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.items[1].firstName").value("Jurgen"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
@@ -0,0 +1,120 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Base of the tests that count SQL against a real Postgres (one container for the whole run,
+ * migrated by Flyway; the classes are skipped without Docker). Kafka is replaced by the in-memory
+ * publisher and the season store is off, so stats requests reach the database. Every test starts
+ * from empty league tables and an empty stats cache; the helpers below seed through the repositories.
+ */
+@SpringBootTest(properties = {
+        "stats.publisher=in-memory",
+        "stats.season-store.enabled=false",
+        "logging.level.org.hibernate.SQL=WARN"})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+abstract class DatabaseTest {
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    static {
+        POSTGRES.start();
+    }
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Autowired
+    TeamRepository teamRepository;
+
+    @Autowired
+    PlayerRepository playerRepository;
+
+    @Autowired
+    MatchRepository matchRepository;
+
+    @Autowired
+    MatchPlayerRepository matchPlayerRepository;
+
+    @Autowired
+    GoalRepository goalRepository;
+
+    @Autowired
+    StatsCache statsCache;
+
+    @BeforeEach
+    void cleanDatabase() {
+        jdbc.execute("truncate table goals, match_player, match, player, team, coach, championship, team_season_stats cascade");
+        statsCache.evictAll();
+    }
+
+    Team team(String name) {
+        Team team = new Team();
+        team.setName(name);
+        return teamRepository.save(team);
+    }
+
+    List<Player> players(Team team, int count) {
+        return playerRepository.saveAll(IntStream.range(0, count).mapToObj(i -> {
+            Player player = new Player();
+            player.setFirstName("First" + i);
+            player.setLastName(team.getName() + " " + i);
+            player.setTeam(team);
+            return player;
+        }).toList());
+    }
+
+    Match match(Team team1, Team team2, Instant date, int team1Score, int team2Score) {
+        Match match = new Match();
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setMatchDate(date);
+        match.setTeam1Score(team1Score);
+        match.setTeam2Score(team2Score);
+        return matchRepository.save(match);
+    }
+
+    List<MatchPlayer> lineup(Match match, Team team, List<Player> players) {
+        List<MatchPlayer> lineup = new ArrayList<>(players.size());
+        for (Player player : players) {
+            MatchPlayer mp = new MatchPlayer();
+            mp.setId(new MatchPlayerId(match.getId(), player.getId()));
+            mp.setMatch(match);
+            mp.setPlayer(player);
+            mp.setTeam(team);
+            mp.setMinutesPlayed(90);
+            lineup.add(mp);
+        }
+        return matchPlayerRepository.saveAll(lineup);
+    }
+
+    List<Goal> goals(Match match, List<Player> scorers) {
+        return goalRepository.saveAll(IntStream.range(0, scorers.size()).mapToObj(i -> {
+            Goal goal = new Goal();
+            goal.setMatch(match);
+            goal.setPlayer(scorers.get(i));
+            goal.setGoalTime(i % 91);
+            return goal;
+        }).toList());
+    }
+}
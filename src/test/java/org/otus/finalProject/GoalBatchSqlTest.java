@@ -0,0 +1,56 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.sql.SqlStats;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements of a goal batch: the match, its scorers and its lineup are read once each, and the
+ * goals and the appearances of scorers missing from the lineups are inserted as one batch per table.
+ */
+class GoalBatchSqlTest extends DatabaseTest {
+    private static final int GOALS = 50;
+
+    @Test
+    void fiftyGoals_withNewAppearances_fixedStatements() throws Exception {
+        Team home = team("Home");
+        Team away = team("Away");
+        List<Player> homePlayers = players(home, 11);
+        List<Player> awayPlayers = players(away, 11);
+        Match match = match(home, away, Instant.parse("2024-05-04T18:00:00Z"), 0, 0);
+        // the last three players of each side are not in the lineups yet
+        lineup(match, home, homePlayers.subList(0, 8));
+        lineup(match, away, awayPlayers.subList(0, 8));
+        List<Player> scorers = Stream.concat(homePlayers.stream(), awayPlayers.stream()).toList();
+        String body = IntStream.range(0, GOALS)
+                .mapToObj(i -> "{\"playerId\":%d,\"goalTime\":%d}".formatted(scorers.get(i % scorers.size()).getId(), i % 91))
+                .collect(Collectors.joining(",", "{\"goals\":[", "]}"));
+
+        // match, players and lineup reads, up to two id blocks, and one insert batch per table
+        SqlStats stats = SqlCount.assertMaxStatements(7, () -> mockMvc.perform(post("/api/matches/{id}/goals:batch", match.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(GOALS))
+                .andExpect(jsonPath("$[?(@.error != null)]").isEmpty()));
+
+        assertThat(SqlCount.executions(stats, "insert into goals")).as("goals insert batches").isEqualTo(1);
+        assertThat(SqlCount.executions(stats, "insert into match_player")).as("match_player insert batches").isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from goals", Long.class)).isEqualTo(GOALS);
+        assertThat(jdbc.queryForObject("select count(*) from match_player", Long.class)).isEqualTo(22);
+    }
+}
@@ -0,0 +1,159 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.goal.GoalBatchItem;
+import org.otus.finalProject.dto.goal.GoalBatchItemResult;
+import org.otus.finalProject.handler.NotFoundException;
+import org.otus.finalProject.mapper.GoalMapper;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.GoalRepository;
+import org.otus.finalProject.persistence.repository.MatchPlayerRepository;
+import org.otus.finalProject.persistence.repository.MatchRepository;
+import org.otus.finalProject.persistence.repository.PlayerRepository;
+import org.otus.finalProject.service.GoalServiceImpl;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class GoalBatchTest {
+    @Mock
+    GoalRepository goalRepository;
+
+    @Mock
+    MatchRepository matchRepository;
+
+    @Mock
+    PlayerRepository playerRepository;
+
+    @Mock
+    MatchPlayerRepository matchPlayerRepository;
+
+    @Mock
+    StatsCache statsCache;
+
+    @Mock
+    SeasonColumnStore seasonColumnStore;
+
+    @Mock
+    GoalMapper mapper;
+
+    @InjectMocks
+    GoalServiceImpl goalService;
+
+    @Captor
+    ArgumentCaptor<Iterable<MatchPlayer>> appearances;
+
+    @Captor
+    ArgumentCaptor<Iterable<Goal>> goals;
+
+    Team home;
+    Team away;
+    Match match;
+
+    @BeforeEach
+    void setUp() {
+        home = team(1L);
+        away = team(2L);
+        match = new Match();
+        match.setId(10L);
+        match.setTeam1(home);
+        match.setTeam2(away);
+        match.setMatchDate(Instant.parse("2025-03-01T18:00:00Z"));
+    }
+
+    @Test
+    void shouldLoadPlayersAndLineupOnce_andInsertOnlyMissingAppearances() {
+        Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+        Mockito.when(playerRepository.findAllByIdIn(Set.of(3L, 4L)))
+                .thenReturn(List.of(player(3L, home), player(4L, away)));
+        Mockito.when(matchPlayerRepository.findPlayerIdsByMatchId(10L)).thenReturn(List.of(3L));
+        AtomicLong ids = new AtomicLong(100);
+        Mockito.when(goalRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            List<Goal> saved = invocation.getArgument(0);
+            saved.forEach(goal -> goal.setId(ids.incrementAndGet()));
+            return saved;
+        });
+
+        List<GoalBatchItemResult> results = goalService.createBatch(10L, List.of(
+                new GoalBatchItem(3L, 12), new GoalBatchItem(4L, 40), new GoalBatchItem(4L, 88)));
+
+        assertThat(results).extracting(GoalBatchItemResult::goalId).containsExactly(101L, 102L, 103L);
+        assertThat(results).extracting(GoalBatchItemResult::error).containsOnlyNulls();
+        verify(matchPlayerRepository).saveAll(appearances.capture());
+        assertThat(appearances.getValue()).singleElement().satisfies(mp -> {
+            assertThat(mp.getId().getPlayerId()).isEqualTo(4L);
+            assertThat(mp.getTeam()).isSameAs(away);
+            assertThat(mp.isStarting()).isFalse();
+        });
+        verify(matchPlayerRepository, never()).existsById(any());
+        verify(playerRepository, never()).findById(any());
+        verify(seasonColumnStore).refreshMatch(10L);
+    }
+
+    @Test
+    void shouldReportInvalidItems_andCreateTheOthers() {
+        Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+        Mockito.when(playerRepository.findAllByIdIn(Set.of(3L, 5L, 99L)))
+                .thenReturn(List.of(player(3L, home), player(5L, team(9L))));
+        Mockito.when(matchPlayerRepository.findPlayerIdsByMatchId(10L)).thenReturn(List.of(3L));
+
+        List<GoalBatchItemResult> results = goalService.createBatch(10L, List.of(
+                new GoalBatchItem(3L, 12),
+                new GoalBatchItem(99L, 20),
+                new GoalBatchItem(5L, 30),
+                new GoalBatchItem(3L, 121),
+                new GoalBatchItem(null, 50)));
+
+        assertThat(results).extracting(GoalBatchItemResult::error).containsExactly(
+                null,
+                "Player not found: 99",
+                "Player 5 does not belong to either team in this match",
+                "goalTime must be in [0..120]",
+                "playerId is required");
+        verify(goalRepository).saveAll(goals.capture());
+        assertThat(goals.getValue()).singleElement().satisfies(goal -> assertThat(goal.getGoalTime()).isEqualTo(12));
+    }
+
+    @Test
+    void shouldThrowNotFound_whenMatchIsMissing() {
+        Mockito.when(matchRepository.findById(404L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> goalService.createBatch(404L, List.of(new GoalBatchItem(3L, 12))))
+                .isInstanceOf(NotFoundException.class);
+        verify(goalRepository, never()).saveAll(any());
+    }
+
+    private static Team team(Long id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+
+    private static Player player(Long id, Team team) {
+        Player player = new Player();
+        player.setId(id);
+        player.setTeam(team);
+        return player;
+    }
+}
@@ -9,6 +9,7 @@ import org.otus.finalProject.controller.GoalController;
 import org.otus.finalProject.dto.goal.GoalCreateRequest;
 import org.otus.finalProject.dto.goal.GoalPatchRequest;
 import org.otus.finalProject.dto.goal.GoalResponse;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.handler.RestExceptionHandler;
 import org.otus.finalProject.service.base.GoalService;
@@ -89,14 +90,16 @@ class GoalControllerTest {
             var response1 = new GoalResponse(1L, 5L, 12L, 10);
             var response2 = new GoalResponse(2L, 6L, 13L, 77);
 
-            Mockito.when(goalService.findAll()).thenReturn(List.of(response1, response2));
+            Mockito.when(goalService.findAll(null, null, null, null))
+                    .thenReturn(new PageResponse<>(List.of(response1, response2), null));
 
             mockMvc.perform(get("/api/goals"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[1].goalTime").value(77));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.items[1].goalTime").value(77))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
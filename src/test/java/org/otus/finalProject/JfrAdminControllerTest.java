@@ -0,0 +1,120 @@
+package org.otus.finalProject;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.controller.JfrAdminController;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.jfr.JfrRecordingService;
+import org.otus.finalProject.service.jfr.StatsComputationEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = JfrAdminController.class, properties = "jfr.enabled=true")
+@AutoConfigureMockMvc(addFilters = false)
+@Import({RestExceptionHandler.class, JfrRecordingService.class})
+class JfrAdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    JfrRecordingService jfrRecordingService;
+
+    @AfterEach
+    void closeRecording() {
+        jfrRecordingService.close();
+    }
+
+    @Nested
+    @DisplayName("POST /api/admin/jfr/start")
+    class Start {
+
+        @Test
+        void shouldReturn200_andReportRunningRecording() throws Exception {
+            mockMvc.perform(post("/api/admin/jfr/start").param("settings", "profile").param("maxAgeMinutes", "10"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.running").value(true))
+                    .andExpect(jsonPath("$.settings").value("profile"))
+                    .andExpect(jsonPath("$.maxAgeMinutes").value(10));
+
+            mockMvc.perform(get("/api/admin/jfr"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.running").value(true));
+        }
+
+        @Test
+        void shouldReturn400_whenAlreadyRunning() throws Exception {
+            mockMvc.perform(post("/api/admin/jfr/start")).andExpect(status().isOk());
+
+            mockMvc.perform(post("/api/admin/jfr/start"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void shouldReturn400_whenSettingsUnknown() throws Exception {
+            mockMvc.perform(post("/api/admin/jfr/start").param("settings", "verbose"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/admin/jfr/stop")
+    class Stop {
+
+        @Test
+        void shouldReturnJfrFile_withCustomEvents() throws Exception {
+            mockMvc.perform(post("/api/admin/jfr/start")).andExpect(status().isOk());
+            StatsComputationEvent.begin("teamStats", 2025).finish("store", () -> 380);
+
+            MvcResult started = mockMvc.perform(post("/api/admin/jfr/stop"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            byte[] body = mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", "application/octet-stream"))
+                    .andExpect(header().string("Content-Disposition", endsWith(".jfr\"")))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            Path file = Files.createTempFile("jfr-test-", ".jfr");
+            try {
+                Files.write(file, body);
+                List<RecordedEvent> recorded = RecordingFile.readAllEvents(file);
+                List<RecordedEvent> events = recorded.stream()
+                        .filter(e -> e.getEventType().getName().equals("org.otus.finalProject.StatsComputation"))
+                        .toList();
+                assertThat(recorded).extracting(e -> e.getEventType().getName())
+                        .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+                assertThat(events).hasSize(1);
+                assertThat(events.get(0).getString("source")).isEqualTo("store");
+                assertThat(events.get(0).getLong("rows")).isEqualTo(380);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+            mockMvc.perform(get("/api/admin/jfr")).andExpect(jsonPath("$.running").value(false));
+        }
+
+        @Test
+        void shouldReturn404_whenNothingRunning() throws Exception {
+            mockMvc.perform(post("/api/admin/jfr/stop"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+}
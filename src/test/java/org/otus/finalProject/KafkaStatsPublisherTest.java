@@ -0,0 +1,74 @@
+package org.otus.finalProject;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.stats.StatsBatchMessage;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.service.kafka.KafkaStatsPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaStatsPublisherTest {
+    @Mock
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeSend_untilBrokerAck() {
+        CompletableFuture<SendResult<String, Object>> ack = new CompletableFuture<>();
+        Mockito.when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(ack);
+        KafkaStatsPublisher publisher = new KafkaStatsPublisher(kafkaTemplate, meterRegistry);
+
+        publisher.sendTeamStats(new TeamStatResponse(1L, 2025, 3, 2, 1, 0));
+        assertThat(meterRegistry.find("stats.publisher.send").timer()).isNull();
+
+        ack.complete(null);
+        assertThat(meterRegistry.get("stats.publisher.send")
+                .tags("topic", "statistics.teams.out", "result", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountFailure_whenBrokerRejects() {
+        Mockito.when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("no broker")));
+        KafkaStatsPublisher publisher = new KafkaStatsPublisher(kafkaTemplate, meterRegistry);
+
+        publisher.sendTopTeams(List.of(), 2025, 10);
+
+        assertThat(meterRegistry.get("stats.publisher.send")
+                .tags("topic", "statistics.top-teams.out", "result", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("stats.publisher.failures")
+                .tags("exception", "TimeoutException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldPublishBatch_asVersionedEnvelope_onItsOwnTopic() {
+        Mockito.when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(new CompletableFuture<>());
+        KafkaStatsPublisher publisher = new KafkaStatsPublisher(kafkaTemplate, meterRegistry);
+        List<TeamStatResponse> stats = List.of(new TeamStatResponse(1L, 2025, 3, 2, 1, 0), new TeamStatResponse(2L, 2025, 3, 0, 1, 2));
+
+        publisher.sendTeamStatsBatch(stats, 2025);
+
+        ArgumentCaptor<ProducerRecord<String, Object>> sent = ArgumentCaptor.forClass(ProducerRecord.class);
+        Mockito.verify(kafkaTemplate).send(sent.capture());
+        assertThat(sent.getValue().topic()).isEqualTo("statistics.teams.batch.out");
+        assertThat(sent.getValue().key()).isNull();
+        assertThat(sent.getValue().value()).isEqualTo(new StatsBatchMessage<>(StatsBatchMessage.VERSION, 2025, stats));
+    }
+}
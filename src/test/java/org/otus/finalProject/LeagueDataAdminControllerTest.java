@@ -0,0 +1,63 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.controller.LeagueDataAdminController;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.dto.generator.GenerateResponse;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.generator.LeagueDataGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(controllers = LeagueDataAdminController.class, properties = "generator.enabled=true")
+@AutoConfigureMockMvc(addFilters = false)
+@Import(RestExceptionHandler.class)
+class LeagueDataAdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    LeagueDataGenerator generator;
+
+    @Nested
+    @DisplayName("POST /api/admin/generator")
+    class Generate {
+
+        @Test
+        void shouldReturn200_withDefaultsForMissingSizes() throws Exception {
+            Mockito.when(generator.generate(any(GenerateRequest.class)))
+                    .thenReturn(new GenerateResponse(20, 500, 1, 380, 10_640, 1_026, 950));
+
+            mockMvc.perform(post("/api/admin/generator")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"seed\": 7}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.matches").value(380))
+                    .andExpect(jsonPath("$.goals").value(1_026));
+            Mockito.verify(generator).generate(new GenerateRequest(20, 25, 1, 38, 2.7, 7L, false));
+        }
+
+        @Test
+        void shouldReturn400_whenSquadTooSmallForLineup() throws Exception {
+            mockMvc.perform(post("/api/admin/generator")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"playersPerTeam\": 11}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("validation_failed"));
+            Mockito.verifyNoInteractions(generator);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.service.generator.LeaguePlan;
+import org.otus.finalProject.service.generator.LeaguePlan.PlannedMatch;
+import org.otus.finalProject.service.generator.LeaguePlan.Side;
+
+import java.time.ZoneOffset;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeaguePlanTest {
+
+    private static List<PlannedMatch> matches(LeaguePlan plan) {
+        List<PlannedMatch> matches = new ArrayList<>();
+        plan.forEachMatch(matches::add);
+        return matches;
+    }
+
+    @Test
+    void shouldGenerateSameLeague_forSameSeed() {
+        GenerateRequest request = new GenerateRequest(9, 18, 2, 6, 3.0, 7L, null);
+
+        List<PlannedMatch> first = matches(new LeaguePlan(request, 2025, 0, 0, 0, 0));
+        List<PlannedMatch> second = matches(new LeaguePlan(request, 2025, 0, 0, 0, 0));
+
+        assertThat(first).hasSize(2 * 6 * 4);
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i).side1().players()).containsExactly(first.get(i).side1().players());
+            assertThat(second.get(i).side2().scorers()).containsExactly(first.get(i).side2().scorers());
+            assertThat(second.get(i).matchDate()).isEqualTo(first.get(i).matchDate());
+        }
+    }
+
+    @Test
+    void shouldLookUpSingleMatch_asListedInOrder() {
+        GenerateRequest request = new GenerateRequest(7, 14, 2, 5, 2.7, 11L, null);
+        LeaguePlan plan = new LeaguePlan(request, 2025, 0, 0, 0, 0);
+
+        List<PlannedMatch> all = matches(plan);
+        for (int i = 0; i < all.size(); i++) {
+            PlannedMatch single = plan.match(i);
+            assertThat(single.id()).isEqualTo(all.get(i).id());
+            assertThat(single.side1().teamId()).isEqualTo(all.get(i).side1().teamId());
+            assertThat(single.side2().players()).containsExactly(all.get(i).side2().players());
+            assertThat(single.matchDate()).isEqualTo(all.get(i).matchDate());
+        }
+    }
+
+    @Test
+    void shouldRespectSchemaAndLineupRules() {
+        GenerateRequest request = new GenerateRequest(21, 16, 3, 38, 2.7, 42L, null);
+        LeaguePlan plan = new LeaguePlan(request, 2025, 100, 1000, 10, 5000);
+
+        List<PlannedMatch> matches = matches(plan);
+        assertThat(matches).hasSize((int) plan.matches());
+
+        Set<String> fixtures = new HashSet<>();
+        long expectedId = 5001;
+        for (PlannedMatch m : matches) {
+            assertThat(m.id()).isEqualTo(expectedId++);
+            assertThat(m.side1().teamId()).isNotEqualTo(m.side2().teamId());
+            assertThat(fixtures.add(m.side1().teamId() + ":" + m.side2().teamId() + ":" + m.matchDate())).isTrue();
+            assertThat(m.championshipId()).isBetween(11L, 13L);
+            assertThat(m.matchDate().atZone(ZoneOffset.UTC).getYear())
+                    .isEqualTo(plan.seasonYear((int) (m.championshipId() - 11)));
+            assertSide(plan, m.side1());
+            assertSide(plan, m.side2());
+        }
+    }
+
+    private static void assertSide(LeaguePlan plan, Side side) {
+        int team = (int) (side.teamId() - plan.teamId(0));
+        assertThat(team).isBetween(0, plan.teams() - 1);
+
+        Map<Long, Integer> minutes = new HashMap<>();
+        for (int i = 0; i < side.players().length; i++) {
+            long player = side.players()[i];
+            assertThat(player).isBetween(plan.playerId(team, 0), plan.playerId(team, 15));
+            assertThat(side.minutes()[i]).isBetween(1, 120);
+            assertThat(minutes.put(player, side.minutes()[i])).isNull();
+        }
+        assertThat(minutes).hasSize(LeaguePlan.STARTERS + LeaguePlan.SUBSTITUTES);
+
+        for (int g = 0; g < side.score(); g++) {
+            assertThat(minutes).containsKey(side.scorers()[g]);
+            assertThat(side.goalTimes()[g]).isBetween(1, LeaguePlan.FULL_TIME);
+        }
+    }
+}
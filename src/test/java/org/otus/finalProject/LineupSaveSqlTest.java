@@ -0,0 +1,138 @@
+package org.otus.finalProject;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.sql.SqlStats;
+import org.springframework.http.MediaType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements of a lineup save: the rows of a new lineup are persisted without a select per row
+ * (MatchPlayer is Persistable) and reach Postgres as one insert batch; a one-player change of a
+ * stored lineup is one update. The LineupSave flight recorder event reports the same statements.
+ */
+class LineupSaveSqlTest extends DatabaseTest {
+    private static final Instant KICK_OFF = Instant.parse("2024-05-04T18:00:00Z");
+
+    Team home;
+    Team away;
+    List<Player> homePlayers;
+    List<Player> awayPlayers;
+
+    @BeforeEach
+    void seedTeams() {
+        home = team("Home");
+        away = team("Away");
+        homePlayers = players(home, 11);
+        awayPlayers = players(away, 11);
+    }
+
+    @Test
+    void newLineups_insertedAsOneBatch_withoutSelectPerRow() throws Exception {
+        String body = """
+                {"team1Id":%d,"team2Id":%d,"matchDate":"%s","lineupTeam1":%s,"lineupTeam2":%s}
+                """.formatted(home.getId(), away.getId(), KICK_OFF, lineup(homePlayers, p -> 90), lineup(awayPlayers, p -> 90));
+
+        // 2 team reads, same-day check, sequence, match insert, 2 standings deltas,
+        // 2 player reads, the lineup batch and the lineup read of the response
+        SqlStats stats = SqlCount.assertMaxStatements(11, () -> mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.lineupTeam1.length()").value(11))
+                .andExpect(jsonPath("$.lineupTeam2.length()").value(11)));
+
+        assertThat(SqlCount.executions(stats, "insert into match_player")).as("match_player insert batches").isEqualTo(1);
+        assertThat(SqlCount.executions(stats, "from match_player")).as("match_player selects").isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from match_player", Long.class)).isEqualTo(22);
+    }
+
+    @Test
+    void onePlayerChange_oneUpdate() throws Exception {
+        Match match = match(home, away, KICK_OFF, 0, 0);
+        lineup(match, home, homePlayers);
+        lineup(match, away, awayPlayers);
+        Player substituted = homePlayers.get(10);
+        String body = """
+                {"lineupTeam1":%s}
+                """.formatted(lineup(homePlayers, p -> p == substituted ? 30 : 90));
+
+        // match read, lineup ids for eviction, player read, stored lineup, the update and the response lineups
+        SqlStats stats = SqlCount.assertMaxStatements(6, () -> mockMvc.perform(patch("/api/matches/{id}", match.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lineupTeam1.length()").value(11)));
+
+        assertThat(SqlCount.executions(stats, "update match_player")).isEqualTo(1);
+        assertThat(SqlCount.executions(stats, "insert into match_player") + SqlCount.executions(stats, "delete from match_player")).isZero();
+        assertThat(jdbc.queryForObject("select minutes_played from match_player where match_id = ? and player_id = ?",
+                Integer.class, match.getId(), substituted.getId())).isEqualTo(30);
+    }
+
+    @Test
+    void lineupSaveEvent_countsQueuedRowsAndBatches() throws Exception {
+        Match match = match(home, away, KICK_OFF, 0, 0);
+        lineup(match, home, homePlayers.subList(0, 10));
+        // one changed row, one added and the substitute dropped
+        List<Player> next = homePlayers.subList(1, 11);
+        String body = """
+                {"lineupTeam1":%s}
+                """.formatted(lineup(next, p -> p == next.get(0) ? 45 : 90));
+
+        SqlStats[] stats = new SqlStats[1];
+        List<RecordedEvent> events = recordLineupSaves(() -> stats[0] = SqlCount.during(() -> mockMvc.perform(
+                        patch("/api/matches/{id}", match.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(body))
+                .andExpect(status().isOk())));
+
+        assertThat(events).hasSize(1);
+        RecordedEvent event = events.get(0);
+        assertThat(event.getInt("inserted")).isEqualTo(1);
+        assertThat(event.getInt("updated")).isEqualTo(1);
+        assertThat(event.getInt("deleted")).isEqualTo(1);
+        // player read, stored lineup and one batch each for the insert, the update and the delete
+        assertThat(event.getInt("statements")).isEqualTo(5);
+        assertThat(SqlCount.executions(stats[0], "insert into match_player") + SqlCount.executions(stats[0], "update match_player")
+                + SqlCount.executions(stats[0], "delete from match_player")).as("match_player write batches").isEqualTo(3);
+    }
+
+    private static List<RecordedEvent> recordLineupSaves(SqlCount.Call call) throws Exception {
+        Path file = Files.createTempFile("lineup-save", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.otus.finalProject.LineupSave");
+            recording.start();
+            call.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String lineup(List<Player> players, Function<Player, Integer> minutes) {
+        return players.stream()
+                .map(p -> "{\"playerId\":%d,\"minutesPlayed\":%d}".formatted(p.getId(), minutes.apply(p)))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
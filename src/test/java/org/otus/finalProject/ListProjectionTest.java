@@ -0,0 +1,112 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.coach.CoachResponse;
+import org.otus.finalProject.dto.player.PlayerShortResponse;
+import org.otus.finalProject.dto.team.TeamResponse;
+import org.otus.finalProject.mapper.CoachMapper;
+import org.otus.finalProject.mapper.TeamMapper;
+import org.otus.finalProject.persistence.projection.CoachRow;
+import org.otus.finalProject.persistence.projection.CoachTeamRow;
+import org.otus.finalProject.persistence.projection.PlayerRow;
+import org.otus.finalProject.persistence.projection.TeamRow;
+import org.otus.finalProject.persistence.repository.CoachRepository;
+import org.otus.finalProject.persistence.repository.PlayerRepository;
+import org.otus.finalProject.persistence.repository.TeamRepository;
+import org.otus.finalProject.service.CoachServiceImpl;
+import org.otus.finalProject.service.TeamServiceImpl;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ListProjectionTest {
+    @Mock
+    TeamRepository teamRepository;
+
+    @Mock
+    CoachRepository coachRepository;
+
+    @Mock
+    PlayerRepository playerRepository;
+
+    @Mock
+    SeasonColumnStore seasonColumnStore;
+
+    @Nested
+    @DisplayName("GET /api/teams")
+    class Teams {
+
+        @Test
+        void shouldLoadRostersOfWholePage_inOneQuery() {
+            var service = new TeamServiceImpl(teamRepository, coachRepository, playerRepository, seasonColumnStore,
+                    new TeamMapper(coachRepository));
+            Mockito.when(teamRepository.findPage(eq(0L), eq(null), any(Pageable.class))).thenReturn(List.of(
+                    new TeamRow(1L, "Arsenal", "England", 10L),
+                    new TeamRow(2L, "Chelsea", "England", null),
+                    new TeamRow(3L, "Everton", "England", null)));
+            Mockito.when(playerRepository.findRosters(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                    new PlayerRow(100L, "Bukayo", "Saka", 1L),
+                    new PlayerRow(101L, "Declan", "Rice", 1L),
+                    new PlayerRow(200L, "Cole", "Palmer", 2L)));
+
+            List<TeamResponse> teams = service.findAll(null, null, null).items();
+
+            assertThat(teams).extracting(TeamResponse::id).containsExactly(1L, 2L, 3L);
+            assertThat(teams.get(0).coachId()).isEqualTo(10L);
+            assertThat(teams.get(0).players()).extracting(PlayerShortResponse::id).containsExactlyInAnyOrder(100L, 101L);
+            assertThat(teams.get(1).players()).extracting(PlayerShortResponse::lastName).containsExactly("Palmer");
+            assertThat(teams.get(2).players()).isEmpty();
+            verify(playerRepository, times(1)).findRosters(anyCollection());
+            verifyNoMoreInteractions(playerRepository);
+        }
+
+        @Test
+        void shouldSkipRosterQuery_whenPageEmpty() {
+            var service = new TeamServiceImpl(teamRepository, coachRepository, playerRepository, seasonColumnStore,
+                    new TeamMapper(coachRepository));
+            Mockito.when(teamRepository.findPage(eq(0L), eq("Spain"), any(Pageable.class))).thenReturn(List.of());
+
+            assertThat(service.findAll("Spain", null, null).items()).isEmpty();
+            verify(playerRepository, never()).findRosters(anyCollection());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/coaches")
+    class Coaches {
+
+        @Test
+        void shouldLoadTeamsOfWholePage_inOneQuery() {
+            var service = new CoachServiceImpl(coachRepository, teamRepository, new CoachMapper());
+            Mockito.when(coachRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                    new CoachRow(10L, "Mikel", "Arteta"),
+                    new CoachRow(11L, "Enzo", "Maresca")));
+            Mockito.when(teamRepository.findCoachTeams(List.of(10L, 11L)))
+                    .thenReturn(List.of(new CoachTeamRow(10L, 1L), new CoachTeamRow(10L, 4L)));
+
+            List<CoachResponse> coaches = service.findAll(null, null).items();
+
+            assertThat(coaches.get(0).teamsId()).isEqualTo(Set.of(1L, 4L));
+            assertThat(coaches.get(1).teamsId()).isEmpty();
+            verify(teamRepository, times(1)).findCoachTeams(anyCollection());
+        }
+    }
+}
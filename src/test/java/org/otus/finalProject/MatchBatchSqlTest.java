@@ -0,0 +1,133 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+import org.otus.finalProject.persistence.sql.SqlStats;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A matchday next to a stored late kick-off (23:30 UTC): the day of a match is its UTC date, so a
+ * match of the same team 60 minutes later falls on the next day and is accepted, one earlier the
+ * same evening is rejected, by the batch, the single create and a patch alike. The statements of a
+ * batch do not depend on the lineup sizes.
+ */
+class MatchBatchSqlTest extends DatabaseTest {
+    private static final Instant LATE_KICK_OFF = Instant.parse("2024-05-04T23:30:00Z");
+
+    Team a;
+    Team b;
+    Team c;
+    Team d;
+    List<Player> aPlayers;
+    List<Player> cPlayers;
+    Match stored;
+
+    @BeforeEach
+    void seedLateMatch() {
+        a = team("A");
+        b = team("B");
+        c = team("C");
+        d = team("D");
+        aPlayers = players(a, 11);
+        cPlayers = players(c, 11);
+        stored = match(a, b, LATE_KICK_OFF, 1, 1);
+    }
+
+    @Test
+    void nextUtcDay_accepted_withFixedStatements() throws Exception {
+        String body = batch(
+                fixture(a, aPlayers, c, cPlayers, "2024-05-05T00:30:00Z"),
+                fixture(b, List.of(), d, List.of(), "2024-05-05T00:30:00Z"));
+
+        // teams, players and stored matches of the days, up to two id blocks, the match batch,
+        // two standings deltas per match, the lineup batch and the lineup read of the response
+        SqlStats stats = SqlCount.assertMaxStatements(12, () -> mockMvc.perform(post("/api/matches:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].lineupTeam1.length()").value(11)));
+
+        assertThat(SqlCount.executions(stats, "insert into match ")).as("match insert batches").isEqualTo(1);
+        assertThat(SqlCount.executions(stats, "insert into match_player")).as("match_player insert batches").isEqualTo(1);
+        assertThat(jdbc.queryForObject("select count(*) from match", Long.class)).isEqualTo(3);
+    }
+
+    @Test
+    void sameUtcDay_rejectedBeforeAnyInsert() throws Exception {
+        String body = batch(
+                fixture(c, cPlayers, d, List.of(), "2024-05-04T18:00:00Z"),
+                fixture(a, aPlayers, d, List.of(), "2024-05-04T20:00:00Z"));
+
+        SqlStats stats = SqlCount.assertMaxStatements(3, () -> mockMvc.perform(post("/api/matches:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("matches[1]: team %d already plays on 2024-05-04 (match %d)"
+                        .formatted(a.getId(), stored.getId()))));
+
+        assertThat(SqlCount.executions(stats, "insert into")).isZero();
+        assertThat(jdbc.queryForObject("select count(*) from match", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    void singleCreate_appliesTheSameRule() throws Exception {
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(fixture(b, List.of(), c, List.of(), "2024-05-04T12:00:00Z")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("team %d already plays on 2024-05-04 (match %d)"
+                        .formatted(b.getId(), stored.getId())));
+
+        mockMvc.perform(post("/api/matches")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(fixture(b, List.of(), c, List.of(), "2024-05-05T12:00:00Z")))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void patch_appliesTheSameRule() throws Exception {
+        Match later = match(a, c, Instant.parse("2024-05-06T18:00:00Z"), 0, 0);
+
+        mockMvc.perform(patch("/api/matches/{id}", later.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"matchDate\":\"2024-05-04T10:00:00Z\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("team %d already plays on 2024-05-04 (match %d)"
+                        .formatted(a.getId(), stored.getId())));
+
+        mockMvc.perform(patch("/api/matches/{id}", later.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"matchDate\":\"2024-05-05T10:00:00Z\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private static String batch(String... fixtures) {
+        return "{\"matches\":[" + String.join(",", fixtures) + "]}";
+    }
+
+    private static String fixture(Team team1, List<Player> lineup1, Team team2, List<Player> lineup2, String matchDate) {
+        return """
+                {"team1Id":%d,"team2Id":%d,"matchDate":"%s","lineupTeam1":%s,"lineupTeam2":%s}
+                """.formatted(team1.getId(), team2.getId(), matchDate, lineup(lineup1), lineup(lineup2));
+    }
+
+    private static String lineup(List<Player> players) {
+        return players.stream()
+                .map(p -> "{\"playerId\":%d,\"minutesPlayed\":90}".formatted(p.getId()))
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
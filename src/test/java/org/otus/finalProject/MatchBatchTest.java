@@ -0,0 +1,178 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.match.LineupItem;
+import org.otus.finalProject.dto.match.MatchCreateRequest;
+import org.otus.finalProject.handler.NotFoundException;
+import org.otus.finalProject.mapper.MatchMapper;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.MatchServiceImpl;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchBatchTest {
+    private static final Instant KICK_OFF = Instant.parse("2025-03-01T15:00:00Z");
+
+    @Mock
+    MatchRepository matchRepository;
+
+    @Mock
+    PlayerRepository playerRepository;
+
+    @Mock
+    TeamRepository teamRepository;
+
+    @Mock
+    ChampionshipRepository championshipRepository;
+
+    @Mock
+    MatchPlayerRepository matchPlayerRepository;
+
+    @Mock
+    GoalRepository goalRepository;
+
+    @Mock
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    @Mock
+    StatsCache statsCache;
+
+    @Mock
+    SeasonColumnStore seasonColumnStore;
+
+    @Mock
+    MatchMapper mapper;
+
+    @InjectMocks
+    MatchServiceImpl matchService;
+
+    @Captor
+    ArgumentCaptor<Iterable<MatchPlayer>> appearances;
+
+    @Nested
+    @DisplayName("createBatch")
+    class CreateBatch {
+
+        @Test
+        void shouldResolveEverythingWithSetQueries_andSaveInBatches() {
+            Team t1 = team(1L), t2 = team(2L), t3 = team(3L), t4 = team(4L);
+            Mockito.when(teamRepository.findAllById(Set.of(1L, 2L, 3L, 4L))).thenReturn(List.of(t1, t2, t3, t4));
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(11L, 21L))).thenReturn(List.of(player(11L, t1), player(21L, t2)));
+            AtomicLong ids = new AtomicLong(100);
+            Mockito.when(matchRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Match> saved = invocation.getArgument(0);
+                saved.forEach(match -> match.setId(ids.incrementAndGet()));
+                return saved;
+            });
+
+            matchService.createBatch(List.of(
+                    new MatchCreateRequest(1L, List.of(new LineupItem(11L, true, 90)), 2L, List.of(new LineupItem(21L, false, 30)), KICK_OFF, null),
+                    new MatchCreateRequest(3L, null, 4L, null, KICK_OFF, null)));
+
+            verify(matchRepository).findByTeamsBetween(Set.of(1L, 2L, 3L, 4L),
+                    Instant.parse("2025-03-01T00:00:00Z"), Instant.parse("2025-03-02T00:00:00Z"));
+            verify(matchRepository, never()).existsByTeam1AndTeam2AndMatchDate(any(), any(), any());
+            verify(teamRepository, never()).findById(anyLong());
+            verify(matchPlayerRepository).saveAll(appearances.capture());
+            assertThat(appearances.getValue())
+                    .extracting(mp -> mp.getId().getMatchId(), mp -> mp.getId().getPlayerId(), mp -> mp.getTeam().getId())
+                    .containsExactly(
+                            tuple(101L, 11L, 1L),
+                            tuple(101L, 21L, 2L));
+            verify(teamSeasonStatsService, times(2)).add(any());
+            verify(seasonColumnStore).refreshMatches(List.of(101L, 102L));
+        }
+
+        @Test
+        void shouldRejectTeamPlayingTwiceOnADay() {
+            Team t1 = team(1L), t2 = team(2L), t3 = team(3L);
+            Mockito.when(teamRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(t1, t2, t3));
+
+            assertThatThrownBy(() -> matchService.createBatch(List.of(
+                    new MatchCreateRequest(1L, null, 2L, null, KICK_OFF, null),
+                    new MatchCreateRequest(3L, null, 1L, null, KICK_OFF.plusSeconds(3 * 3600), null))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("matches[1]: team 1 already plays on 2025-03-01 (matches[0])");
+            verify(matchRepository, never()).saveAll(any());
+        }
+
+        @Test
+        void shouldRejectMatchAlreadyStored() {
+            Team t1 = team(1L), t2 = team(2L);
+            Match stored = new Match();
+            stored.setId(50L);
+            stored.setTeam1(t1);
+            stored.setTeam2(t2);
+            stored.setMatchDate(KICK_OFF);
+            Mockito.when(teamRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(t1, t2));
+            Mockito.when(matchRepository.findByTeamsBetween(any(), any(), any())).thenReturn(List.of(stored));
+
+            assertThatThrownBy(() -> matchService.createBatch(List.of(
+                    new MatchCreateRequest(1L, null, 2L, null, KICK_OFF, null))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("matches[0]: Match with the same teams and date already exists");
+        }
+
+        @Test
+        void shouldRejectLineupPlayerOfAnotherTeam() {
+            Team t1 = team(1L), t2 = team(2L);
+            Mockito.when(teamRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(t1, t2));
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(21L))).thenReturn(List.of(player(21L, t2)));
+
+            assertThatThrownBy(() -> matchService.createBatch(List.of(
+                    new MatchCreateRequest(1L, List.of(new LineupItem(21L, true, 90)), 2L, null, KICK_OFF, null))))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("matches[0]: player 21 does not belong to team 1");
+        }
+
+        @Test
+        void shouldThrowNotFound_whenTeamsAreMissing() {
+            Mockito.when(teamRepository.findAllById(Set.of(1L, 9L))).thenReturn(List.of(team(1L)));
+
+            assertThatThrownBy(() -> matchService.createBatch(List.of(
+                    new MatchCreateRequest(1L, null, 9L, null, KICK_OFF, null))))
+                    .isInstanceOf(NotFoundException.class)
+                    .hasMessage("Teams not found: [9]");
+        }
+    }
+
+    private static Team team(Long id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+
+    private static Player player(Long id, Team team) {
+        Player player = new Player();
+        player.setId(id);
+        player.setTeam(team);
+        return player;
+    }
+}
@@ -6,12 +6,19 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.otus.finalProject.controller.MatchController;
+import org.otus.finalProject.dto.goal.GoalBatchItem;
+import org.otus.finalProject.dto.goal.GoalBatchItemResult;
+import org.otus.finalProject.dto.goal.GoalBatchRequest;
+import org.otus.finalProject.dto.match.MatchBatchRequest;
 import org.otus.finalProject.dto.match.MatchCreateRequest;
+import org.otus.finalProject.dto.match.MatchFilter;
 import org.otus.finalProject.dto.match.MatchPatchRequest;
 import org.otus.finalProject.dto.match.MatchResponse;
 import org.otus.finalProject.dto.match.MatchResultRequest;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.handler.NotFoundException;
 import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.base.GoalService;
 import org.otus.finalProject.service.base.MatchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -45,6 +52,9 @@ class MatchControllerTest {
     @MockBean
     MatchService matchService;
 
+    @MockBean
+    GoalService goalService;
+
     @Nested
     @DisplayName("POST /api/matches")
     class Create {
@@ -86,6 +96,54 @@ class MatchControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/matches:batch")
+    class CreateBatch {
+
+        @Test
+        void shouldCreateMatchdayAndReturn201() throws Exception {
+            var when = Instant.parse("2025-10-25T18:00:00Z");
+            var request = new MatchBatchRequest(List.of(
+                    new MatchCreateRequest(1L, null, 2L, null, when, 7L),
+                    new MatchCreateRequest(3L, null, 4L, null, when, 7L)));
+            Mockito.when(matchService.createBatch(any())).thenReturn(List.of(
+                    new MatchResponse(10L, 1L, 2L, 0, 0, when, 7L, null, null),
+                    new MatchResponse(11L, 3L, 4L, 0, 0, when, 7L, null, null)));
+
+            mockMvc.perform(post("/api/matches:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[1].id").value(11));
+        }
+
+        @Test
+        void shouldReturn400_whenMatchInvalid() throws Exception {
+            var request = new MatchBatchRequest(List.of(new MatchCreateRequest(1L, null, null, null, null, null)));
+
+            mockMvc.perform(post("/api/matches:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+            Mockito.verifyNoInteractions(matchService);
+        }
+
+        @Test
+        void shouldReturn400_whenServiceRejectsBatch() throws Exception {
+            var when = Instant.parse("2025-10-25T18:00:00Z");
+            var request = new MatchBatchRequest(List.of(new MatchCreateRequest(1L, null, 2L, null, when, null)));
+            Mockito.when(matchService.createBatch(any()))
+                    .thenThrow(new IllegalArgumentException("matches[0]: Match with the same teams and date already exists"));
+
+            mockMvc.perform(post("/api/matches:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("matches[0]: Match with the same teams and date already exists"));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/matches")
     class GetAll {
@@ -97,14 +155,45 @@ class MatchControllerTest {
             var response1 = new MatchResponse(1L, 1L, 2L, 1, 1, time1, 5L, null, null);
             var response2 = new MatchResponse(2L, 3L, 4L, 2, 0, time2, null, null, null);
 
-            Mockito.when(matchService.findAll()).thenReturn(List.of(response1, response2));
+            Mockito.when(matchService.findAll(new MatchFilter(null, null, null, null), null, null))
+                    .thenReturn(new PageResponse<>(List.of(response1, response2), null));
 
             mockMvc.perform(get("/api/matches"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[1].id").value(2));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.items[1].id").value(2))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        }
+
+        @Test
+        void shouldPassFiltersAndCursor_andReturnNextCursor() throws Exception {
+            var filter = new MatchFilter(Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2026-01-01T00:00:00Z"), 7L, 3L);
+            var response = new MatchResponse(5L, 3L, 4L, 1, 0, Instant.parse("2025-05-01T18:00:00Z"), 7L, null, null);
+
+            Mockito.when(matchService.findAll(filter, "abc", 1))
+                    .thenReturn(new PageResponse<>(List.of(response), "next"));
+
+            mockMvc.perform(get("/api/matches")
+                            .param("from", "2025-01-01T00:00:00Z")
+                            .param("to", "2026-01-01T00:00:00Z")
+                            .param("championshipId", "7")
+                            .param("teamId", "3")
+                            .param("cursor", "abc")
+                            .param("limit", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(5))
+                    .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        @Test
+        void shouldReturn400_whenCursorInvalid() throws Exception {
+            Mockito.when(matchService.findAll(any(MatchFilter.class), eq("bogus"), any()))
+                    .thenThrow(new IllegalArgumentException("invalid cursor: bogus"));
+
+            mockMvc.perform(get("/api/matches").param("cursor", "bogus"))
+                    .andExpect(status().isBadRequest());
         }
     }
 
@@ -243,4 +332,48 @@ class MatchControllerTest {
                     .andExpect(jsonPath("$.error").value("not_found"));
         }
     }
+
+    @Nested
+    @DisplayName("POST /api/matches/{id}/goals:batch")
+    class GoalsBatch {
+
+        @Test
+        void shouldReturnResultPerGoal() throws Exception {
+            var request = new GoalBatchRequest(List.of(new GoalBatchItem(5L, 12), new GoalBatchItem(99L, 30)));
+            Mockito.when(goalService.createBatch(eq(7L), any())).thenReturn(List.of(
+                    new GoalBatchItemResult(0, 5L, 12, 100L, null),
+                    new GoalBatchItemResult(1, 99L, 30, null, "Player not found: 99")));
+
+            mockMvc.perform(post("/api/matches/{id}/goals:batch", 7)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].goalId").value(100))
+                    .andExpect(jsonPath("$[0].error").value(nullValue()))
+                    .andExpect(jsonPath("$[1].goalId").value(nullValue()))
+                    .andExpect(jsonPath("$[1].error").value("Player not found: 99"));
+        }
+
+        @Test
+        void shouldReturn400_whenNoGoals() throws Exception {
+            mockMvc.perform(post("/api/matches/{id}/goals:batch", 7)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new GoalBatchRequest(List.of()))))
+                    .andExpect(status().isBadRequest());
+            Mockito.verifyNoInteractions(goalService);
+        }
+
+        @Test
+        void shouldReturn404_whenMatchNotFound() throws Exception {
+            Mockito.when(goalService.createBatch(eq(404L), any()))
+                    .thenThrow(new NotFoundException("Match not found: 404"));
+
+            mockMvc.perform(post("/api/matches/{id}/goals:batch", 404)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new GoalBatchRequest(List.of(new GoalBatchItem(5L, 12))))))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error").value("not_found"));
+        }
+    }
 }
@@ -0,0 +1,239 @@
+package org.otus.finalProject;
+
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.match.LineupItem;
+import org.otus.finalProject.dto.match.MatchCreateRequest;
+import org.otus.finalProject.dto.match.MatchPatchRequest;
+import org.otus.finalProject.handler.NotFoundException;
+import org.otus.finalProject.mapper.MatchMapper;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.MatchServiceImpl;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchLineupTest {
+    @Mock
+    MatchRepository matchRepository;
+
+    @Mock
+    PlayerRepository playerRepository;
+
+    @Mock
+    TeamRepository teamRepository;
+
+    @Mock
+    ChampionshipRepository championshipRepository;
+
+    @Mock
+    MatchPlayerRepository matchPlayerRepository;
+
+    @Mock
+    GoalRepository goalRepository;
+
+    @Mock
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    @Mock
+    StatsCache statsCache;
+
+    @Mock
+    SeasonColumnStore seasonColumnStore;
+
+    @Mock
+    MatchMapper mapper;
+
+    @InjectMocks
+    MatchServiceImpl matchService;
+
+    @Captor
+    ArgumentCaptor<Iterable<MatchPlayer>> rows;
+
+    Team team1;
+    Team team2;
+    Match match;
+
+    @BeforeEach
+    void setUp() {
+        team1 = team(1L);
+        team2 = team(2L);
+        match = new Match();
+        match.setId(10L);
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setMatchDate(Instant.parse("2025-03-01T18:00:00Z"));
+    }
+
+    @Nested
+    @DisplayName("create")
+    class Create {
+
+        @Test
+        void shouldValidateWithOneQuery_andInsertAllRows_withoutReadingStoredLineup() throws BadRequestException {
+            Mockito.when(teamRepository.findById(1L)).thenReturn(Optional.of(team1));
+            Mockito.when(teamRepository.findById(2L)).thenReturn(Optional.of(team2));
+            Mockito.when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> {
+                Match saved = invocation.getArgument(0);
+                saved.setId(10L);
+                return saved;
+            });
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(1L, 3L)))
+                    .thenReturn(List.of(player(1L, team1), player(3L, team1)));
+
+            matchService.create(new MatchCreateRequest(1L,
+                    List.of(new LineupItem(1L, true, 90), new LineupItem(3L, false, 15)),
+                    2L, null, match.getMatchDate(), null));
+
+            verify(playerRepository, never()).findById(anyLong());
+            verify(matchPlayerRepository, never()).findByMatch_IdAndTeam_Id(anyLong(), anyLong());
+            verify(matchPlayerRepository).saveAll(rows.capture());
+            assertThat(rows.getValue()).extracting(mp -> mp.getId().getPlayerId()).containsExactly(1L, 3L);
+            assertThat(rows.getValue()).allMatch(MatchPlayer::isNew);
+        }
+
+        @Test
+        void shouldReject_whenATeamAlreadyPlaysThatDay() {
+            Match stored = new Match();
+            stored.setId(11L);
+            stored.setTeam1(team(3L));
+            stored.setTeam2(team1);
+            stored.setMatchDate(Instant.parse("2025-03-01T12:00:00Z"));
+            Mockito.when(teamRepository.findById(1L)).thenReturn(Optional.of(team1));
+            Mockito.when(teamRepository.findById(2L)).thenReturn(Optional.of(team2));
+            Mockito.when(matchRepository.findByTeamsBetween(Set.of(1L, 2L),
+                            Instant.parse("2025-03-01T00:00:00Z"), Instant.parse("2025-03-02T00:00:00Z")))
+                    .thenReturn(List.of(stored));
+
+            assertThatThrownBy(() -> matchService.create(new MatchCreateRequest(1L, null, 2L, null, match.getMatchDate(), null)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("team 1 already plays on 2025-03-01 (match 11)");
+            verify(matchRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("patch")
+    class Patch {
+
+        @Test
+        void shouldUpdateChangedRows_insertNewOnes_andDeleteDropped() throws BadRequestException {
+            MatchPlayer kept = appearance(player(1L, team1), true, 90);
+            MatchPlayer changed = appearance(player(2L, team1), true, 90);
+            MatchPlayer dropped = appearance(player(4L, team1), false, 10);
+            Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+            Mockito.when(matchPlayerRepository.findPlayerIdsByMatchId(10L)).thenReturn(List.of(1L, 2L, 4L));
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(1L, 2L, 3L)))
+                    .thenReturn(List.of(kept.getPlayer(), changed.getPlayer(), player(3L, team1)));
+            Mockito.when(matchPlayerRepository.findByMatch_IdAndTeam_Id(10L, 1L))
+                    .thenReturn(List.of(kept, changed, dropped));
+
+            matchService.patch(10L, new MatchPatchRequest(null,
+                    List.of(new LineupItem(1L, true, 90), new LineupItem(2L, false, 60), new LineupItem(3L, null, 30)),
+                    null, null, null, null));
+
+            assertThat(kept.isStarting()).isTrue();
+            assertThat(kept.getMinutesPlayed()).isEqualTo(90);
+            assertThat(changed.isStarting()).isFalse();
+            assertThat(changed.getMinutesPlayed()).isEqualTo(60);
+            verify(matchPlayerRepository).deleteAll(rows.capture());
+            assertThat(rows.getValue()).containsExactly(dropped);
+            verify(matchPlayerRepository).saveAll(rows.capture());
+            assertThat(rows.getValue()).extracting(mp -> mp.getId().getPlayerId()).containsExactly(3L);
+            verify(matchPlayerRepository, never()).deleteByMatchIdAndTeamId(anyLong(), anyLong());
+        }
+
+        @Test
+        void shouldThrowNotFound_whenPlayerIsMissing() {
+            Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(1L, 3L))).thenReturn(List.of(player(1L, team1)));
+
+            assertThatThrownBy(() -> matchService.patch(10L, new MatchPatchRequest(null,
+                    List.of(new LineupItem(1L, true, 90), new LineupItem(3L, true, 90)),
+                    null, null, null, null)))
+                    .isInstanceOf(NotFoundException.class)
+                    .hasMessage("player not found: 3");
+            verify(matchPlayerRepository, never()).saveAll(any());
+        }
+
+        @Test
+        void shouldRejectPlayerOfAnotherTeam() {
+            Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+            Mockito.when(playerRepository.findAllByIdIn(Set.of(5L))).thenReturn(List.of(player(5L, team2)));
+
+            assertThatThrownBy(() -> matchService.patch(10L, new MatchPatchRequest(null,
+                    List.of(new LineupItem(5L, true, 90)), null, null, null, null)))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("player 5 does not belong to team 1");
+            verify(matchPlayerRepository, never()).saveAll(any());
+        }
+
+        @Test
+        void shouldReject_movingTheMatchOntoABookedDay() {
+            Match booked = new Match();
+            booked.setId(12L);
+            booked.setTeam1(team2);
+            booked.setTeam2(team(3L));
+            booked.setMatchDate(Instant.parse("2025-03-08T15:00:00Z"));
+            Mockito.when(matchRepository.findById(10L)).thenReturn(Optional.of(match));
+            Mockito.when(matchRepository.findByTeamsBetween(Set.of(1L, 2L),
+                            Instant.parse("2025-03-08T00:00:00Z"), Instant.parse("2025-03-09T00:00:00Z")))
+                    .thenReturn(List.of(booked));
+
+            assertThatThrownBy(() -> matchService.patch(10L, new MatchPatchRequest(null, null, null, null,
+                    Instant.parse("2025-03-08T18:00:00Z"), null)))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("team 2 already plays on 2025-03-08 (match 12)");
+            assertThat(match.getMatchDate()).isEqualTo(Instant.parse("2025-03-01T18:00:00Z"));
+            verify(teamSeasonStatsService, never()).replace(any(), any());
+        }
+    }
+
+    private static Team team(Long id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+
+    private static Player player(Long id, Team team) {
+        Player player = new Player();
+        player.setId(id);
+        player.setTeam(team);
+        return player;
+    }
+
+    private MatchPlayer appearance(Player player, boolean starting, Integer minutes) {
+        MatchPlayer mp = new MatchPlayer();
+        mp.setId(new MatchPlayerId(match.getId(), player.getId()));
+        mp.setMatch(match);
+        mp.setPlayer(player);
+        mp.setTeam(player.getTeam());
+        mp.setStarting(starting);
+        mp.setMinutesPlayed(minutes);
+        return mp;
+    }
+}
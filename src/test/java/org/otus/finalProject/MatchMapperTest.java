@@ -0,0 +1,109 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.match.LineupItemResponse;
+import org.otus.finalProject.dto.match.MatchResponse;
+import org.otus.finalProject.mapper.MatchMapper;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.MatchPlayerRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class MatchMapperTest {
+    @Mock
+    MatchPlayerRepository matchPlayerRepository;
+
+    @InjectMocks
+    MatchMapper mapper;
+
+    @Captor
+    ArgumentCaptor<Collection<Long>> ids;
+
+    static Team team(long id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+
+    static Match match(long id) {
+        Match match = new Match();
+        match.setId(id);
+        match.setTeam1(team(1L));
+        match.setTeam2(team(2L));
+        match.setTeam1Score(1);
+        match.setTeam2Score(0);
+        match.setMatchDate(Instant.parse("2025-03-01T15:00:00Z"));
+        return match;
+    }
+
+    static MatchPlayer appearance(Match match, long teamId, long playerId) {
+        Player player = new Player();
+        player.setId(playerId);
+        player.setFirstName("First" + playerId);
+        player.setLastName("Last" + playerId);
+
+        MatchPlayer mp = new MatchPlayer();
+        mp.setId(new MatchPlayerId(match.getId(), playerId));
+        mp.setMatch(match);
+        mp.setPlayer(player);
+        mp.setTeam(team(teamId));
+        mp.setMinutesPlayed(90);
+        return mp;
+    }
+
+    @Nested
+    @DisplayName("toResponses")
+    class ToResponses {
+
+        @Test
+        void shouldLoadAllLineupsInOneQuery_andSplitThemByMatchAndTeam() {
+            Match m1 = match(10L);
+            Match m2 = match(11L);
+            Match m3 = match(12L);
+            Mockito.when(matchPlayerRepository.findLineupsByMatchIds(List.of(10L, 11L, 12L))).thenReturn(List.of(
+                    appearance(m1, 1L, 100L), appearance(m1, 2L, 200L), appearance(m2, 2L, 201L)));
+
+            List<MatchResponse> responses = mapper.toResponses(List.of(m1, m2, m3));
+
+            assertThat(responses).extracting(MatchResponse::id).containsExactly(10L, 11L, 12L);
+            assertThat(responses.get(0).lineupTeam1()).extracting(LineupItemResponse::playerId).containsExactly(100L);
+            assertThat(responses.get(0).lineupTeam2()).extracting(LineupItemResponse::lastName).containsExactly("Last200");
+            assertThat(responses.get(1).lineupTeam1()).isEmpty();
+            assertThat(responses.get(1).lineupTeam2()).hasSize(1);
+            assertThat(responses.get(2).lineupTeam1()).isEmpty();
+            verify(matchPlayerRepository, times(1)).findLineupsByMatchIds(anyCollection());
+            verify(matchPlayerRepository, never()).findByMatch_Id(anyLong());
+        }
+
+        @Test
+        void shouldChunkLineupQueries_forLargePages() {
+            List<Match> matches = LongStream.rangeClosed(1, 2_500).mapToObj(MatchMapperTest::match).toList();
+            Mockito.when(matchPlayerRepository.findLineupsByMatchIds(anyCollection())).thenReturn(List.of());
+
+            assertThat(mapper.toResponses(matches)).hasSize(2_500);
+
+            verify(matchPlayerRepository, times(3)).findLineupsByMatchIds(ids.capture());
+            assertThat(ids.getAllValues()).extracting(Collection::size).containsExactly(1_000, 1_000, 500);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.dto.page.PageResponse;
+import org.otus.finalProject.service.page.PageCursor;
+import org.otus.finalProject.service.page.Pages;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PagesTest {
+
+    @Nested
+    @DisplayName("PageCursor")
+    class Cursor {
+
+        @Test
+        void shouldRoundTrip_idAndTimedCursors() {
+            var at = Instant.parse("2025-05-01T18:00:00.123456Z");
+
+            assertThat(PageCursor.decode(PageCursor.after(42L).encode(), false)).isEqualTo(PageCursor.after(42L));
+            assertThat(PageCursor.decode(PageCursor.after(at, 7L).encode(), true)).isEqualTo(PageCursor.after(at, 7L));
+            assertThat(PageCursor.afterId(null)).isZero();
+        }
+
+        @Test
+        void shouldRejectCursor_whenMalformedOrOfAnotherList() {
+            String idCursor = PageCursor.after(42L).encode();
+
+            assertThatThrownBy(() -> PageCursor.decode(idCursor, true)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> PageCursor.decode("not a cursor!", false)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pages")
+    class Paging {
+
+        @Test
+        void shouldApplyDefaultAndCap_andRejectNonPositiveLimit() {
+            assertThat(Pages.limit(null)).isEqualTo(Pages.DEFAULT_LIMIT);
+            assertThat(Pages.limit(10_000)).isEqualTo(Pages.MAX_LIMIT);
+            assertThat(Pages.rows(20).getPageSize()).isEqualTo(21);
+            assertThatThrownBy(() -> Pages.limit(0)).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void shouldTrimExtraRow_andPointCursorAtLastItem() {
+            PageResponse<Long> page = Pages.of(List.of(1L, 2L, 3L), 2, Function.identity(), PageCursor::after);
+
+            assertThat(page.items()).containsExactly(1L, 2L);
+            assertThat(PageCursor.afterId(page.nextCursor())).isEqualTo(2L);
+        }
+
+        @Test
+        void shouldReturnNoCursor_onLastPage() {
+            PageResponse<Long> page = Pages.of(List.of(1L, 2L), 2, Function.identity(), PageCursor::after);
+
+            assertThat(page.items()).containsExactly(1L, 2L);
+            assertThat(page.nextCursor()).isNull();
+        }
+    }
+}
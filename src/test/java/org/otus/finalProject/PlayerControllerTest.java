@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.otus.finalProject.controller.PlayerController;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.player.PlayerCreateRequest;
 import org.otus.finalProject.dto.player.PlayerPatchRequest;
 import org.otus.finalProject.dto.player.PlayerResponse;
@@ -89,16 +90,18 @@ class PlayerControllerTest {
             var r1 = new PlayerResponse(1L, "Kylian", "Mbappe", 10L);
             var r2 = new PlayerResponse(2L, "Erling", "Haaland", null);
 
-            Mockito.when(playerService.findAll()).thenReturn(List.of(r1, r2));
+            Mockito.when(playerService.findAll(null, null, null))
+                    .thenReturn(new PageResponse<>(List.of(r1, r2), null));
 
             mockMvc.perform(get("/api/players"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].id").value(1))
-                    .andExpect(jsonPath("$[0].teamId").value(10))
-                    .andExpect(jsonPath("$[1].firstName").value("Erling"))
-                    .andExpect(jsonPath("$[1].teamId").doesNotExist()); // null не сериализуется, если включён NON_NULL
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(1))
+                    .andExpect(jsonPath("$.items[0].teamId").value(10))
+                    .andExpect(jsonPath("$.items[1].firstName").value("Erling"))
+                    .andExpect(jsonPath("$.items[1].teamId").doesNotExist()) // null не сериализуется, если включён NON_NULL
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
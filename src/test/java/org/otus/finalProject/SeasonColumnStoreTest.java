@@ -0,0 +1,270 @@
+package org.otus.finalProject;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.persistence.model.*;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.PlayerTotals;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.TeamTotals;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+
+class SeasonColumnStoreTest {
+    final int year = LocalDate.now(ZoneOffset.UTC).getYear();
+
+    final MatchRepository matchRepository = Mockito.mock(MatchRepository.class);
+    final GoalRepository goalRepository = Mockito.mock(GoalRepository.class);
+    final MatchPlayerRepository matchPlayerRepository = Mockito.mock(MatchPlayerRepository.class);
+    final PlayerRepository playerRepository = Mockito.mock(PlayerRepository.class);
+    final TeamRepository teamRepository = Mockito.mock(TeamRepository.class);
+    final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+
+    final SeasonColumnStore store = new SeasonColumnStore(matchRepository, goalRepository, matchPlayerRepository,
+            playerRepository, teamRepository, Mockito.mock(EntityManager.class), transactionManager, true);
+
+    final Team team1 = team(1L);
+    final Team team2 = team(2L);
+    final Team team3 = team(3L);
+    final Player scorer1 = player(10L, "Ann", "Alpha", team1);
+    final Player scorer2 = player(20L, "Bob", "Beta", team2);
+
+    // team1 2:1 team2, team2 0:0 team3
+    final Match match1 = match(100L, team1, team2, 2, 1);
+    final Match match2 = match(101L, team2, team3, 0, 0);
+    final List<MatchPlayer> lineup1 = List.of(appearance(match1, scorer1, 90), appearance(match1, scorer2, 80));
+    final List<MatchPlayer> lineup2 = List.of(appearance(match2, scorer2, null));
+    final List<Goal> goals1 = List.of(goal(match1, scorer1), goal(match1, scorer1), goal(match1, scorer2));
+
+    @BeforeEach
+    void load() {
+        Mockito.when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        Mockito.when(teamRepository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        Mockito.when(playerRepository.findAll()).thenReturn(List.of(scorer1, scorer2));
+        Mockito.when(matchRepository.streamByMatchDateBetween(any(), any())).thenReturn(Stream.of(match1, match2));
+        Mockito.when(matchPlayerRepository.streamByMatch_MatchDateBetween(any(), any()))
+                .thenReturn(Stream.concat(lineup1.stream(), lineup2.stream()));
+        Mockito.when(goalRepository.streamByMatch_MatchDateBetween(any(), any())).thenReturn(goals1.stream());
+
+        store.load();
+    }
+
+    @Nested
+    @DisplayName("queries")
+    class Queries {
+
+        @Test
+        void shouldCountTeamResults() {
+            assertThat(store.teamTotals(year, 1L)).contains(new TeamTotals(1L, 1, 1, 0, 0));
+            assertThat(store.teamTotals(year, 2L)).contains(new TeamTotals(2L, 2, 0, 1, 1));
+        }
+
+        @Test
+        void shouldCountPlayerAppearancesMinutesAndGoals() {
+            assertThat(store.playerTotals(year, List.of(10L, 20L))).contains(List.of(
+                    new PlayerTotals(10L, 1, 90, 2),
+                    new PlayerTotals(20L, 2, 80, 1)));
+        }
+
+        @Test
+        void shouldOrderTopTeamsLikeStandings() {
+            assertThat(store.topTeams(year, 2).orElseThrow())
+                    .extracting(TeamTotals::teamId)
+                    .containsExactly(1L, 3L);
+        }
+
+        @Test
+        void shouldRankScorersByGoals_withTeamAtMatch() {
+            var scorers = store.topScorers(year, null, 10).orElseThrow();
+
+            assertThat(scorers).extracting(s -> s.playerId() + ":" + s.teamId() + ":" + s.goals())
+                    .containsExactly("10:1:2", "20:2:1");
+            assertThat(store.topScorers(year, 2L, 10).orElseThrow()).hasSize(1);
+        }
+
+        @Test
+        void shouldBreakScorerTies_likeTheDatabaseQuery() {
+            // one goal each: "Beta" sorts before "alpha" in code point order, equal names fall
+            // back to the player id, and a player who scored for two teams to the team id
+            Player beta = player(30L, "Cid", "Beta", team1);
+            Player betaTwin = player(31L, "Cid", "Beta", team1);
+            Player alpha = player(40L, "Cid", "alpha", team1);
+            MatchPlayer betaForTeam2 = appearance(match2, beta, 90);
+            betaForTeam2.setTeam(team2);
+            Mockito.when(playerRepository.findAll()).thenReturn(List.of(alpha, betaTwin, beta));
+            Mockito.when(matchRepository.streamByMatchDateBetween(any(), any())).thenReturn(Stream.of(match1, match2));
+            Mockito.when(matchPlayerRepository.streamByMatch_MatchDateBetween(any(), any())).thenReturn(Stream.of(
+                    appearance(match1, alpha, 90), appearance(match1, betaTwin, 90), appearance(match1, beta, 90), betaForTeam2));
+            Mockito.when(goalRepository.streamByMatch_MatchDateBetween(any(), any())).thenReturn(Stream.of(
+                    goal(match1, alpha), goal(match1, betaTwin), goal(match2, beta), goal(match1, beta)));
+            store.load();
+
+            assertThat(store.topScorers(year, null, 10).orElseThrow())
+                    .extracting(s -> s.playerId() + ":" + s.teamId())
+                    .containsExactly("30:1", "30:2", "31:1", "40:1");
+        }
+
+        @Test
+        void shouldBeEmpty_forOtherYearsAndUnknownIds() {
+            assertThat(store.teamTotals(year - 1, 1L)).isEmpty();
+            assertThat(store.teamTotals(null, 1L)).isEmpty();
+            assertThat(store.teamTotals(year, 99L)).isEmpty();
+            assertThat(store.playerTotals(year, List.of(10L, 99L))).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("refresh")
+    class Refresh {
+
+        @Test
+        void shouldReplaceChangedMatch() {
+            Match changed = match(100L, team1, team2, 1, 1);
+            Mockito.when(matchRepository.findAllById(List.of(100L))).thenReturn(List.of(changed));
+            Mockito.when(matchPlayerRepository.findByMatch_IdIn(Set.of(100L))).thenReturn(lineup1);
+            Mockito.when(goalRepository.findByMatch_IdIn(Set.of(100L))).thenReturn(List.of(goal(changed, scorer1), goal(changed, scorer2)));
+
+            store.refreshMatch(100L);
+
+            assertThat(store.teamTotals(year, 1L)).contains(new TeamTotals(1L, 1, 0, 1, 0));
+            assertThat(store.playerTotals(year, 10L)).contains(new PlayerTotals(10L, 1, 90, 1));
+            assertThat(store.snapshot().deadMatches()).isEqualTo(1);
+        }
+
+        @Test
+        void shouldDropDeletedMatch_withItsAppearances() {
+            Mockito.when(matchRepository.findAllById(List.of(101L))).thenReturn(List.of());
+
+            store.refreshMatch(101L);
+
+            assertThat(store.teamTotals(year, 3L)).contains(new TeamTotals(3L, 0, 0, 0, 0));
+            assertThat(store.playerTotals(year, 20L)).contains(new PlayerTotals(20L, 1, 80, 1));
+            Mockito.verify(matchPlayerRepository, Mockito.never()).findByMatch_IdIn(any());
+        }
+
+        @Test
+        void shouldReloadAllMatchesOfABatch_withOneQueryPerTable() {
+            Match changed1 = match(100L, team1, team2, 0, 2);
+            Match changed2 = match(101L, team2, team3, 1, 0);
+            Mockito.when(matchRepository.findAllById(any())).thenReturn(List.of(changed1, changed2));
+            Mockito.when(matchPlayerRepository.findByMatch_IdIn(any()))
+                    .thenReturn(List.of(appearance(changed1, scorer1, 90), appearance(changed2, scorer2, 70)));
+            Mockito.when(goalRepository.findByMatch_IdIn(any())).thenReturn(List.of(goal(changed2, scorer2)));
+
+            store.refreshMatches(List.of(100L, 101L));
+
+            assertThat(store.teamTotals(year, List.of(1L, 2L, 3L))).contains(List.of(
+                    new TeamTotals(1L, 1, 0, 0, 1), new TeamTotals(2L, 2, 2, 0, 0), new TeamTotals(3L, 1, 0, 0, 1)));
+            assertThat(store.playerTotals(year, 20L)).contains(new PlayerTotals(20L, 1, 70, 1));
+            assertThat(store.topScorers(year, 2L, 10)).contains(List.of(new TopScorersStatResponse(20L, "Bob", "Beta", 2L, 1)));
+            Mockito.verify(matchRepository).findAllById(any());
+            Mockito.verify(matchPlayerRepository).findByMatch_IdIn(any());
+            Mockito.verify(goalRepository).findByMatch_IdIn(any());
+        }
+
+        @Test
+        void shouldKeepNewerSnapshot_whenAnOlderReloadFinishesLast() {
+            Match older = match(100L, team1, team2, 3, 0);
+            Match newer = match(100L, team1, team2, 0, 3);
+            AtomicInteger reads = new AtomicInteger();
+            Mockito.when(matchRepository.findAllById(List.of(100L))).thenAnswer(invocation -> {
+                if (reads.incrementAndGet() == 1) {
+                    store.refreshMatch(100L); // a later commit's reload overtakes this one
+                    return List.of(older);
+                }
+                return List.of(newer);
+            });
+
+            store.refreshMatch(100L);
+
+            assertThat(reads).hasValue(2);
+            assertThat(store.teamTotals(year, 1L)).contains(new TeamTotals(1L, 1, 0, 0, 1));
+            assertThat(store.snapshot().matches()).isEqualTo(2);
+        }
+
+        @Test
+        void shouldForgetDeletedPlayer() {
+            store.removePlayer(10L);
+
+            assertThat(store.playerTotals(year, 10L)).isEmpty();
+            assertThat(store.topScorers(year, null, 10)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshot")
+    class Snapshot {
+
+        @Test
+        void shouldReportSizesAndFootprint() {
+            var snapshot = store.snapshot();
+
+            assertThat(snapshot.loaded()).isTrue();
+            assertThat(snapshot.seasonYear()).isEqualTo(year);
+            assertThat(snapshot.matches()).isEqualTo(2);
+            assertThat(snapshot.goals()).isEqualTo(3);
+            assertThat(snapshot.appearances()).isEqualTo(3);
+            assertThat(snapshot.footprintBytes()).isPositive();
+        }
+    }
+
+    private static Team team(Long id) {
+        Team team = new Team();
+        team.setId(id);
+        return team;
+    }
+
+    private static Player player(Long id, String firstName, String lastName, Team team) {
+        Player player = new Player();
+        player.setId(id);
+        player.setFirstName(firstName);
+        player.setLastName(lastName);
+        player.setTeam(team);
+        return player;
+    }
+
+    private Match match(Long id, Team team1, Team team2, int score1, int score2) {
+        Match match = new Match();
+        match.setId(id);
+        match.setTeam1(team1);
+        match.setTeam2(team2);
+        match.setTeam1Score(score1);
+        match.setTeam2Score(score2);
+        match.setMatchDate(Instant.parse(year + "-01-02T18:00:00Z"));
+        return match;
+    }
+
+    private static MatchPlayer appearance(Match match, Player player, Integer minutes) {
+        MatchPlayer mp = new MatchPlayer();
+        mp.setId(new MatchPlayerId(match.getId(), player.getId()));
+        mp.setMatch(match);
+        mp.setPlayer(player);
+        mp.setTeam(player.getTeam());
+        mp.setMinutesPlayed(minutes);
+        return mp;
+    }
+
+    private static Goal goal(Match match, Player player) {
+        Goal goal = new Goal();
+        goal.setMatch(match);
+        goal.setPlayer(player);
+        goal.setGoalTime(10);
+        return goal;
+    }
+}
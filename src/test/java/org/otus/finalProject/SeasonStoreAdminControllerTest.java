@@ -0,0 +1,76 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.controller.SeasonStoreAdminController;
+import org.otus.finalProject.dto.stats.SeasonStoreResponse;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(controllers = SeasonStoreAdminController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(RestExceptionHandler.class)
+class SeasonStoreAdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    SeasonColumnStore seasonColumnStore;
+
+    @Nested
+    @DisplayName("GET /api/admin/season-store")
+    class Stats {
+
+        @Test
+        void shouldReturn200_withFootprint() throws Exception {
+            Mockito.when(seasonColumnStore.snapshot())
+                    .thenReturn(new SeasonStoreResponse(true, true, 2025, 380, 2, 1000, 8000, 20, 500, 1_200_000, 85));
+
+            mockMvc.perform(get("/api/admin/season-store"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.seasonYear").value(2025))
+                    .andExpect(jsonPath("$.matches").value(380))
+                    .andExpect(jsonPath("$.footprintBytes").value(1_200_000));
+        }
+
+        @Test
+        void shouldReturn200_whenNotLoaded() throws Exception {
+            Mockito.when(seasonColumnStore.snapshot())
+                    .thenReturn(new SeasonStoreResponse(false, false, null, 0, 0, 0, 0, 0, 0, 0, 0));
+
+            mockMvc.perform(get("/api/admin/season-store"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.loaded").value(false))
+                    .andExpect(jsonPath("$.seasonYear").doesNotExist());
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/admin/season-store/reload")
+    class Reload {
+
+        @Test
+        void shouldReturn200_afterReload() throws Exception {
+            Mockito.when(seasonColumnStore.load())
+                    .thenReturn(new SeasonStoreResponse(true, true, 2025, 381, 0, 1002, 8022, 20, 500, 1_200_000, 90));
+
+            mockMvc.perform(post("/api/admin/season-store/reload"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.matches").value(381));
+            Mockito.verify(seasonColumnStore).load();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package org.otus.finalProject;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.persistence.sql.SqlAccountingFilter;
+import org.otus.finalProject.persistence.sql.SqlAccountingListener;
+import org.otus.finalProject.persistence.sql.SqlStats;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlAccountingTest {
+    final SqlAccountingListener listener = new SqlAccountingListener();
+
+    void execute(String sql, Object result) {
+        ExecutionInfo info = new ExecutionInfo();
+        info.setResult(result);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(info, queries);
+        listener.afterQuery(info, queries);
+    }
+
+    void fetchRow(boolean hasRow) throws Exception {
+        listener.afterMethod(MethodExecutionContext.Builder.create()
+                .target(Mockito.mock(ResultSet.class))
+                .method(ResultSet.class.getMethod("next"))
+                .result(hasRow)
+                .build());
+    }
+
+    @Nested
+    @DisplayName("listener")
+    class Listener {
+
+        @Test
+        void shouldGroupStatementsByShape_mostFrequentFirst() throws Exception {
+            SqlStats stats = SqlCount.during(() -> {
+                execute("select * from team where id=1", null);
+                for (int i = 0; i < 3; i++) {
+                    execute("select * from match_player where match_id = " + i, null);
+                    fetchRow(true);
+                    fetchRow(true);
+                    fetchRow(false);
+                }
+                execute("update match set team1_score=2 where id in (1, 2)", 2);
+                execute("insert into goals values (?, ?)", new int[]{1, 1, 1});
+            });
+
+            assertThat(stats.statements()).isEqualTo(6);
+            assertThat(stats.rows()).isEqualTo(6 + 2 + 3);
+            assertThat(stats.shapes().get(0).sql()).isEqualTo("select * from match_player where match_id = ?");
+            assertThat(stats.shapes().get(0).count()).isEqualTo(3);
+            assertThat(stats.shapes()).extracting(SqlStats.Shape::sql)
+                    .contains("update match set team1_score=? where id in (...)");
+        }
+
+        @Test
+        void shouldIgnoreStatements_outsideUnitOfWork() throws Exception {
+            execute("select 1", null);
+
+            assertThat(SqlCount.during(() -> { }).statements()).isZero();
+        }
+
+        @Test
+        void shouldFailAssertion_whenOverLimit() {
+            assertThatThrownBy(() -> SqlCount.assertMaxStatements(1, () -> {
+                execute("select * from match_player where match_id = 1", null);
+                execute("select * from match_player where match_id = 2", null);
+            })).isInstanceOf(AssertionError.class)
+                    .hasMessageContaining("match_id = ?");
+        }
+    }
+
+    @Nested
+    @DisplayName("filter")
+    class Filter {
+
+        @Test
+        void shouldReportRequestTotals_inHeaders() throws Exception {
+            SqlAccountingFilter filter = new SqlAccountingFilter(true, 100, Duration.ofSeconds(1));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/matches"), response, new MockFilterChain() {
+                @Override
+                public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res)
+                        throws java.io.IOException {
+                    execute("select * from match", null);
+                    fetchRowUnchecked();
+                    execute("select * from match_player where match_id = 1", null);
+                    res.getWriter().write("[]");
+                }
+            });
+
+            assertThat(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER)).isEqualTo("2");
+            assertThat(response.getHeader(SqlAccountingFilter.ROWS_HEADER)).isEqualTo("1");
+            assertThat(response.getHeader(SqlAccountingFilter.TIME_HEADER)).isNotNull();
+            assertThat(response.getContentAsString()).isEqualTo("[]");
+        }
+
+        @Test
+        void shouldNotAddHeaders_whenDisabled() throws Exception {
+            SqlAccountingFilter filter = new SqlAccountingFilter(false, 100, Duration.ofSeconds(1));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/teams"), response, new MockFilterChain());
+
+            assertThat(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER)).isNull();
+        }
+
+        private void fetchRowUnchecked() {
+            try {
+                fetchRow(true);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.otus.finalProject;
+
+import org.otus.finalProject.persistence.sql.SqlAccounting;
+import org.otus.finalProject.persistence.sql.SqlStats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper counting the SQL a block runs on the current thread, e.g. a MockMvc call in a
+ * {@code @SpringBootTest} against a real database:
+ * <pre>SqlCount.assertMaxStatements(3, () -> mockMvc.perform(get("/api/matches")));</pre>
+ */
+final class SqlCount {
+
+    @FunctionalInterface
+    interface Call {
+        void run() throws Exception;
+    }
+
+    private SqlCount() {
+    }
+
+    static SqlStats during(Call call) throws Exception {
+        if (SqlAccounting.current() != null) {
+            throw new IllegalStateException("SQL accounting already running on this thread");
+        }
+        SqlStats stats = SqlAccounting.start();
+        try {
+            call.run();
+            return stats;
+        } finally {
+            SqlAccounting.stop();
+        }
+    }
+
+    static SqlStats assertMaxStatements(long max, Call call) throws Exception {
+        SqlStats stats = during(call);
+        assertThat(stats.statements())
+                .as("SQL statements, most frequent shapes: %s", stats.shapes())
+                .isLessThanOrEqualTo(max);
+        return stats;
+    }
+
+    /**
+     * Times the statements containing {@code fragment} ran, e.g. {@code "insert into goals"}; a batch counts once.
+     */
+    static long executions(SqlStats stats, String fragment) {
+        return stats.shapes().stream()
+                .filter(shape -> shape.sql().contains(fragment))
+                .mapToLong(SqlStats.Shape::count)
+                .sum();
+    }
+}
@@ -0,0 +1,124 @@
+package org.otus.finalProject;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import ch.qos.logback.core.spi.FilterReply;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.config.logging.RequestDebugFilter;
+import org.otus.finalProject.config.logging.RequestDebugTurboFilter;
+import org.otus.finalProject.persistence.sql.SlowQueryLogListener;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlLoggingTest {
+
+    @Nested
+    @DisplayName("slow query log")
+    class SlowQueryLog {
+        final Logger slow = (Logger) LoggerFactory.getLogger("sql.slow");
+        final Logger sample = (Logger) LoggerFactory.getLogger("sql.sample");
+        final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+        @BeforeEach
+        void attach() {
+            appender.start();
+            slow.addAppender(appender);
+            sample.addAppender(appender);
+        }
+
+        @AfterEach
+        void detach() {
+            slow.detachAppender(appender);
+            sample.detachAppender(appender);
+        }
+
+        void execute(SlowQueryLogListener listener, long millis) throws Exception {
+            QueryInfo query = new QueryInfo("select * from goals where player_id = ?");
+            query.setParametersList(List.of(List.of(new ParameterSetOperation(
+                    PreparedStatement.class.getMethod("setLong", int.class, long.class), new Object[]{1, 42L}))));
+            ExecutionInfo info = new ExecutionInfo();
+            info.setElapsedTime(millis);
+            info.setSuccess(true);
+            listener.afterQuery(info, List.of(query));
+        }
+
+        @Test
+        void shouldLogStatement_overThreshold_withParameters() throws Exception {
+            execute(new SlowQueryLogListener(Duration.ofMillis(200), 0.0), 250);
+
+            assertThat(appender.list).hasSize(1);
+            assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.WARN);
+            assertThat(appender.list.get(0).getFormattedMessage())
+                    .startsWith("250 ms")
+                    .contains("select * from goals where player_id = ?")
+                    .contains("params=[42]");
+        }
+
+        @Test
+        void shouldSkipFastStatement_whenNotSampled() throws Exception {
+            execute(new SlowQueryLogListener(Duration.ofMillis(200), 0.0), 3);
+
+            assertThat(appender.list).isEmpty();
+        }
+
+        @Test
+        void shouldLogFastStatement_whenSampled() throws Exception {
+            execute(new SlowQueryLogListener(Duration.ofMillis(200), 1.0), 3);
+
+            assertThat(appender.list).singleElement()
+                    .satisfies(e -> assertThat(e.getLoggerName()).isEqualTo("sql.sample"));
+        }
+    }
+
+    @Nested
+    @DisplayName("request debug")
+    class RequestDebug {
+        final RequestDebugTurboFilter turboFilter = new RequestDebugTurboFilter();
+        final Logger logger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+
+        FilterReply replyDuring(MockHttpServletRequest request, Level level) throws Exception {
+            AtomicReference<FilterReply> reply = new AtomicReference<>();
+            new RequestDebugFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                    reply.set(turboFilter.decide(null, logger, level, "sql", null, null));
+                }
+            });
+            return reply.get();
+        }
+
+        @Test
+        void shouldAcceptDebug_forMarkedRequest() throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/matches");
+            request.addHeader(RequestDebugFilter.HEADER, "true");
+
+            assertThat(replyDuring(request, Level.DEBUG)).isEqualTo(FilterReply.ACCEPT);
+            assertThat(replyDuring(request, Level.TRACE)).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(turboFilter.decide(null, logger, Level.DEBUG, "after", null, null)).isEqualTo(FilterReply.NEUTRAL);
+        }
+
+        @Test
+        void shouldKeepConfiguredLevels_forOtherRequests() throws Exception {
+            assertThat(replyDuring(new MockHttpServletRequest("GET", "/api/matches"), Level.DEBUG))
+                    .isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.dto.stats.StandingsRow;
+import org.otus.finalProject.service.aggregation.StandingsAccumulator;
+import org.otus.finalProject.service.base.TeamSeasonStatsService.MatchOutcome;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StandingsAccumulatorTest {
+
+    @Nested
+    @DisplayName("add")
+    class Add {
+
+        @Test
+        void shouldCountWinsDrawsLossesAndGoals_forBothSides() {
+            var accumulator = new StandingsAccumulator();
+            accumulator.add(new MatchOutcome(1L, 2L, 2025, 10L, 2, 1));
+            accumulator.add(new MatchOutcome(2L, 1L, 2025, 10L, 0, 0));
+
+            assertThat(accumulator.matches()).isEqualTo(2);
+            assertThat(accumulator.rows()).containsExactlyInAnyOrder(
+                    new StandingsRow(1L, 2025, 10L, 2, 1, 1, 0, 2, 1),
+                    new StandingsRow(2L, 2025, 10L, 2, 0, 1, 1, 1, 2));
+        }
+
+        @Test
+        void shouldKeepSeasonsAndChampionshipsApart() {
+            var accumulator = new StandingsAccumulator();
+            accumulator.add(new MatchOutcome(1L, 2L, 2024, 10L, 1, 0));
+            accumulator.add(new MatchOutcome(1L, 2L, 2025, 10L, 1, 0));
+            accumulator.add(new MatchOutcome(1L, 2L, 2025, null, 1, 0));
+
+            assertThat(accumulator.size()).isEqualTo(6);
+        }
+
+        @Test
+        void shouldKeepOneRowPerKey_overAMillionOutcomes() {
+            int teams = 20;
+            int seasons = 3;
+            long total = 1_000_000;
+            var accumulator = new StandingsAccumulator();
+
+            // the accumulator grows with the (team, season, championship) keys, not with the outcomes;
+            // streaming from the database in a small heap is covered by StandingsCheckHeapTest
+            LongStream.range(0, total)
+                    .mapToObj(i -> new MatchOutcome(
+                            i % teams + 1,
+                            (i + 1 + i / teams % (teams - 1)) % teams + 1,
+                            2023 + (int) (i % seasons),
+                            1L,
+                            (int) (i % 3),
+                            (int) (i % 2)))
+                    .forEach(accumulator::add);
+
+            assertThat(accumulator.matches()).isEqualTo(total);
+            assertThat(accumulator.size()).isLessThanOrEqualTo(teams * seasons);
+            assertThat(accumulator.rows().stream().mapToLong(StandingsRow::played).sum()).isEqualTo(2 * total);
+            assertThat(accumulator.rows().stream().mapToLong(r -> r.wins() + r.draws() + r.losses()).sum())
+                    .isEqualTo(2 * total);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.controller.StandingsAdminController;
+import org.otus.finalProject.dto.stats.StandingsCheckResponse;
+import org.otus.finalProject.dto.stats.StandingsMismatch;
+import org.otus.finalProject.dto.stats.StandingsRebuildResponse;
+import org.otus.finalProject.dto.stats.StandingsRow;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(controllers = StandingsAdminController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(RestExceptionHandler.class)
+class StandingsAdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    @Nested
+    @DisplayName("POST /api/admin/standings/rebuild")
+    class Rebuild {
+
+        @Test
+        void shouldReturn200_withRowCount() throws Exception {
+            Mockito.when(teamSeasonStatsService.rebuild()).thenReturn(new StandingsRebuildResponse(40));
+
+            mockMvc.perform(post("/api/admin/standings/rebuild"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rows").value(40));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/admin/standings/check")
+    class Check {
+
+        @Test
+        void shouldReturn200_withMismatches() throws Exception {
+            var expected = new StandingsRow(1L, 2025, 7L, 3, 2, 1, 0, 6, 2);
+            var actual = new StandingsRow(1L, 2025, 7L, 2, 1, 1, 0, 4, 2);
+            var response = new StandingsCheckResponse(30, 20, false, List.of(new StandingsMismatch(expected, actual)));
+            Mockito.when(teamSeasonStatsService.check()).thenReturn(response);
+
+            mockMvc.perform(get("/api/admin/standings/check"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.consistent").value(false))
+                    .andExpect(jsonPath("$.mismatches", hasSize(1)))
+                    .andExpect(jsonPath("$.mismatches[0].expected.played").value(3))
+                    .andExpect(jsonPath("$.mismatches[0].actual.played").value(2));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.dto.generator.GenerateRequest;
+import org.otus.finalProject.dto.generator.GenerateResponse;
+import org.otus.finalProject.dto.stats.StandingsCheckResponse;
+import org.otus.finalProject.service.base.TeamSeasonStatsService;
+import org.otus.finalProject.service.generator.LeagueDataGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The standings check streams every match through {@code MatchRepository.streamAllBy} (fetch size
+ * and read-only hints, persistence context cleared every 1000 rows). Run by {@code ./gradlew heapTest}
+ * in a 96 MB heap, which 300k Match entities with their entries would not fit in if they were
+ * materialized or kept in the persistence context.
+ */
+@Tag("heap")
+class StandingsCheckHeapTest extends DatabaseTest {
+    private static final long MAX_HEAP = 96L * 1024 * 1024;
+
+    @Autowired
+    LeagueDataGenerator generator;
+
+    @Autowired
+    TeamSeasonStatsService teamSeasonStatsService;
+
+    @Test
+    void shouldStreamAllMatches_withinASmallHeap() {
+        assertThat(Runtime.getRuntime().maxMemory()).as("max heap, set by the heapTest task").isLessThanOrEqualTo(MAX_HEAP);
+        // 2000 teams, 1000 matches per round: 300k matches in 3 seasons, no goals to keep the load short
+        GenerateResponse league = generator.generate(new GenerateRequest(2000, 14, 3, 100, 0.0, 42L, true));
+        assertThat(league.matches()).isEqualTo(300_000);
+
+        StandingsCheckResponse check = teamSeasonStatsService.check();
+
+        assertThat(check.matchesScanned()).isEqualTo(league.matches());
+        assertThat(check.consistent()).isTrue();
+    }
+}
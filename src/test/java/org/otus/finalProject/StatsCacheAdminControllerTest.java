@@ -0,0 +1,50 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.otus.finalProject.controller.StatsCacheAdminController;
+import org.otus.finalProject.dto.stats.StatsCacheResponse;
+import org.otus.finalProject.handler.RestExceptionHandler;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SuppressWarnings("removal")
+@WebMvcTest(controllers = StatsCacheAdminController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(RestExceptionHandler.class)
+class StatsCacheAdminControllerTest {
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockBean
+    StatsCache statsCache;
+
+    @Nested
+    @DisplayName("GET /api/admin/stats-cache")
+    class Stats {
+
+        @Test
+        void shouldReturn200_withCounters() throws Exception {
+            Mockito.when(statsCache.snapshot()).thenReturn(new StatsCacheResponse(12, 90, 10, 0.9, 3, 5, 6, 4));
+
+            mockMvc.perform(get("/api/admin/stats-cache"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.size").value(12))
+                    .andExpect(jsonPath("$.hits").value(90))
+                    .andExpect(jsonPath("$.hitRate").value(closeTo(0.9, 0.001)))
+                    .andExpect(jsonPath("$.invalidated").value(5))
+                    .andExpect(jsonPath("$.coalesced").value(4));
+        }
+    }
+}
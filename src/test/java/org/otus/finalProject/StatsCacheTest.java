@@ -0,0 +1,88 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.otus.finalProject.dto.stats.TeamStatResponse;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.service.cache.StatsCache;
+import org.otus.finalProject.service.cache.StatsCacheKey;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatsCacheTest {
+    final StatsCache cache = new StatsCache(100, Duration.ofMinutes(10));
+    final AtomicInteger loads = new AtomicInteger();
+
+    private Object load(StatsCacheKey key, Object value) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Nested
+    @DisplayName("get")
+    class Get {
+
+        @Test
+        void shouldLoadOnce_forSameKey() {
+            var key = StatsCacheKey.teamStats(1L, 2025);
+            load(key, new TeamStatResponse(1L, 2025, 1, 1, 0, 0));
+            load(key, new TeamStatResponse(1L, 2025, 1, 1, 0, 0));
+
+            assertThat(loads).hasValue(1);
+            assertThat(cache.snapshot().hits()).isEqualTo(1);
+            assertThat(cache.snapshot().misses()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("evict")
+    class Evict {
+
+        @Test
+        void shouldEvictOnlyAffectedTeamsAndYears() {
+            load(StatsCacheKey.teamStats(1L, 2025), "team1-2025");
+            load(StatsCacheKey.teamStats(1L, 2024), "team1-2024");
+            load(StatsCacheKey.teamStats(1L, null), "team1-all");
+            load(StatsCacheKey.teamStats(2L, 2025), "team2-2025");
+            load(StatsCacheKey.topTeams(2025, 10), "top-2025");
+            load(StatsCacheKey.playerStats(7L, 2025), "player7-2025");
+
+            cache.evictTeams(List.of(1L), List.of(2025));
+            loads.set(0);
+
+            load(StatsCacheKey.teamStats(1L, 2024), "team1-2024");
+            load(StatsCacheKey.teamStats(2L, 2025), "team2-2025");
+            load(StatsCacheKey.playerStats(7L, 2025), "player7-2025");
+            assertThat(loads).hasValue(0);
+
+            load(StatsCacheKey.teamStats(1L, 2025), "team1-2025");
+            load(StatsCacheKey.teamStats(1L, null), "team1-all");
+            load(StatsCacheKey.topTeams(2025, 10), "top-2025");
+            assertThat(loads).hasValue(3);
+        }
+
+        @Test
+        void shouldEvictTopScorerLists_containingRenamedPlayer() {
+            var withPlayer = List.of(new TopScorersStatResponse(7L, "Erling", "Haaland", 1L, 30));
+            var withoutPlayer = List.of(new TopScorersStatResponse(8L, "Harry", "Kane", 2L, 20));
+            load(StatsCacheKey.topScorers(null, 2025, 10), withPlayer);
+            load(StatsCacheKey.topScorers(2L, 2025, 10), withoutPlayer);
+
+            cache.evictPlayer(7L);
+            loads.set(0);
+
+            load(StatsCacheKey.topScorers(2L, 2025, 10), withoutPlayer);
+            assertThat(loads).hasValue(0);
+            load(StatsCacheKey.topScorers(null, 2025, 10), withPlayer);
+            assertThat(loads).hasValue(1);
+            assertThat(cache.snapshot().invalidated()).isEqualTo(1);
+        }
+    }
+}
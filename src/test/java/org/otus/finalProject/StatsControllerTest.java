@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.otus.finalProject.controller.StatsController;
 import org.otus.finalProject.dto.stats.PlayerStatResponse;
+import org.otus.finalProject.dto.stats.StatsBatchRequest;
 import org.otus.finalProject.dto.stats.TeamStatResponse;
 import org.otus.finalProject.dto.stats.TopScorersStatResponse;
 import org.otus.finalProject.handler.NotFoundException;
@@ -24,6 +25,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SuppressWarnings("removal")
@@ -76,7 +78,7 @@ class StatsControllerTest {
 
         @Test
         void shouldReturn200_withStats() throws Exception {
-            var response = new PlayerStatResponse(7L, 2024, 25, 12, 0.48);
+            var response = new PlayerStatResponse(7L, 2024, 25, 12, 0.48, 2010);
             Mockito.when(statsService.playerStats(7L, 2024)).thenReturn(response);
 
             mockMvc.perform(get("/api/stats/players/{id}", 7)
@@ -85,7 +87,8 @@ class StatsControllerTest {
                     .andExpect(jsonPath("$.playerId").value(7))
                     .andExpect(jsonPath("$.matchesPlayed").value(25))
                     .andExpect(jsonPath("$.goals").value(12))
-                    .andExpect(jsonPath("$.avgGoalsPerMatch").value(closeTo(0.48, 0.001)));
+                    .andExpect(jsonPath("$.avgGoalsPerMatch").value(closeTo(0.48, 0.001)))
+                    .andExpect(jsonPath("$.minutesPlayed").value(2010));
         }
 
         @Test
@@ -100,6 +103,66 @@ class StatsControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/stats/teams:batch")
+    class TeamStatsBatch {
+
+        @Test
+        void shouldReturn200_withStatsForEveryId() throws Exception {
+            var response1 = new TeamStatResponse(1L, 2025, 30, 20, 5, 5);
+            var response2 = new TeamStatResponse(2L, 2025, 30, 10, 10, 10);
+            Mockito.when(statsService.teamStatsBatch(List.of(1L, 2L), 2025)).thenReturn(List.of(response1, response2));
+
+            mockMvc.perform(post("/api/stats/teams:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StatsBatchRequest(List.of(1L, 2L), 2025))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].teamId").value(1))
+                    .andExpect(jsonPath("$[1].draws").value(10));
+        }
+
+        @Test
+        void shouldReturn400_whenIdsEmpty() throws Exception {
+            mockMvc.perform(post("/api/stats/teams:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ids\": [], \"year\": 2025}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("validation_failed"));
+        }
+
+        @Test
+        void shouldReturn404_whenSomeTeamNotFound() throws Exception {
+            Mockito.when(statsService.teamStatsBatch(List.of(1L, 99L), null))
+                    .thenThrow(new NotFoundException("Teams not found: [99]"));
+
+            mockMvc.perform(post("/api/stats/teams:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StatsBatchRequest(List.of(1L, 99L), null))))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message", containsString("99")));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/stats/players:batch")
+    class PlayerStatsBatch {
+
+        @Test
+        void shouldReturn200_withStatsForEveryId() throws Exception {
+            var response = new PlayerStatResponse(7L, 2024, 25, 12, 0.48, 2010);
+            Mockito.when(statsService.playerStatsBatch(List.of(7L), 2024)).thenReturn(List.of(response));
+
+            mockMvc.perform(post("/api/stats/players:batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new StatsBatchRequest(List.of(7L), 2024))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].playerId").value(7))
+                    .andExpect(jsonPath("$[0].goals").value(12));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/stats/top-teams")
     class TopTeams {
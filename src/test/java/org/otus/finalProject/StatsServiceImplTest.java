@@ -0,0 +1,113 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.otus.finalProject.dto.stats.TopScorersStatResponse;
+import org.otus.finalProject.persistence.projection.TopScorerRow;
+import org.otus.finalProject.persistence.repository.*;
+import org.otus.finalProject.service.StatsServiceImpl;
+import org.otus.finalProject.service.base.StatsPublisher;
+import org.otus.finalProject.service.columnar.SeasonColumnStore;
+import org.otus.finalProject.service.columnar.SeasonColumnStore.TeamTotals;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class StatsServiceImplTest {
+    @Mock
+    MatchRepository matchRepository;
+
+    @Mock
+    TeamRepository teamRepository;
+
+    @Mock
+    PlayerRepository playerRepository;
+
+    @Mock
+    GoalRepository goalRepository;
+
+    @Mock
+    SeasonColumnStore seasonColumnStore;
+
+    @Mock
+    StatsPublisher statsPublisher;
+
+    @InjectMocks
+    StatsServiceImpl statsService;
+
+    record Row(Long playerId, String firstName, String lastName, Long teamId, int goals) implements TopScorerRow {
+        public Long getPlayerId() { return playerId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public Long getTeamId() { return teamId; }
+        public int getGoals() { return goals; }
+    }
+
+    @Nested
+    @DisplayName("topScorers")
+    class TopScorers {
+
+        @ParameterizedTest(name = "{0} scorers")
+        @ValueSource(ints = {1, 100, 20_000})
+        void shouldIssueOneQuery_regardlessOfGoalVolume(int scorers) {
+            List<TopScorerRow> rows = IntStream.range(0, scorers)
+                    .<TopScorerRow>mapToObj(i -> new Row((long) i, "First" + i, "Last" + i, 1L, scorers - i))
+                    .toList();
+            Mockito.when(goalRepository.findTopScorers(eq(1L), any(Instant.class), any(Instant.class), anyInt()))
+                    .thenReturn(rows);
+
+            List<TopScorersStatResponse> response = statsService.topScorers(1L, 2025, scorers);
+
+            assertThat(response).hasSize(scorers);
+            assertThat(response.get(0).goals()).isEqualTo(scorers);
+            verify(goalRepository, times(1)).findTopScorers(eq(1L), any(Instant.class), any(Instant.class), eq(scorers));
+            verifyNoInteractions(playerRepository, matchRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("season store")
+    class SeasonStore {
+
+        @Test
+        void shouldAnswerTeamStatsFromStore_withoutRepositories() {
+            Mockito.when(seasonColumnStore.teamTotals(2025, 1L))
+                    .thenReturn(Optional.of(new TeamTotals(1L, 3, 2, 1, 0)));
+
+            var response = statsService.teamStats(1L, 2025);
+
+            assertThat(response.played()).isEqualTo(3);
+            assertThat(response.wins()).isEqualTo(2);
+            verifyNoInteractions(teamRepository, matchRepository);
+            verify(statsPublisher).sendTeamStats(response);
+        }
+
+        @Test
+        void shouldFallBackToDatabase_whenStoreCannotAnswer() {
+            Mockito.when(seasonColumnStore.topTeams(eq(2024), anyInt())).thenReturn(Optional.empty());
+            Mockito.when(matchRepository.findTopTeams(any(Instant.class), any(Instant.class), eq(5))).thenReturn(List.of());
+
+            assertThat(statsService.topTeams(2024, 5)).isEmpty();
+            verify(matchRepository).findTopTeams(any(Instant.class), any(Instant.class), eq(5));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.otus.finalProject.controller.TeamController;
+import org.otus.finalProject.dto.page.PageResponse;
 import org.otus.finalProject.dto.player.PlayerShortResponse;
 import org.otus.finalProject.dto.team.TeamCreateRequest;
 import org.otus.finalProject.dto.team.TeamPatchRequest;
@@ -96,14 +97,16 @@ class TeamControllerTest {
             var r1 = new TeamResponse(1L, "Manchester City", "England", 10L, Set.of());
             var r2 = new TeamResponse(2L, "Liverpool", "England", 11L, Set.of());
 
-            Mockito.when(teamService.findAll()).thenReturn(List.of(r1, r2));
+            Mockito.when(teamService.findAll(null, null, null))
+                    .thenReturn(new PageResponse<>(List.of(r1, r2), null));
 
             mockMvc.perform(get("/api/teams"))
                     .andExpect(status().isOk())
                     .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                    .andExpect(jsonPath("$", hasSize(2)))
-                    .andExpect(jsonPath("$[0].name").value("Manchester City"))
-                    .andExpect(jsonPath("$[1].name").value("Liverpool"));
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].name").value("Manchester City"))
+                    .andExpect(jsonPath("$.items[1].name").value("Liverpool"))
+                    .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
     }
 
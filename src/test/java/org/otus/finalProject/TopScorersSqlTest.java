@@ -0,0 +1,84 @@
+package org.otus.finalProject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.otus.finalProject.persistence.model.Match;
+import org.otus.finalProject.persistence.model.Player;
+import org.otus.finalProject.persistence.model.Team;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TopScorersSqlTest extends DatabaseTest {
+    private static final Instant SEASON_START = Instant.parse("2024-03-01T18:00:00Z");
+    private static final int GOALS_PER_MATCH = 20;
+
+    @ParameterizedTest(name = "{0} goals")
+    @ValueSource(ints = {1, 100, 2_000})
+    void shouldIssueOneStatement_regardlessOfGoalVolume(int goalCount) throws Exception {
+        Team home = team("Home");
+        Team away = team("Away");
+        List<Player> homePlayers = players(home, 11);
+        List<Player> awayPlayers = players(away, 11);
+        List<Player> everyone = Stream.concat(homePlayers.stream(), awayPlayers.stream()).toList();
+        for (int scored = 0, day = 0; scored < goalCount; scored += GOALS_PER_MATCH, day++) {
+            Match match = match(home, away, SEASON_START.plusSeconds(day * 86_400L), 0, 0);
+            lineup(match, home, homePlayers);
+            lineup(match, away, awayPlayers);
+            List<Player> scorers = new ArrayList<>();
+            for (int i = scored; i < Math.min(goalCount, scored + GOALS_PER_MATCH); i++) {
+                scorers.add(everyone.get(i % everyone.size()));
+            }
+            goals(match, scorers);
+        }
+
+        SqlCount.assertMaxStatements(1, () -> mockMvc.perform(get("/api/stats/top-scorers")
+                        .param("year", "2024")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(Math.min(10, goalCount)))
+                .andExpect(jsonPath("$[0].goals").value((goalCount + everyone.size() - 1) / everyone.size())));
+    }
+
+    @Test
+    void shouldBreakTies_byCodePointNames_thenPlayerAndTeamIds() throws Exception {
+        Team home = team("Home");
+        Team away = team("Away");
+        List<Player> named = players(home, 3);
+        named.forEach(p -> p.setFirstName("Cid"));
+        named.get(0).setLastName("Beta");
+        named.get(1).setLastName("Beta");
+        named.get(2).setLastName("alpha");
+        playerRepository.saveAll(named);
+        Player beta = named.get(0);
+        Player betaTwin = named.get(1);
+        Player alpha = named.get(2);
+        // one goal per row: beta also scored after a move to the away side
+        Match first = match(home, away, SEASON_START, 0, 0);
+        lineup(first, home, named);
+        goals(first, List.of(alpha, betaTwin, beta));
+        Match second = match(home, away, SEASON_START.plusSeconds(86_400L), 0, 0);
+        lineup(second, away, List.of(beta));
+        goals(second, List.of(beta));
+
+        // "Beta" < "alpha" in code point order, as String.compareTo in the season store
+        mockMvc.perform(get("/api/stats/top-scorers")
+                        .param("year", "2024")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].playerId").value(beta.getId()))
+                .andExpect(jsonPath("$[0].teamId").value(home.getId()))
+                .andExpect(jsonPath("$[1].playerId").value(beta.getId()))
+                .andExpect(jsonPath("$[1].teamId").value(away.getId()))
+                .andExpect(jsonPath("$[2].playerId").value(betaTwin.getId()))
+                .andExpect(jsonPath("$[3].playerId").value(alpha.getId()));
+    }
+}